@@ -0,0 +1,21 @@
+plugins {
+    id("me.champeau.jmh") version "0.6.5"
+}
+
+val libs: (String) -> String by rootProject.ext
+
+dependencies {
+    jmh(project(":core"))
+    jmh(libs("guava"))
+    jmh(libs("log4j-slf4j-impl"))
+    jmh(libs("log4j-core"))
+}
+
+jmh {
+    jmhVersion.set("1.32")
+    resultFormat.set("JSON")
+    // Compare between versions with e.g. https://jmh.morethan.io
+    resultsFile.set(project.file("$buildDir/reports/jmh/results-${rootProject.version}.json"))
+    // Run a subset with e.g. -Pjmh.includes=RoutingMatcherBenchmark
+    project.findProperty("jmh.includes")?.let { includes.set(listOf(it.toString())) }
+}
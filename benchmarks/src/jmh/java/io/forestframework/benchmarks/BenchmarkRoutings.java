@@ -0,0 +1,148 @@
+package io.forestframework.benchmarks;
+
+import io.forestframework.core.http.HttpMethod;
+import io.forestframework.core.http.param.Header;
+import io.forestframework.core.http.param.PathParam;
+import io.forestframework.core.http.param.QueryParam;
+import io.forestframework.core.http.result.JsonResponseBody;
+import io.forestframework.core.http.result.PlainText;
+import io.forestframework.core.http.routing.DefaultRouting;
+import io.forestframework.core.http.routing.DefaultRoutingManager;
+import io.forestframework.core.http.routing.Routing;
+import io.forestframework.core.http.routing.RoutingType;
+import io.vertx.core.http.HttpServerRequest;
+
+import javax.inject.Singleton;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Synthetic routing tables and the handlers behind them, shared by all benchmarks.
+ */
+public final class BenchmarkRoutings {
+    private BenchmarkRoutings() {
+    }
+
+    /**
+     * The segment kinds a synthetic route is built from, each of them is exercised by a request path.
+     */
+    public enum SegmentKind {
+        CONSTANT("/api/v1/resource%d/items", "/api/v1/resource%d/items"),
+        PATH_VARIABLE("/users%d/:userId/orders/:orderId", "/users%d/42/orders/4242"),
+        SINGLE_STAR("/static%d/*.js", "/static%d/app.js"),
+        DOUBLE_STAR("/assets%d/**", "/assets%d/css/theme/main.css"),
+        REGEX("", "/regex%d/12345");
+
+        private final String pathTemplate;
+        private final String requestPathTemplate;
+
+        SegmentKind(String pathTemplate, String requestPathTemplate) {
+            this.pathTemplate = pathTemplate;
+            this.requestPathTemplate = requestPathTemplate;
+        }
+
+        /**
+         * A request path hitting the last route of this kind in a table of {@code routeCount} routes.
+         */
+        String requestPath(int routeCount) {
+            int count = values().length;
+            int index = (routeCount - 1 - ordinal()) / count * count + ordinal();
+            return String.format(requestPathTemplate, index);
+        }
+
+        Routing routing(int index) {
+            if (this == REGEX) {
+                return BenchmarkRoutings.routing(RoutingType.HANDLER, "", "^/regex" + index + "/(?<id>\\d+)$", HttpMethod.GET, Handlers.HELLO);
+            } else {
+                return BenchmarkRoutings.routing(RoutingType.HANDLER, String.format(pathTemplate, index), "", HttpMethod.GET, Handlers.HELLO);
+            }
+        }
+    }
+
+    @Singleton
+    public static class Handlers {
+        static final Method HELLO = method("hello");
+        static final Method PLAINTEXT = method("plaintext");
+        static final Method JSON = method("json");
+        static final Method PARAMS = method("params");
+
+        public String hello() {
+            return "Hello, World!";
+        }
+
+        @PlainText
+        public String plaintext() {
+            return "Hello, World!";
+        }
+
+        @JsonResponseBody
+        public Message json() {
+            return new Message("Hello, World!");
+        }
+
+        public String params(@PathParam("userId") String userId,
+                             @QueryParam("page") int page,
+                             @Header("X-Request-Id") String requestId,
+                             HttpServerRequest request) {
+            return userId;
+        }
+
+        private static Method method(String name) {
+            return Arrays.stream(Handlers.class.getMethods()).filter(m -> m.getName().equals(name)).findFirst().orElseThrow(IllegalStateException::new);
+        }
+    }
+
+    public static class Message {
+        private final String message;
+
+        public Message(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    static Routing routing(RoutingType type, String path, String regexPath, HttpMethod method, Method handlerMethod) {
+        return routing(type, path, regexPath, method, handlerMethod, 0, "*/*", "*/*");
+    }
+
+    /**
+     * Routings of the same handler method must have different orders, otherwise they are considered the same one.
+     */
+    static Routing routing(RoutingType type, String path, String regexPath, HttpMethod method, Method handlerMethod, int order, String produces, String consumes) {
+        return new DefaultRouting(false,
+                                  type,
+                                  path,
+                                  regexPath,
+                                  Collections.singletonList(method),
+                                  handlerMethod,
+                                  order,
+                                  Collections.singletonList(produces),
+                                  Collections.singletonList(consumes));
+    }
+
+    /**
+     * Creates a routing table of {@code routeCount} routes, cycling through all {@link SegmentKind}s.
+     */
+    static List<Routing> syntheticRoutings(int routeCount) {
+        SegmentKind[] kinds = SegmentKind.values();
+        return IntStream.range(0, routeCount)
+                        .mapToObj(i -> kinds[i % kinds.length].routing(i))
+                        .collect(Collectors.toList());
+    }
+
+    static DefaultRoutingManager finalizedRoutingManager(List<Routing> routings) {
+        DefaultRoutingManager routingManager = new DefaultRoutingManager();
+        for (Routing routing : routings) {
+            routingManager.getRouting(routing.getType()).add(routing);
+        }
+        routingManager.finalizeRoutings();
+        return routingManager;
+    }
+}
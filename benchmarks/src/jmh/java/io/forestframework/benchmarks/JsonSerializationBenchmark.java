@@ -0,0 +1,77 @@
+package io.forestframework.benchmarks;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import io.forestframework.benchmarks.BenchmarkRoutings.Handlers;
+import io.forestframework.benchmarks.BenchmarkRoutings.Message;
+import io.forestframework.core.http.DefaultHttpContext;
+import io.forestframework.core.http.DefaultHttpRequest;
+import io.forestframework.core.http.result.JsonResponseBody;
+import io.forestframework.core.http.routing.PlainHttpRoutingMatchResult;
+import io.forestframework.core.http.routing.Routing;
+import io.forestframework.core.http.routing.RoutingMatcher;
+import io.forestframework.core.http.routing.RoutingType;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.impl.HttpServerRequestInternal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * {@link JsonResponseBody.JsonResultProcessor} serializing a TechEmpower-style single message and a list of messages
+ * into the response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"1", "100"})
+    private int messageCount;
+
+    private Injector injector;
+    private JsonResponseBody.JsonResultProcessor processor;
+    private HttpServerRequestInternal request;
+    private PlainHttpRoutingMatchResult matchResult;
+    private Routing routing;
+    private Object payload;
+
+    @Setup
+    public void setUp() {
+        injector = Guice.createInjector();
+        processor = injector.getInstance(JsonResponseBody.JsonResultProcessor.class);
+        Routing declared = BenchmarkRoutings.routing(RoutingType.HANDLER, "/json", "", io.forestframework.core.http.HttpMethod.GET, Handlers.JSON);
+        RoutingMatcher routingMatcher = new RoutingMatcher(BenchmarkRoutings.finalizedRoutingManager(Collections.singletonList(declared)), 0);
+        request = StubHttpServerRequest.create(HttpMethod.GET, "/json", Collections.emptyMap());
+        matchResult = (PlainHttpRoutingMatchResult) routingMatcher.match(request);
+        routing = matchResult.getMainHandlerMatchResult().getExactlyMatchedHandlers().get(0);
+        if (messageCount == 1) {
+            payload = new Message("Hello, World!");
+        } else {
+            List<Message> messages = IntStream.range(0, messageCount).mapToObj(i -> new Message("Hello, World! #" + i)).collect(Collectors.toList());
+            payload = messages;
+        }
+    }
+
+    @Benchmark
+    public Object serialize() {
+        DefaultHttpContext context = new DefaultHttpContext(injector, new DefaultHttpRequest(request, matchResult), matchResult);
+        return processor.processResponse(context, routing, payload);
+    }
+}
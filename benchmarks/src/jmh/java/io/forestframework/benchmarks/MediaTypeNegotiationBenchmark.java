@@ -0,0 +1,76 @@
+package io.forestframework.benchmarks;
+
+import io.forestframework.benchmarks.BenchmarkRoutings.Handlers;
+import io.forestframework.core.http.routing.PlainHttpRoutingMatchResult;
+import io.forestframework.core.http.routing.Routing;
+import io.forestframework.core.http.routing.RoutingMatcher;
+import io.forestframework.core.http.routing.RoutingType;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accept/Content-Type negotiation among routings sharing the same path but producing/consuming different media types.
+ * The match result cache is disabled so every invocation negotiates from scratch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediaTypeNegotiationBenchmark {
+    @Param({
+        "*/*",
+        "application/json",
+        "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8"
+    })
+    private String accept;
+
+    @Param({"application/json", "application/json; charset=UTF-8"})
+    private String contentType;
+
+    private RoutingMatcher routingMatcher;
+    private HttpServerRequest request;
+
+    @Setup
+    public void setUp() {
+        List<Routing> routings = Arrays.asList(
+            routing(0, "application/json", "application/json"),
+            routing(1, "application/xml", "application/xml"),
+            routing(2, "text/plain", "text/*"),
+            routing(3, "text/html", "application/x-www-form-urlencoded")
+        );
+        routingMatcher = new RoutingMatcher(BenchmarkRoutings.finalizedRoutingManager(routings), 0);
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Accept", accept);
+        headers.put("Content-Type", contentType);
+        request = StubHttpServerRequest.create(HttpMethod.POST, "/resource", headers);
+    }
+
+    private static Routing routing(int order, String produces, String consumes) {
+        return BenchmarkRoutings.routing(RoutingType.HANDLER, "/resource", "", io.forestframework.core.http.HttpMethod.POST, Handlers.HELLO, order, produces, consumes);
+    }
+
+    @Benchmark
+    public Object negotiate() {
+        return ((PlainHttpRoutingMatchResult) routingMatcher.match(request)).getMainHandlerMatchResult().getStatusCode();
+    }
+}
@@ -0,0 +1,90 @@
+package io.forestframework.benchmarks;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import io.forestframework.benchmarks.BenchmarkRoutings.Handlers;
+import io.forestframework.core.http.AbstractWebRequestHandler;
+import io.forestframework.core.http.DefaultHttpContext;
+import io.forestframework.core.http.DefaultHttpRequest;
+import io.forestframework.core.http.routing.PlainHttpRoutingMatchResult;
+import io.forestframework.core.http.routing.Routing;
+import io.forestframework.core.http.routing.RoutingMatcher;
+import io.forestframework.core.http.routing.RoutingType;
+import io.forestframework.core.http.websocket.AbstractWebContext;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.impl.HttpServerRequestInternal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the handler parameters and invokes the handler, without result processing. {@code hello} has no parameters,
+ * {@code params} has a path variable, a query parameter, a header and an injected request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterResolutionBenchmark {
+    @Param({"hello", "params"})
+    private String handler;
+
+    private Vertx vertx;
+    private Injector injector;
+    private InvokingRequestHandler requestHandler;
+    private HttpServerRequestInternal request;
+    private PlainHttpRoutingMatchResult matchResult;
+    private Routing routing;
+
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        injector = Guice.createInjector();
+        requestHandler = new InvokingRequestHandler(vertx, injector);
+        Routing declared = "hello".equals(handler)
+            ? BenchmarkRoutings.routing(RoutingType.HANDLER, "/hello", "", io.forestframework.core.http.HttpMethod.GET, Handlers.HELLO)
+            : BenchmarkRoutings.routing(RoutingType.HANDLER, "/users/:userId", "", io.forestframework.core.http.HttpMethod.GET, Handlers.PARAMS);
+        RoutingMatcher routingMatcher = new RoutingMatcher(BenchmarkRoutings.finalizedRoutingManager(Collections.singletonList(declared)), 0);
+        request = StubHttpServerRequest.create(HttpMethod.GET,
+                                               "hello".equals(handler) ? "/hello" : "/users/42?page=3",
+                                               Collections.singletonMap("X-Request-Id", "a3f1c2"));
+        matchResult = (PlainHttpRoutingMatchResult) routingMatcher.match(request);
+        routing = matchResult.getMainHandlerMatchResult().getExactlyMatchedHandlers().get(0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Benchmark
+    public Object resolveAndInvoke() {
+        DefaultHttpContext context = new DefaultHttpContext(injector, new DefaultHttpRequest(request, matchResult), matchResult);
+        return requestHandler.invoke(routing, context);
+    }
+
+    private static class InvokingRequestHandler extends AbstractWebRequestHandler {
+        InvokingRequestHandler(Vertx vertx, Injector injector) {
+            super(vertx, injector);
+        }
+
+        Object invoke(Routing routing, AbstractWebContext context) {
+            return invokeRoutingDirectly(routing, context);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.forestframework.benchmarks;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import io.forestframework.benchmarks.BenchmarkRoutings.Handlers;
+import io.forestframework.core.http.DefaultHttpRequestDispatcher;
+import io.forestframework.core.http.DefaultPlainHttpRequestHandler;
+import io.forestframework.core.http.routing.Routing;
+import io.forestframework.core.http.routing.RoutingMatcher;
+import io.forestframework.core.http.routing.RoutingType;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.impl.HttpServerRequestInternal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full in-process request pipeline, from {@link DefaultHttpRequestDispatcher} to the end of the response,
+ * driven through a mocked {@link HttpServerRequestInternal}. The endpoints are registered among 100 synthetic routes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestPipelineBenchmark {
+    @Param({"/plaintext", "/json", "/users/42?page=3"})
+    private String uri;
+
+    @Param({"0", "1024"})
+    private int cacheMaxSize;
+
+    private Vertx vertx;
+    private DefaultHttpRequestDispatcher dispatcher;
+    private HttpServerRequestInternal request;
+
+    @Setup
+    public void setUp() {
+        vertx = Vertx.vertx();
+        Injector injector = Guice.createInjector();
+
+        List<Routing> routings = new ArrayList<>(BenchmarkRoutings.syntheticRoutings(100));
+        routings.add(BenchmarkRoutings.routing(RoutingType.HANDLER, "/plaintext", "", io.forestframework.core.http.HttpMethod.GET, Handlers.PLAINTEXT));
+        routings.add(BenchmarkRoutings.routing(RoutingType.HANDLER, "/json", "", io.forestframework.core.http.HttpMethod.GET, Handlers.JSON));
+        routings.add(BenchmarkRoutings.routing(RoutingType.HANDLER, "/users/:userId", "", io.forestframework.core.http.HttpMethod.GET, Handlers.PARAMS));
+        RoutingMatcher routingMatcher = new RoutingMatcher(BenchmarkRoutings.finalizedRoutingManager(routings), cacheMaxSize);
+
+        // Bridge and WebSocket requests are not exercised
+        dispatcher = new DefaultHttpRequestDispatcher(routingMatcher, null, null, new DefaultPlainHttpRequestHandler(vertx, injector));
+        request = StubHttpServerRequest.create(HttpMethod.GET, uri, Collections.singletonMap("X-Request-Id", "a3f1c2"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Benchmark
+    public void handle() {
+        dispatcher.handle(request);
+    }
+}
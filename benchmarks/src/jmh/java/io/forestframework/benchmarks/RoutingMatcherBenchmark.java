@@ -0,0 +1,55 @@
+package io.forestframework.benchmarks;
+
+import io.forestframework.benchmarks.BenchmarkRoutings.SegmentKind;
+import io.forestframework.core.http.routing.RoutingMatchResult;
+import io.forestframework.core.http.routing.RoutingMatcher;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route matching over synthetic routing tables, with and without the match result cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingMatcherBenchmark {
+    @Param({"10", "100", "1000"})
+    private int routeCount;
+
+    @Param({"CONSTANT", "PATH_VARIABLE", "SINGLE_STAR", "DOUBLE_STAR", "REGEX"})
+    private SegmentKind segmentKind;
+
+    @Param({"0", "1024"})
+    private int cacheMaxSize;
+
+    private RoutingMatcher routingMatcher;
+    private HttpServerRequest request;
+
+    @Setup
+    public void setUp() {
+        routingMatcher = new RoutingMatcher(BenchmarkRoutings.finalizedRoutingManager(BenchmarkRoutings.syntheticRoutings(routeCount)), cacheMaxSize);
+        request = StubHttpServerRequest.create(HttpMethod.GET, segmentKind.requestPath(routeCount), Collections.singletonMap("Accept", "*/*"));
+    }
+
+    @Benchmark
+    public RoutingMatchResult match() {
+        return routingMatcher.match(request);
+    }
+}
@@ -0,0 +1,101 @@
+package io.forestframework.benchmarks;
+
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.impl.HttpServerRequestInternal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mocked {@link HttpServerRequestInternal} and {@link HttpServerResponse} without any network IO, so the
+ * benchmarks measure the framework only. Both are plain {@link Proxy}s instead of a mocking framework,
+ * since the stubbing overhead of the latter would dominate a request that takes a few hundred nanoseconds.
+ */
+final class StubHttpServerRequest {
+    private StubHttpServerRequest() {
+    }
+
+    static HttpServerRequestInternal create(HttpMethod method, String uri, Map<String, String> headers) {
+        QueryStringDecoder decoder = new QueryStringDecoder(uri);
+        MultiMap params = MultiMap.caseInsensitiveMultiMap();
+        for (Map.Entry<String, List<String>> param : decoder.parameters().entrySet()) {
+            params.add(param.getKey(), param.getValue());
+        }
+        MultiMap requestHeaders = MultiMap.caseInsensitiveMultiMap().addAll(headers);
+        HttpServerResponse response = createResponse();
+
+        return proxy(HttpServerRequestInternal.class, (proxy, m, args) -> {
+            switch (m.getName()) {
+                case "method":
+                    return method;
+                case "uri":
+                    return uri;
+                case "path":
+                    return decoder.path();
+                case "query":
+                    return decoder.rawQuery();
+                case "headers":
+                    return requestHeaders;
+                case "getHeader":
+                    return requestHeaders.get(args[0].toString());
+                case "params":
+                    return params;
+                case "getParam":
+                    return params.get((String) args[0]);
+                case "response":
+                    return response;
+                default:
+                    return defaultValue(proxy, m, args);
+            }
+        });
+    }
+
+    private static HttpServerResponse createResponse() {
+        MultiMap responseHeaders = MultiMap.caseInsensitiveMultiMap();
+        return proxy(HttpServerResponse.class, (proxy, m, args) -> {
+            switch (m.getName()) {
+                case "headers":
+                    return responseHeaders;
+                case "getStatusCode":
+                    return 200;
+                default:
+                    return defaultValue(proxy, m, args);
+            }
+        });
+    }
+
+    private static Object defaultValue(Object proxy, Method method, Object[] args) {
+        Class<?> returnType = method.getReturnType();
+        if ("equals".equals(method.getName())) {
+            return proxy == args[0];
+        } else if ("hashCode".equals(method.getName())) {
+            return System.identityHashCode(proxy);
+        } else if ("toString".equals(method.getName())) {
+            return proxy.getClass().getInterfaces()[0].getSimpleName() + " stub";
+        } else if (returnType.isInstance(proxy)) {
+            // Fluent API
+            return proxy;
+        } else if (returnType == Future.class) {
+            return Future.succeededFuture();
+        } else if (returnType == boolean.class) {
+            return false;
+        } else if (returnType == int.class) {
+            return 0;
+        } else if (returnType == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(StubHttpServerRequest.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -14,6 +14,8 @@ dependencies {
     api(libs("jackson-databind"))
     api(libs("jackson-annotations"))
     api(libs("jackson-dataformat-yaml"))
+    api(libs("jackson-dataformat-cbor"))
+    api(libs("jackson-dataformat-smile"))
 
     compileOnly(libs("kotlinx-coroutines-jdk8"))
     compileOnly(libs("kotlinx-coroutines-core"))
@@ -32,6 +34,7 @@ dependencies {
     testImplementation(project(":test-fixtures"))
 
     testImplementation(libs("kotlin-reflect"))
+    testImplementation(libs("jackson-module-afterburner"))
 
     testImplementation(libs("vertx-lang-kotlin-coroutines"))
     testImplementation(libs("vertx-unit"))
@@ -19,6 +19,9 @@ public class Forest {
 
     public static ApplicationContext run(Class<?> appClass, String... args) {
         ConfigProvider configProvider = ConfigProvider.load();
+        if (PerformanceProfile.isEnabled(configProvider)) {
+            PerformanceProfile.apply(configProvider);
+        }
         initLogger();
         DefaultApplicationContext applicationContext = createApplicationContext(appClass, configProvider);
         applicationContext.start();
@@ -44,8 +47,8 @@ public class Forest {
 
     private static Vertx createClusteredOrLocalVertx(ConfigProvider configProvider) {
         if (configProvider.getInstance("vertx.clusterManager", Map.class) == null) {
-            // No cluster manager, not clustered
-            return Vertx.vertx();
+            // No cluster manager, not clustered. The options are only honored by the performance profile for compatibility.
+            return PerformanceProfile.isEnabled(configProvider) ? Vertx.vertx(configProvider.getInstance("vertx", VertxOptions.class)) : Vertx.vertx();
         } else {
             VertxOptions vertxOptions = configProvider.getInstance("vertx", VertxOptions.class);
             CompletableFuture<Vertx> vertFuture = new CompletableFuture<>();
@@ -0,0 +1,80 @@
+package io.forestframework.core;
+
+import io.forestframework.core.config.ConfigProvider;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.net.impl.transport.Transport;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The throughput settings enabled altogether by {@code performance.profile: true}:
+ *
+ * <ul>
+ *     <li>{@code vertx.preferNativeTransport: true}, i.e. epoll on Linux if {@code netty-transport-native-epoll} is
+ *     on the classpath. The transport actually in use is logged at startup.</li>
+ *     <li>{@code deploy.instances} equals the number of event loops, so that every event loop serves HTTP requests.</li>
+ *     <li>{@code http.reusePort}, {@code http.tcpFastOpen} and {@code http.tcpNoDelay} are true. The first two
+ *     only take effect with the native transport.</li>
+ * </ul>
+ *
+ * Each of them can still be configured explicitly, which takes precedence over the profile.
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public final class PerformanceProfile {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PerformanceProfile.class);
+
+    private PerformanceProfile() {
+    }
+
+    public static boolean isEnabled(ConfigProvider configProvider) {
+        return Boolean.TRUE.equals(configProvider.getInstance("performance.profile", Boolean.class));
+    }
+
+    /**
+     * Fills in the settings of the profile which are not configured explicitly. It must be invoked before the Vert.x
+     * instance is created.
+     */
+    public static void apply(ConfigProvider configProvider) {
+        addConfigIfAbsent(configProvider, "vertx.preferNativeTransport", "true");
+        addConfigIfAbsent(configProvider, "http.reusePort", "true");
+        addConfigIfAbsent(configProvider, "http.tcpFastOpen", "true");
+        addConfigIfAbsent(configProvider, "http.tcpNoDelay", "true");
+        int eventLoops = configProvider.getInstance("vertx", VertxOptions.class).getEventLoopPoolSize();
+        addConfigIfAbsent(configProvider, "deploy.instances", Integer.toString(eventLoops));
+    }
+
+    private static void addConfigIfAbsent(ConfigProvider configProvider, String key, String value) {
+        if (!configProvider.isConfigured(key)) {
+            configProvider.addConfig(key, value);
+        }
+    }
+
+    /**
+     * The transport the Vert.x instance actually uses, e.g. {@code epoll}, {@code kqueue} or {@code nio}.
+     */
+    public static String getTransportName(Vertx vertx) {
+        if (!vertx.isNativeTransportEnabled()) {
+            return "nio";
+        }
+        // EpollTransport -> epoll
+        return ((VertxInternal) vertx).transport().getClass().getSimpleName().replace("Transport", "").toLowerCase();
+    }
+
+    /**
+     * Warns if the native transport is preferred but not available, with the reason.
+     */
+    public static void checkTransport(Vertx vertx, ConfigProvider configProvider) {
+        if (vertx.isNativeTransportEnabled() || !Boolean.TRUE.equals(configProvider.getInstance("vertx.preferNativeTransport", Boolean.class))) {
+            return;
+        }
+        Transport nativeTransport = Transport.nativeTransport();
+        if (nativeTransport == null) {
+            LOGGER.warn("Native transport is preferred but not on the classpath, e.g. io.netty:netty-transport-native-epoll:linux-x86_64, falling back to NIO.");
+        } else {
+            LOGGER.warn("Native transport is preferred but not available, falling back to NIO.", nativeTransport.unavailabilityCause());
+        }
+    }
+}
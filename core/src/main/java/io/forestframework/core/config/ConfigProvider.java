@@ -16,6 +16,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -92,6 +93,31 @@ public class ConfigProvider {
         defaultOptions.put("vertx", VertxOptions::new);
         defaultOptions.put("deploy", DeploymentOptions::new);
         defaultOptions.put("environment", () -> "dev");
+        defaultOptions.put("performance.profile", () -> false);
+        defaultOptions.put("routing.cache.maxSize", () -> 1024);
+        defaultOptions.put("request.maxBodySize", () -> -1L);
+        defaultOptions.put("request.timeout", () -> "0");
+        defaultOptions.put("request.form.memoryThreshold", () -> 16384);
+        defaultOptions.put("request.form.maxFileSize", () -> -1L);
+        defaultOptions.put("request.form.maxFiles", () -> -1);
+        defaultOptions.put("request.form.uploadDirectory", () -> "");
+        defaultOptions.put("json.accelerate", () -> false);
+        defaultOptions.put("static.memoryThreshold", () -> 1048576);
+        defaultOptions.put("static.fingerprint", () -> false);
+        defaultOptions.put("blocking.executor", () -> "worker");
+        defaultOptions.put("blocking.pools", HashMap::new);
+        defaultOptions.put("concurrency.limiter.enabled", () -> false);
+        defaultOptions.put("concurrency.limiter.initialLimit", () -> 64);
+        defaultOptions.put("concurrency.limiter.minLimit", () -> 4);
+        defaultOptions.put("concurrency.limiter.maxLimit", () -> 1024);
+        defaultOptions.put("concurrency.limiter.targetLatency", () -> 100L);
+        defaultOptions.put("concurrency.limiter.backoffRatio", () -> 0.9);
+        defaultOptions.put("concurrency.limiter.retryAfter", () -> 1);
+        defaultOptions.put("concurrency.limiter.groups", ArrayList::new);
+        defaultOptions.put("eventLoop.monitor.enabled", () -> false);
+        defaultOptions.put("eventLoop.monitor.threshold", () -> 50L);
+        defaultOptions.put("eventLoop.monitor.sampleInterval", () -> 10L);
+        defaultOptions.put("eventLoop.monitor.threadStateSampling", () -> false);
     }
 
     private ConfigProvider() {
@@ -174,6 +200,18 @@ public class ConfigProvider {
         return (T) current.getResult(klass);
     }
 
+    /**
+     * Whether the key is configured by the config file or environment, i.e. {@link #getInstance(String, Class)}
+     * doesn't fall back to the default value.
+     */
+    public boolean isConfigured(String key) {
+        ConfigObject current = new ConfigObject();
+        for (String path : key.split("\\.")) {
+            current = current.getObject(path);
+        }
+        return current.configValue != null || current.environmentValue != null;
+    }
+
     private static Map<String, Object> loadEnvironmentConfig() {
         Map<String, Object> resultMap = new HashMap<>();
         for (Map.Entry<Object, Object> entry : System.getProperties().entrySet()) {
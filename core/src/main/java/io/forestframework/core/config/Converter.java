@@ -32,9 +32,11 @@ enum DefaultConverter implements Converter<Object, Object> {
         .put(Pair.of(Object.class, JsonObject.class), new ObjectToJsonObject())
         .put(Pair.of(String.class, Enum.class), new StringToEnum())
         .put(Pair.of(Object.class, long.class), new ObjectToLong())
-        .put(Pair.of(String.class, Long.class), new ObjectToLong())
+        .put(Pair.of(Object.class, Long.class), new ObjectToLong())
         .put(Pair.of(Object.class, Integer.class), new ObjectToInteger())
         .put(Pair.of(Object.class, int.class), new ObjectToInteger())
+        .put(Pair.of(Object.class, Double.class), new ObjectToDouble())
+        .put(Pair.of(Object.class, double.class), new ObjectToDouble())
         .put(Pair.of(Object.class, Boolean.class), new ObjectToBoolean())
         .put(Pair.of(Object.class, boolean.class), new ObjectToBoolean())
         .put(Pair.of(Map.class, Object.class), new JsonObjectConstructorConverter())
@@ -164,3 +166,9 @@ class ObjectToLong implements Converter<Object, Long> {
     }
 }
 
+class ObjectToDouble implements Converter<Object, Double> {
+    @Override
+    public Double convert(Object obj, Class<?> inType, Class<? extends Double> outType) {
+        return Double.valueOf(obj.toString());
+    }
+}
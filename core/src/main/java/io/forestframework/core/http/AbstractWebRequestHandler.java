@@ -5,19 +5,22 @@ import io.forestframework.KotlinSuspendFunctionBridge;
 import io.forestframework.core.http.param.RoutingParameterResolver;
 import io.forestframework.core.http.result.RoutingResultProcessor;
 import io.forestframework.core.http.routing.Routing;
+import io.forestframework.core.http.routing.RoutingInvocationPlan;
 import io.forestframework.core.http.websocket.AbstractWebContext;
 import io.forestframework.utils.ReflectionUtils;
+import io.forestframework.utils.StartupUtils;
 import io.forestframework.utils.completablefuture.VertxCompletableFuture;
 import io.vertx.core.Future;
-import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import kotlin.coroutines.Continuation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public abstract class AbstractWebRequestHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractWebRequestHandler.class);
@@ -25,34 +28,124 @@ public abstract class AbstractWebRequestHandler {
     protected static final CompletableFuture<Object> NIL_FUTURE = CompletableFuture.completedFuture(COMPLETABLE_FUTURE_NIL);
     protected final Vertx vertx;
     protected final Injector injector;
+    protected final EventLoopMonitor eventLoopMonitor;
+    private BlockingExecutor blockingExecutor;
 
     public AbstractWebRequestHandler(Vertx vertx, Injector injector) {
+        this(vertx, injector, EventLoopMonitor.DISABLED);
+    }
+
+    public AbstractWebRequestHandler(Vertx vertx, Injector injector, EventLoopMonitor eventLoopMonitor) {
         this.vertx = vertx;
         this.injector = injector;
+        this.eventLoopMonitor = eventLoopMonitor;
     }
 
+    /**
+     * Each stage is skipped once the {@link CancellationToken} of the context is cancelled, i.e. the future fails
+     * with {@link java.util.concurrent.CancellationException} instead of running the rest of the handlers.
+     * The token is captured when the routing starts, see {@link AbstractWebContext#renewCancellationToken()}.
+     */
     protected <T> CompletableFuture<T> invokeRouting(Routing routing, AbstractWebContext context) {
+        CancellationToken token = context.getCancellationToken();
+        if (token.isCancelled()) {
+            return failedFuture(CancellationToken.newCancellationException());
+        }
         context.setRouting(routing);
         return resolveParameters(routing, context)
-            .thenCompose(arguments -> invokeMethod(routing, arguments))
-            .thenCompose(returnValue -> processResult(routing, (HttpContext) context, returnValue));
+            .thenCompose(arguments -> invokeMethod(routing, context, token, arguments))
+            .thenCompose(returnValue -> processResult(routing, context, token, returnValue));
     }
 
     protected <T> CompletableFuture<T> invokeRoutingWithoutProcessingResult(Routing routing, AbstractWebContext context) {
+        CancellationToken token = context.getCancellationToken();
+        if (token.isCancelled()) {
+            return failedFuture(CancellationToken.newCancellationException());
+        }
         context.setRouting(routing);
         return resolveParameters(routing, context)
-            .thenCompose(arguments -> invokeMethod(routing, arguments));
+            .thenCompose(arguments -> invokeMethod(routing, context, token, arguments));
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    private <T> CompletableFuture<T> processResult(Routing routing, HttpContext context, Object returnValue) {
+    /**
+     * Same as {@link #invokeRouting(Routing, AbstractWebContext)}, but runs as straight-line code without
+     * any {@link CompletableFuture} as long as every stage returns a plain value. Once a parameter resolver,
+     * the handler or a result processor returns a {@link Future}/{@link CompletableFuture}, the rest
+     * of the stages are chained asynchronously.
+     *
+     * @return the processed result, or a {@link CompletableFuture} of it if any stage is asynchronous.
+     * Unlike {@link #invokeRouting(Routing, AbstractWebContext)}, exceptions in synchronous stages are thrown directly.
+     */
+    @SuppressWarnings("unchecked")
+    protected Object invokeRoutingDirectly(Routing routing, AbstractWebContext context) {
+        CancellationToken token = context.getCancellationToken();
+        token.throwIfCancelled();
+        context.setRouting(routing);
+        Object arguments = resolveParametersDirectly(routing, context);
+        if (arguments instanceof CompletableFuture) {
+            return ((CompletableFuture<Object[]>) arguments)
+                .thenCompose(args -> invokeMethod(routing, context, token, args))
+                .thenCompose(returnValue -> processResult(routing, context, token, returnValue));
+        }
+        Object returnValue = invokeMethodDirectly(routing, context, token, (Object[]) arguments);
+        if (isAsync(returnValue)) {
+            return token.bind(adapt(returnValue))
+                .thenCompose(value -> processResult(routing, context, token, value));
+        }
+        Object result = processResultDirectly(routing, context, token, returnValue);
+        return isAsync(result) ? adapt(result) : result;
+    }
+
+    private <T> CompletableFuture<T> processResult(Routing routing, AbstractWebContext context, CancellationToken token, Object returnValue) {
+        try {
+            return adapt(processResultDirectly(routing, context, token, returnValue));
+        } catch (Throwable t) {
+            return failedFuture(t);
+        }
+    }
+
+    /**
+     * The synchronous part of the result processing is recorded by the {@link EventLoopMonitor}, the asynchronous
+     * processors are recorded when they run.
+     */
+    private Object processResultDirectly(Routing routing, AbstractWebContext webContext, CancellationToken token, Object returnValue) {
+        long start = eventLoopMonitor.enter(routing);
+        try {
+            return doProcessResult(routing, webContext, token, returnValue);
+        } finally {
+            eventLoopMonitor.exit(routing, start);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object doProcessResult(Routing routing, AbstractWebContext webContext, CancellationToken token, Object returnValue) {
+        HttpContext context = (HttpContext) webContext;
         List<RoutingResultProcessor> resultProcessors = routing.getResultProcessors(injector, returnValue);
-        CompletableFuture<Object> current = CompletableFuture.completedFuture(returnValue);
-        for (RoutingResultProcessor processor : resultProcessors) {
-            current = current.thenCompose(processReturnValue -> adapt(processor.processResponse(context, routing, processReturnValue)));
+        Object current = returnValue;
+        for (int i = 0; i < resultProcessors.size(); ++i) {
+            token.throwIfCancelled();
+            if (isAsync(current)) {
+                CompletableFuture<Object> currentFuture = token.bind(adapt(current));
+                for (RoutingResultProcessor processor : resultProcessors.subList(i, resultProcessors.size())) {
+                    currentFuture = currentFuture.thenCompose(processReturnValue -> {
+                        token.throwIfCancelled();
+                        long start = eventLoopMonitor.enter(routing);
+                        try {
+                            return token.bind(adapt(processor.processResponse(context, routing, processReturnValue)));
+                        } finally {
+                            eventLoopMonitor.exit(routing, start);
+                        }
+                    });
+                }
+                return currentFuture;
+            }
+            current = resultProcessors.get(i).processResponse(context, routing, current);
         }
+        return current;
+    }
 
-        return (CompletableFuture) current;
+    private boolean isAsync(Object obj) {
+        return obj instanceof Future || obj instanceof CompletableFuture;
     }
 
     protected <T> CompletableFuture<T> invokeMethod(Object instance, Method method, Object[] arguments, boolean blocking) {
@@ -65,8 +158,52 @@ public abstract class AbstractWebRequestHandler {
         }
     }
 
-    private <T> CompletableFuture<T> invokeMethod(Routing routing, Object[] arguments) {
-        return invokeMethod(routing.getHandlerInstance(injector), routing.getHandlerMethod(), arguments, routing.isBlocking());
+    /**
+     * Invokes a handler which is neither a Kotlin suspend function nor blocking in the current thread and returns
+     * its return value as is, otherwise falls back to {@link #invokeMethod(Routing, AbstractWebContext, CancellationToken, Object[])}.
+     */
+    private Object invokeMethodDirectly(Routing routing, AbstractWebContext context, CancellationToken token, Object[] arguments) {
+        RoutingInvocationPlan plan = routing.getInvocationPlan();
+        if (plan.isKotlinSuspendFunction() || plan.isBlocking()) {
+            return invokeMethod(routing, context, token, arguments);
+        }
+        Object instance = routing.getHandlerInstance(injector);
+        long start = eventLoopMonitor.enter(routing);
+        try {
+            return plan.invoke(instance, arguments);
+        } finally {
+            eventLoopMonitor.exit(routing, start);
+        }
+    }
+
+    /**
+     * Kotlin suspend functions are invoked in the coroutine job of the context, which is cancelled when the client goes away.
+     * The pending futures of the other handlers are cancelled via the {@link CancellationToken} of the context.
+     *
+     * The invocations on the current thread, including suspend functions up to their first suspension, are recorded
+     * by the {@link EventLoopMonitor}.
+     */
+    private <T> CompletableFuture<T> invokeMethod(Routing routing, AbstractWebContext context, CancellationToken token, Object[] arguments) {
+        RoutingInvocationPlan plan = routing.getInvocationPlan();
+        Object instance = routing.getHandlerInstance(injector);
+        if (token.isCancelled()) {
+            return failedFuture(CancellationToken.newCancellationException());
+        } else if (plan.isBlocking()) {
+            return token.bind(getBlockingExecutor().execute(plan.getBlockingAnnotation(), () -> plan.invoke(instance, arguments)));
+        }
+        long start = eventLoopMonitor.enter(routing);
+        try {
+            if (plan.isKotlinSuspendFunction()) {
+                return token.bind(KotlinSuspendFunctionBridge.Companion.invoke(vertx, plan.getInvoker(), instance, arguments, context.getCoroutineJob()));
+            }
+            try {
+                return token.bind(adapt(plan.invoke(instance, arguments)));
+            } catch (Throwable e) {
+                return failedFuture(e);
+            }
+        } finally {
+            eventLoopMonitor.exit(routing, start);
+        }
     }
 
     private <T> CompletableFuture<T> invokeViaJavaReflection(Object instance, Method method, Object[] arguments) {
@@ -84,13 +221,15 @@ public abstract class AbstractWebRequestHandler {
     }
 
     private <T> CompletableFuture<T> invokeBlockingViaJavaReflection(Object instance, Method method, Object[] arguments) {
-        return VertxCompletableFuture.from(vertx.executeBlocking((Promise<T> promise) -> {
-            try {
-                promise.complete(ReflectionUtils.invoke(method, instance, arguments));
-            } catch (Throwable e) {
-                promise.fail(e);
-            }
-        }));
+        return getBlockingExecutor().execute(StartupUtils.getBlockingAnnotation(method), () -> ReflectionUtils.invoke(method, instance, arguments));
+    }
+
+    private BlockingExecutor getBlockingExecutor() {
+        // Racy but harmless, it's a singleton
+        if (blockingExecutor == null) {
+            blockingExecutor = injector.getInstance(BlockingExecutor.class);
+        }
+        return blockingExecutor;
     }
 
     private boolean isKotlinSuspendFunction(Method method) {
@@ -98,22 +237,46 @@ public abstract class AbstractWebRequestHandler {
         return parameterTypes.length != 0 && isContinuation(parameterTypes[parameterTypes.length - 1]);
     }
 
+    @SuppressWarnings("unchecked")
     private CompletableFuture<Object[]> resolveParameters(Routing routing, AbstractWebContext context) {
         try {
-            Class<?>[] parameterTypes = routing.getHandlerMethod().getParameterTypes();
-            Object[] arguments = new Object[parameterTypes.length];
-            CompletableFuture<?>[] futures = new CompletableFuture[parameterTypes.length];
-            for (int i = 0; i < parameterTypes.length; ++i) {
-                int iCopy = i;
-                futures[i] = adapt(resolveParameter(routing, i, parameterTypes[i], context))
-                    .thenAccept(result -> arguments[iCopy] = result);
-            }
-            return CompletableFuture.allOf(futures).thenApply(v -> arguments);
+            Object arguments = resolveParametersDirectly(routing, context);
+            return arguments instanceof CompletableFuture
+                ? (CompletableFuture<Object[]>) arguments
+                : CompletableFuture.completedFuture((Object[]) arguments);
         } catch (Throwable t) {
             return failedFuture(t);
         }
     }
 
+    /**
+     * Resolves the arguments in place. Futures are only created for the parameters whose resolvers return
+     * a {@link Future} or a {@link CompletableFuture}.
+     *
+     * @return the arguments if all of them are resolved synchronously, otherwise a {@link CompletableFuture} of them.
+     */
+    private Object resolveParametersDirectly(Routing routing, AbstractWebContext context) {
+        RoutingInvocationPlan plan = routing.getInvocationPlan();
+        Object[] arguments = new Object[plan.getParameterCount()];
+        List<CompletableFuture<?>> futures = null;
+        for (int i = 0; i < arguments.length; ++i) {
+            Object argument = resolveParameter(routing, plan, i, context);
+            if (isAsync(argument)) {
+                if (futures == null) {
+                    futures = new ArrayList<>();
+                }
+                int iCopy = i;
+                futures.add(adapt(argument).thenAccept(result -> arguments[iCopy] = result));
+            } else {
+                arguments[i] = argument;
+            }
+        }
+        if (futures == null) {
+            return arguments;
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> arguments);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> CompletableFuture<T> adapt(Object obj) {
         if (obj instanceof Future) {
@@ -127,13 +290,19 @@ public abstract class AbstractWebRequestHandler {
 
 
     @SuppressWarnings("rawtypes")
-    private Object resolveParameter(Routing routing, int index, Class<?> argumentType, AbstractWebContext context) {
-        if (isContinuation(argumentType)) {
+    private Object resolveParameter(Routing routing, RoutingInvocationPlan plan, int index, AbstractWebContext context) {
+        if (plan.getParameterKind(index) == RoutingInvocationPlan.ParameterKind.CONTINUATION) {
             return COMPLETABLE_FUTURE_NIL;
         }
         RoutingParameterResolver resolver = routing.getParameterResolver(injector, index);
         if (resolver == null) {
-            return context.getArgumentInjector().resolve(argumentType, () -> "Don't know how to resolve param " + index + " of " + routing.getHandlerMethod());
+            int[] slots = plan.getParameterSlots(index);
+            Class<?> parameterType = plan.getParameterType(index);
+            Supplier<String> errorMessage = () -> "Don't know how to resolve param " + index + " of " + plan.getHandlerMethod();
+            // The routing may resolve the parameter in its own way, in which case the plan doesn't have the slots
+            return slots == null
+                ? context.getArgumentInjector().resolve(parameterType, errorMessage)
+                : context.getArgumentInjector().resolve(slots, parameterType, errorMessage);
         } else {
             return resolver.resolveParameter(context, routing, index);
         }
@@ -1,9 +1,16 @@
 package io.forestframework.core.http;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.inject.Injector;
+import io.forestframework.core.http.bridge.BridgeEvent;
+import io.forestframework.core.http.bridge.BridgeEventType;
 import io.forestframework.core.http.websocket.WebSocketContext;
+import io.forestframework.core.http.websocket.WebSocketEventType;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.vertx.core.Context;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
@@ -12,13 +19,22 @@ import io.vertx.core.shareddata.SharedData;
 import org.apiguardian.api.API;
 
 import java.nio.file.FileSystem;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 /**
  * For internal usage only.
+ *
+ * The per-request arguments are stored in a fixed slot per type, see {@link #SLOT_CLASSES}. The slots a handler
+ * parameter is injected from are resolved once by {@link #getSlots(Class)}, so injecting an argument is an array
+ * access instead of a map lookup. Instances are pooled per event loop, see {@link #acquire(Injector)}.
  */
 @API(status = API.Status.INTERNAL, since = "0.1")
 public class ArgumentInjector {
@@ -32,37 +48,144 @@ public class ArgumentInjector {
         SharedData.class,
         FileSystem.class
     );
-    // Must be HashMap because it allows null
+
+    /**
+     * The per-request types, their indices are the slots.
+     */
+    private static final List<Class<?>> SLOT_CLASSES = ImmutableList.of(
+        WebContext.class,
+        HttpContext.class,
+        HttpServerRequest.class,
+        HttpServerResponse.class,
+        WebSocketContext.class,
+        ServerWebSocket.class,
+        Throwable.class,
+        RuntimeException.class,
+        Exception.class,
+        HttpStatusCode.class,
+        WebSocketEventType.class,
+        Buffer.class,
+        String.class,
+        BridgeEvent.class,
+        BridgeEventType.class,
+        CancellationToken.class,
+        Deadline.class
+    );
+    private static final int WEB_CONTEXT = 0;
+    private static final int HTTP_CONTEXT = 1;
+    private static final int HTTP_SERVER_REQUEST = 2;
+    private static final int HTTP_SERVER_RESPONSE = 3;
+    private static final int WEB_SOCKET_CONTEXT = 4;
+    private static final int SERVER_WEB_SOCKET = 5;
+    private static final int THROWABLE = 6;
+    private static final int RUNTIME_EXCEPTION = 7;
+    private static final int EXCEPTION = 8;
+
+    /**
+     * Returned by {@link #getSlots(Class)} for {@link #SUPPORTED_CLASSES}, which are resolved by the {@link Injector}.
+     */
+    private static final int[] GLOBAL = new int[0];
+    private static final Map<Class<?>, int[]> SLOTS_CACHE = new ConcurrentHashMap<>();
+
+    private static final int MAX_POOL_SIZE = 256;
+    private static final FastThreadLocal<ArrayDeque<ArgumentInjector>> POOL = new FastThreadLocal<ArrayDeque<ArgumentInjector>>() {
+        @Override
+        protected ArrayDeque<ArgumentInjector> initialValue() {
+            return new ArrayDeque<>();
+        }
+    };
+
     // It's thread-safe: only created and used in same thread
-    private final Injector injector;
-    private final Map<Class<?>, Object> parameters = new HashMap<>();
+    private Injector injector;
+    private final Object[] arguments = new Object[SLOT_CLASSES.size()];
+    // Bit masks of the slots which are set, and the slots which hold a Supplier of the argument
+    private int present;
+    private int suppliers;
+    // Must be HashMap because it allows null. Only created for types which don't have a slot.
+    private Map<Class<?>, Object> otherArguments;
 
     public ArgumentInjector(Injector injector) {
         this.injector = injector;
     }
 
+    /**
+     * Takes an instance from the pool of the current event loop, or creates a new one if the pool is empty or
+     * the current thread is not an event loop thread. {@link #release()} it once the request is done.
+     */
+    public static ArgumentInjector acquire(Injector injector) {
+        if (Context.isOnEventLoopThread()) {
+            ArgumentInjector ret = POOL.get().pollFirst();
+            if (ret != null) {
+                ret.injector = injector;
+                return ret;
+            }
+        }
+        return new ArgumentInjector(injector);
+    }
+
+    /**
+     * Clears all arguments and returns this instance to the pool of the current event loop.
+     * It must not be used afterwards.
+     */
+    public void release() {
+        Arrays.fill(arguments, null);
+        present = 0;
+        suppliers = 0;
+        otherArguments = null;
+        injector = null;
+        if (Context.isOnEventLoopThread()) {
+            ArrayDeque<ArgumentInjector> pool = POOL.get();
+            if (pool.size() < MAX_POOL_SIZE) {
+                pool.addFirst(this);
+            }
+        }
+    }
+
+    /**
+     * Resolves the slots a parameter of the given type is injected from: the slot of the exact type first, then
+     * the slots of its super types. Only computed once per type, callers are expected to cache the result, e.g.
+     * {@link io.forestframework.core.http.routing.RoutingInvocationPlan#getParameterSlots(int)}.
+     */
+    public static int[] getSlots(Class<?> klass) {
+        int[] ret = SLOTS_CACHE.get(klass);
+        if (ret == null) {
+            ret = SLOTS_CACHE.computeIfAbsent(klass, ArgumentInjector::computeSlots);
+        }
+        return ret;
+    }
+
+    private static int[] computeSlots(Class<?> klass) {
+        if (SUPPORTED_CLASSES.contains(klass)) {
+            return GLOBAL;
+        }
+        int exactSlot = SLOT_CLASSES.indexOf(klass);
+        IntStream superTypeSlots = IntStream.range(0, SLOT_CLASSES.size())
+                                            .filter(slot -> slot != exactSlot && SLOT_CLASSES.get(slot).isAssignableFrom(klass));
+        return exactSlot == -1 ? superTypeSlots.toArray() : IntStream.concat(IntStream.of(exactSlot), superTypeSlots).toArray();
+    }
+
     public ArgumentInjector with(HttpContext context) {
-        return withParameter(WebContext.class, context)
-            .withParameter(HttpContext.class, context)
-            .withParameter(HttpServerRequest.class, context.request())
-            .withParameter(HttpServerResponse.class, context.response());
+        return set(WEB_CONTEXT, context)
+            .set(HTTP_CONTEXT, context)
+            .set(HTTP_SERVER_REQUEST, context.request())
+            .set(HTTP_SERVER_RESPONSE, context.response());
     }
 
     public ArgumentInjector with(WebSocketContext context) {
-        return withParameter(WebContext.class, context)
-            .withParameter(HttpServerRequest.class, context.request())
-            .withParameter(HttpServerResponse.class, context.response())
-            .withParameter(WebSocketContext.class, context)
-            .withParameter(ServerWebSocket.class, context.webSocket());
+        return set(WEB_CONTEXT, context)
+            .set(HTTP_SERVER_REQUEST, context.request())
+            .set(HTTP_SERVER_RESPONSE, context.response())
+            .set(WEB_SOCKET_CONTEXT, context)
+            .set(SERVER_WEB_SOCKET, context.webSocket());
     }
 
     public ArgumentInjector with(Throwable t) {
-        withParameter(Throwable.class, t);
+        set(THROWABLE, t);
         if (t instanceof RuntimeException || t == null) {
-            withParameter(RuntimeException.class, (RuntimeException) t);
+            set(RUNTIME_EXCEPTION, t);
         }
         if (t instanceof Exception || t == null) {
-            withParameter(Exception.class, (Exception) t);
+            set(EXCEPTION, t);
         }
         return this;
     }
@@ -81,33 +204,73 @@ public class ArgumentInjector {
 //    }
 
     public <T> ArgumentInjector withParameter(Class<T> klass, T argument) {
-        parameters.put(klass, argument);
-        return this;
+        return withParameterOrSupplier(klass, argument, false);
     }
 
     public <T> ArgumentInjector withParameterSupplier(Class<T> klass, Supplier<T> supplier) {
-        parameters.put(klass, supplier);
+        return withParameterOrSupplier(klass, supplier, true);
+    }
+
+    private ArgumentInjector withParameterOrSupplier(Class<?> klass, Object argumentOrSupplier, boolean supplier) {
+        int slot = SLOT_CLASSES.indexOf(klass);
+        if (slot == -1) {
+            if (otherArguments == null) {
+                otherArguments = new HashMap<>();
+            }
+            otherArguments.put(klass, argumentOrSupplier);
+        } else {
+            set(slot, argumentOrSupplier);
+            if (supplier) {
+                suppliers |= 1 << slot;
+            }
+        }
+        return this;
+    }
+
+    private ArgumentInjector set(int slot, Object argument) {
+        arguments[slot] = argument;
+        present |= 1 << slot;
+        suppliers &= ~(1 << slot);
         return this;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     public <T> T resolve(Class<T> klass, Supplier<String> errorMessage) {
-        if (SUPPORTED_CLASSES.contains(klass)) {
+        return resolve(getSlots(klass), klass, errorMessage);
+    }
+
+    /**
+     * Same as {@link #resolve(Class, Supplier)} with the slots resolved beforehand by {@link #getSlots(Class)}.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> T resolve(int[] slots, Class<T> klass, Supplier<String> errorMessage) {
+        if (slots == GLOBAL) {
             return injector.getInstance(klass);
         }
 
-        if (parameters.containsKey(klass)) {
-            Object ret = parameters.get(klass);
-            if (ret instanceof Supplier) {
-                return (T) ((Supplier) ret).get();
-            } else {
-                return (T) ret;
+        for (int slot : slots) {
+            if ((present & (1 << slot)) != 0) {
+                Object ret = arguments[slot];
+                if ((suppliers & (1 << slot)) != 0 && ret != null) {
+                    return (T) ((Supplier) ret).get();
+                } else {
+                    return (T) ret;
+                }
             }
         }
 
-        for (Map.Entry<Class<?>, Object> entry : parameters.entrySet()) {
-            if (entry.getKey().isAssignableFrom(klass)) {
-                return (T) entry.getValue();
+        if (otherArguments != null) {
+            if (otherArguments.containsKey(klass)) {
+                Object ret = otherArguments.get(klass);
+                if (ret instanceof Supplier) {
+                    return (T) ((Supplier) ret).get();
+                } else {
+                    return (T) ret;
+                }
+            }
+            for (Map.Entry<Class<?>, Object> entry : otherArguments.entrySet()) {
+                if (entry.getKey().isAssignableFrom(klass)) {
+                    return (T) entry.getValue();
+                }
             }
         }
         throw new IllegalArgumentException(errorMessage.get());
@@ -1,5 +1,7 @@
 package io.forestframework.core.http;
 
+import org.apiguardian.api.API;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -10,8 +12,49 @@ import java.lang.annotation.Target;
  * blocking HTTP connections, etc.
  *
  * Try to use this annotation as le
+ *
+ * By default, the handler runs on the Vert.x worker pool. With {@code @Blocking(mode = Blocking.Mode.VIRTUAL)},
+ * or {@code blocking.executor: virtual} globally, it runs on a JDK virtual thread instead, see {@link BlockingExecutor}.
+ *
+ * Handlers calling a slow dependency can be isolated in a named pool configured under {@code blocking.pools},
+ * e.g. {@code @Blocking(pool = "redis", ordered = false)}, so that they can't starve the other blocking handlers.
+ * See {@link BlockingPool}.
  */
 @Target({ElementType.METHOD, ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Blocking {
+    @API(status = API.Status.EXPERIMENTAL, since = "0.3")
+    Mode mode() default Mode.DEFAULT;
+
+    /**
+     * The name of the {@link BlockingPool} to run in, which takes precedence over {@link #mode()}.
+     * Empty for the Vert.x worker pool.
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "0.3")
+    String pool() default "";
+
+    /**
+     * Whether the invocations on the same event loop run one after another, see
+     * {@link io.vertx.core.Vertx#executeBlocking(io.vertx.core.Handler, boolean, io.vertx.core.Handler)}.
+     * Ignored by virtual threads, which are never ordered. In a {@link #pool()}, ordered invocations run at most
+     * one per event loop at the same time, regardless of the size of the pool, so it should usually be false there.
+     */
+    @API(status = API.Status.EXPERIMENTAL, since = "0.3")
+    boolean ordered() default true;
+
+    @API(status = API.Status.EXPERIMENTAL, since = "0.3")
+    enum Mode {
+        /**
+         * The mode configured by {@code blocking.executor}.
+         */
+        DEFAULT,
+        /**
+         * The Vert.x worker pool.
+         */
+        WORKER,
+        /**
+         * A new virtual thread per invocation, which requires JDK 21+. Falls back to {@link #WORKER} on older JDKs.
+         */
+        VIRTUAL
+    }
 }
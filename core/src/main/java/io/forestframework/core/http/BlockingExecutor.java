@@ -0,0 +1,155 @@
+package io.forestframework.core.http;
+
+import io.forestframework.core.config.ConfigProvider;
+import io.forestframework.utils.completablefuture.VertxCompletableFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs {@link Blocking} handlers off the event loop and completes the returned future on the caller's context.
+ *
+ * {@link Blocking.Mode#WORKER} uses {@link Vertx#executeBlocking(io.vertx.core.Handler)}, whose concurrency is capped
+ * by the worker pool size. {@link Blocking.Mode#VIRTUAL} starts a JDK virtual thread per invocation, so that handlers
+ * blocked on I/O, e.g. JDBC, don't occupy a platform thread. Virtual threads are looked up reflectively, because
+ * Forest is compiled for Java 8; on JDKs without them, virtual mode falls back to the worker pool.
+ *
+ * {@link Blocking.Mode#DEFAULT} is resolved by the {@code blocking.executor} config, {@code worker} or {@code virtual}.
+ *
+ * A handler with {@link Blocking#pool()} runs in the named {@link BlockingPool} instead. The pools configured under
+ * {@code blocking.pools} are created at startup, the others are created with the default settings when they're first used.
+ */
+@Singleton
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public class BlockingExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlockingExecutor.class);
+    private final Vertx vertx;
+    private final ConfigProvider configProvider;
+    private final Blocking.Mode defaultMode;
+    // null if virtual threads are not available
+    private final Executor virtualThreadExecutor;
+    private final Map<String, BlockingPool> pools = new ConcurrentHashMap<>();
+
+    @Inject
+    @SuppressWarnings("unchecked")
+    public BlockingExecutor(Vertx vertx, ConfigProvider configProvider) {
+        this.vertx = vertx;
+        this.configProvider = configProvider;
+        this.defaultMode = parseMode(configProvider.getInstance("blocking.executor", String.class));
+        this.virtualThreadExecutor = createVirtualThreadExecutor();
+        if (defaultMode == Blocking.Mode.VIRTUAL && virtualThreadExecutor == null) {
+            LOGGER.warn("Virtual threads are not available in Java {}, blocking handlers run on the worker pool.", System.getProperty("java.version"));
+        }
+        Map<String, Object> poolConfigs = configProvider.getInstance("blocking.pools", Map.class);
+        if (poolConfigs != null) {
+            poolConfigs.keySet().forEach(this::getPool);
+        }
+    }
+
+    private static Blocking.Mode parseMode(String mode) {
+        switch (mode) {
+            case "worker":
+                return Blocking.Mode.WORKER;
+            case "virtual":
+                return Blocking.Mode.VIRTUAL;
+            default:
+                throw new IllegalArgumentException("Unsupported blocking.executor: " + mode + ", expected worker or virtual.");
+        }
+    }
+
+    public boolean isVirtualThreadAvailable() {
+        return virtualThreadExecutor != null;
+    }
+
+    /**
+     * Returns the named pool, which is created if it doesn't exist yet.
+     */
+    public BlockingPool getPool(String name) {
+        return pools.computeIfAbsent(name, this::createPool);
+    }
+
+    /**
+     * All pools created so far, pool name to pool.
+     */
+    public Map<String, BlockingPool> getPools() {
+        return Collections.unmodifiableMap(pools);
+    }
+
+    private BlockingPool createPool(String name) {
+        String prefix = "blocking.pools." + name + ".";
+        Integer maxSize = configProvider.getInstance(prefix + "maxSize", Integer.class);
+        Integer queueSize = configProvider.getInstance(prefix + "queueSize", Integer.class);
+        Long queueTimeout = configProvider.getInstance(prefix + "queueTimeout", Long.class);
+        return new BlockingPool(vertx,
+                                name,
+                                maxSize == null ? BlockingPool.DEFAULT_MAX_SIZE : maxSize,
+                                queueSize == null ? BlockingPool.DEFAULT_QUEUE_SIZE : queueSize,
+                                queueTimeout == null ? 0 : queueTimeout);
+    }
+
+    /**
+     * Runs the task as the {@link Blocking} annotation specifies, and completes the returned future on the current context.
+     *
+     * @param blocking the annotation on the handler, or null for the default settings
+     * @param task the task
+     */
+    public <T> CompletableFuture<T> execute(Blocking blocking, Callable<T> task) {
+        if (blocking != null && !blocking.pool().isEmpty()) {
+            return getPool(blocking.pool()).execute(blocking.ordered(), task);
+        }
+        Blocking.Mode mode = blocking == null ? Blocking.Mode.DEFAULT : blocking.mode();
+        if (mode == Blocking.Mode.DEFAULT) {
+            mode = defaultMode;
+        }
+        if (mode == Blocking.Mode.VIRTUAL && virtualThreadExecutor != null) {
+            Context context = vertx.getOrCreateContext();
+            CompletableFuture<T> future = new CompletableFuture<>();
+            virtualThreadExecutor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            return VertxCompletableFuture.from(context, future);
+        }
+        return VertxCompletableFuture.from(vertx.executeBlocking((Promise<T> promise) -> {
+            try {
+                promise.complete(task.call());
+            } catch (Throwable e) {
+                promise.fail(e);
+            }
+        }, blocking == null || blocking.ordered()));
+    }
+
+    /**
+     * {@code Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("forest-virtual-", 0).factory())}
+     */
+    private static Executor createVirtualThreadExecutor() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "forest-virtual-", 0L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (Executor) newThreadPerTaskExecutor.invoke(null, factory);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package io.forestframework.core.http;
+
+import io.forestframework.utils.completablefuture.VertxCompletableFuture;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import org.apiguardian.api.API;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A named, bounded pool for {@link Blocking} handlers, backed by a shared {@link WorkerExecutor} and configured in
+ * {@code forest.yml}:
+ *
+ * <pre>
+ * blocking:
+ *   pools:
+ *     redis:
+ *       maxSize: 4
+ *       queueSize: 100
+ *       queueTimeout: 1000
+ * </pre>
+ *
+ * At most {@code maxSize} invocations run at the same time and at most {@code queueSize} wait for a thread. More
+ * invocations are rejected immediately with 503, instead of queueing without limit. An invocation waiting longer than
+ * {@code queueTimeout} milliseconds is rejected with 503 as well, without running the handler.
+ *
+ * Note that {@link Blocking#ordered()} is true by default, and ordered invocations from the same event loop run one
+ * after another, so that at most one invocation per event loop runs at the same time, no matter how large
+ * {@code maxSize} is. Use {@code @Blocking(pool = "redis", ordered = false)} to make use of all threads of the pool.
+ *
+ * {@link #getActiveCount()}, {@link #getQueuedCount()} and {@link #getRejectedCount()} are the gauges of the pool.
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public class BlockingPool {
+    public static final int DEFAULT_MAX_SIZE = 20;
+    public static final int DEFAULT_QUEUE_SIZE = 1000;
+    private final Vertx vertx;
+    private final String name;
+    private final int maxSize;
+    private final int queueSize;
+    private final long queueTimeoutMillis;
+    private final WorkerExecutor executor;
+    // Queued + active
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param vertx the Vert.x instance
+     * @param name the pool name, also the name of the worker threads
+     * @param maxSize the max number of threads, which ordered invocations use at most one per event loop
+     * @param queueSize the max number of invocations waiting for a thread
+     * @param queueTimeoutMillis the max milliseconds an invocation waits for a thread, 0 for unlimited
+     */
+    public BlockingPool(Vertx vertx, String name, int maxSize, int queueSize, long queueTimeoutMillis) {
+        if (maxSize <= 0 || queueSize < 0 || queueTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Invalid blocking pool " + name + ": maxSize=" + maxSize + ", queueSize=" + queueSize + ", queueTimeout=" + queueTimeoutMillis);
+        }
+        this.vertx = vertx;
+        this.name = name;
+        this.maxSize = maxSize;
+        this.queueSize = queueSize;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.executor = vertx.createSharedWorkerExecutor(name, maxSize);
+    }
+
+    /**
+     * Runs the task in the pool, or fails the returned future with a 503 {@link HttpException} if the queue is full.
+     */
+    public <T> CompletableFuture<T> execute(boolean ordered, Callable<T> task) {
+        if (pending.incrementAndGet() > maxSize + queueSize) {
+            pending.decrementAndGet();
+            rejected.increment();
+            CompletableFuture<T> ret = new CompletableFuture<>();
+            ret.completeExceptionally(new HttpException(HttpStatusCode.SERVICE_UNAVAILABLE, "Blocking pool " + name + " is full"));
+            return ret;
+        }
+        long deadline = queueTimeoutMillis == 0 ? 0 : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+        return VertxCompletableFuture.from(vertx.getOrCreateContext(), executor.executeBlocking((Promise<T> promise) -> {
+            try {
+                if (deadline != 0 && System.nanoTime() - deadline > 0) {
+                    rejected.increment();
+                    promise.fail(new HttpException(HttpStatusCode.SERVICE_UNAVAILABLE, "Blocking pool " + name + " queue timeout " + queueTimeoutMillis + "ms exceeded"));
+                    return;
+                }
+                active.incrementAndGet();
+                try {
+                    promise.complete(task.call());
+                } finally {
+                    active.decrementAndGet();
+                }
+            } catch (Throwable e) {
+                promise.fail(e);
+            } finally {
+                pending.decrementAndGet();
+            }
+        }, ordered));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public long getQueueTimeoutMillis() {
+        return queueTimeoutMillis;
+    }
+
+    /**
+     * The number of invocations running.
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * The number of invocations waiting for a thread.
+     */
+    public int getQueuedCount() {
+        return Math.max(0, pending.get() - active.get());
+    }
+
+    /**
+     * The number of invocations rejected since startup, because the queue is full or the queue timeout is exceeded.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,124 @@
+package io.forestframework.core.http;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cancelled when the client of a request goes away, i.e. the connection is closed before the response is written,
+ * or when the handlers exceed their {@link Timeout}. The remaining handlers and result processors of the request
+ * are skipped, and the pending futures returned by the handlers are cancelled.
+ *
+ * It can be injected into handlers, to stop the work nobody is going to read:
+ *
+ * <pre>
+ * &#64;Get("/report")
+ * public Future&lt;Report&gt; report(CancellationToken token) {
+ *     return token.bind(pgPool.query(REPORT_SQL).execute()).map(Report::new);
+ * }
+ * </pre>
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public final class CancellationToken {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CancellationToken.class);
+    private volatile boolean cancelled;
+    private List<Runnable> callbacks;
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @throws CancellationException if the token is cancelled
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw newCancellationException();
+        }
+    }
+
+    static CancellationException newCancellationException() {
+        return new CancellationException("The request is cancelled, the client went away or the handlers timed out");
+    }
+
+    /**
+     * Registers the callback invoked when the token is cancelled, or invokes it immediately if it's already cancelled.
+     */
+    public void onCancel(Runnable callback) {
+        synchronized (this) {
+            if (!cancelled) {
+                if (callbacks == null) {
+                    callbacks = new ArrayList<>(2);
+                }
+                callbacks.add(callback);
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    /**
+     * Cancels the future when the token is cancelled. Like {@link CompletableFuture#cancel(boolean)}, this only
+     * completes the future with a {@link CancellationException}, the computation behind it isn't interrupted.
+     *
+     * @return the future
+     */
+    public <T> CompletableFuture<T> bind(CompletableFuture<T> future) {
+        if (!future.isDone()) {
+            onCancel(() -> future.cancel(false));
+        }
+        return future;
+    }
+
+    /**
+     * Returns a future which is completed with the future, or failed with a {@link CancellationException} when the
+     * token is cancelled, whichever comes first. A Vert.x future can't be cancelled, so the work behind the bound
+     * future keeps running and its result is dropped. To stop the work itself, use {@link #onCancel(Runnable)}.
+     */
+    public <T> Future<T> bind(Future<T> future) {
+        if (future.isComplete()) {
+            return future;
+        }
+        Promise<T> promise = Promise.promise();
+        future.onComplete(result -> {
+            if (result.succeeded()) {
+                promise.tryComplete(result.result());
+            } else {
+                promise.tryFail(result.cause());
+            }
+        });
+        onCancel(() -> promise.tryFail(newCancellationException()));
+        return promise.future();
+    }
+
+    /**
+     * Cancels the token and invokes the callbacks, only the first invocation takes effect.
+     */
+    public void cancel() {
+        List<Runnable> toInvoke;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            toInvoke = callbacks;
+            callbacks = null;
+        }
+        if (toInvoke != null) {
+            for (Runnable callback : toInvoke) {
+                try {
+                    callback.run();
+                } catch (Throwable e) {
+                    LOGGER.warn("Error invoking cancellation callback", e);
+                }
+            }
+        }
+    }
+}
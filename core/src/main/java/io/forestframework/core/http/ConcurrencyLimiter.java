@@ -0,0 +1,246 @@
+package io.forestframework.core.http;
+
+import io.forestframework.core.config.ConfigProvider;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import org.apiguardian.api.API;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control in front of the routing, configured in {@code forest.yml}:
+ *
+ * <pre>
+ * concurrency:
+ *   limiter:
+ *     enabled: true
+ *     initialLimit: 64
+ *     minLimit: 4
+ *     maxLimit: 1024
+ *     targetLatency: 100
+ *     backoffRatio: 0.9
+ *     retryAfter: 1
+ *     groups: ["/api/", "/admin/"]
+ * </pre>
+ *
+ * Each route group, i.e. the requests whose path starts with one of {@code groups} or the {@link #DEFAULT_GROUP} for
+ * the others, has a concurrency limit per event loop, adjusted by the AIMD algorithm: a response slower than
+ * {@code targetLatency} milliseconds decreases the limit multiplicatively by {@code backoffRatio}, otherwise the limit
+ * increases by 1 if at least half of it is in use. A request exceeding the limit is rejected immediately with 503 and
+ * {@code Retry-After}, before it's matched against the routings.
+ *
+ * The in-flight counters and limits are striped per event loop, so that the admission doesn't contend between event
+ * loops. WebSocket upgrades are not limited. The request holds its permit until the response ends or its connection
+ * is closed, which is observed by {@link DefaultHttpResponse#addEndHook(Handler)}, so the end handler of the response
+ * is still available to the application.
+ */
+@Singleton
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public class ConcurrencyLimiter {
+    public static final String DEFAULT_GROUP = "default";
+    private static final Handler<Void> NO_PERMIT = v -> {
+    };
+    private final boolean enabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final String retryAfter;
+    // Sorted by prefix length descending, so that the longest prefix wins
+    private final List<Group> prefixGroups = new ArrayList<>();
+    private final Group defaultGroup;
+    private final Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Inject
+    @SuppressWarnings("unchecked")
+    public ConcurrencyLimiter(ConfigProvider configProvider) {
+        this(configProvider.getInstance("concurrency.limiter.enabled", Boolean.class),
+             configProvider.getInstance("concurrency.limiter.initialLimit", Integer.class),
+             configProvider.getInstance("concurrency.limiter.minLimit", Integer.class),
+             configProvider.getInstance("concurrency.limiter.maxLimit", Integer.class),
+             configProvider.getInstance("concurrency.limiter.targetLatency", Long.class),
+             configProvider.getInstance("concurrency.limiter.backoffRatio", Double.class),
+             configProvider.getInstance("concurrency.limiter.retryAfter", Integer.class),
+             configProvider.getInstance("concurrency.limiter.groups", List.class));
+    }
+
+    /**
+     * @param enabled whether the requests are limited
+     * @param initialLimit the initial limit of each route group per event loop
+     * @param minLimit the min limit of each route group per event loop
+     * @param maxLimit the max limit of each route group per event loop
+     * @param targetLatencyMillis the responses slower than it decrease the limit
+     * @param backoffRatio the ratio the limit is multiplied with when it decreases
+     * @param retryAfterSeconds the Retry-After header of the rejected requests
+     * @param groupPrefixes the path prefixes of the route groups
+     */
+    public ConcurrencyLimiter(boolean enabled,
+                              int initialLimit,
+                              int minLimit,
+                              int maxLimit,
+                              long targetLatencyMillis,
+                              double backoffRatio,
+                              int retryAfterSeconds,
+                              List<String> groupPrefixes) {
+        if (minLimit <= 0 || initialLimit < minLimit || maxLimit < initialLimit || targetLatencyMillis <= 0 || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limiter: initialLimit=" + initialLimit + ", minLimit=" + minLimit + ", maxLimit=" + maxLimit
+                + ", targetLatency=" + targetLatencyMillis + ", backoffRatio=" + backoffRatio);
+        }
+        this.enabled = enabled;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+        this.backoffRatio = backoffRatio;
+        this.retryAfter = Integer.toString(retryAfterSeconds);
+        for (String prefix : groupPrefixes) {
+            Group group = new Group(prefix);
+            prefixGroups.add(group);
+            groups.put(prefix, group);
+        }
+        prefixGroups.sort(Comparator.comparingInt((Group group) -> group.name.length()).reversed());
+        this.defaultGroup = new Group(DEFAULT_GROUP);
+        groups.put(DEFAULT_GROUP, defaultGroup);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Route group name to route group, including the {@link #DEFAULT_GROUP}.
+     */
+    public Map<String, Group> getGroups() {
+        return Collections.unmodifiableMap(groups);
+    }
+
+    /**
+     * The sum of the current limits of all route groups on all event loops.
+     */
+    public int getLimit() {
+        return groups.values().stream().mapToInt(Group::getLimit).sum();
+    }
+
+    public long getRejectedCount() {
+        return groups.values().stream().mapToLong(Group::getRejectedCount).sum();
+    }
+
+    /**
+     * Admits the request, or rejects it with 503 and {@code Retry-After} if its route group is at the limit on the
+     * current event loop.
+     *
+     * @return the handler releasing the permit once the response ends, or null if the request is rejected and the
+     * response is ended
+     */
+    public Handler<Void> tryAcquire(HttpServerRequest request) {
+        if ("websocket".equalsIgnoreCase(request.getHeader(HttpHeaders.UPGRADE))) {
+            return NO_PERMIT;
+        }
+        Stripe stripe = findGroup(request).stripes.get();
+        if (!stripe.tryAcquire()) {
+            request.response()
+                   .setStatusCode(HttpStatusCode.SERVICE_UNAVAILABLE.getCode())
+                   .putHeader(OptimizedHeaders.HEADER_RETRY_AFTER, retryAfter)
+                   .end();
+            return null;
+        }
+        long start = System.nanoTime();
+        return v -> stripe.release(System.nanoTime() - start);
+    }
+
+    private Group findGroup(HttpServerRequest request) {
+        if (prefixGroups.isEmpty()) {
+            return defaultGroup;
+        }
+        String path = request.path();
+        for (Group group : prefixGroups) {
+            if (path.startsWith(group.name)) {
+                return group;
+            }
+        }
+        return defaultGroup;
+    }
+
+    /**
+     * The requests of a path prefix, or the {@link #DEFAULT_GROUP}, limited independently of the other groups.
+     */
+    public final class Group {
+        private final String name;
+        private final List<Stripe> allStripes = new CopyOnWriteArrayList<>();
+        private final FastThreadLocal<Stripe> stripes = new FastThreadLocal<Stripe>() {
+            @Override
+            protected Stripe initialValue() {
+                Stripe stripe = new Stripe();
+                allStripes.add(stripe);
+                return stripe;
+            }
+        };
+
+        private Group(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * The sum of the current limits on all event loops.
+         */
+        public int getLimit() {
+            return allStripes.stream().mapToInt(stripe -> (int) stripe.limit).sum();
+        }
+
+        public int getInFlightCount() {
+            return allStripes.stream().mapToInt(stripe -> stripe.inFlight.get()).sum();
+        }
+
+        public long getRejectedCount() {
+            return allStripes.stream().mapToLong(stripe -> stripe.rejected.get()).sum();
+        }
+    }
+
+    /**
+     * The state of a group on an event loop. It's only updated by the event loop, the atomics and volatile are for
+     * the metric readers.
+     */
+    private final class Stripe {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong rejected = new AtomicLong();
+        private volatile double limit = initialLimit;
+
+        private boolean tryAcquire() {
+            if (inFlight.get() >= (int) limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            inFlight.incrementAndGet();
+            return true;
+        }
+
+        private void release(long latencyNanos) {
+            int current = inFlight.getAndDecrement();
+            double newLimit = limit;
+            if (latencyNanos > targetLatencyNanos) {
+                newLimit = Math.max(minLimit, newLimit * backoffRatio);
+            } else if (current * 2 >= newLimit) {
+                newLimit = Math.min(maxLimit, newLimit + 1);
+            }
+            limit = newLimit;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.forestframework.core.http;
+
+import org.apiguardian.api.API;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The point in time a request must be finished by, see {@link Timeout}. It can be injected into handlers, so that
+ * the downstream calls don't wait longer than the remaining budget:
+ *
+ * <pre>
+ * &#64;Get("/user")
+ * public Future&lt;User&gt; user(Deadline deadline) {
+ *     return webClient.get("/user").timeout(deadline.remainingMillis()).send().map(User::new);
+ * }
+ * </pre>
+ *
+ * A request without timeout has the {@link #NONE} deadline.
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public final class Deadline {
+    public static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+    private static final Pattern DURATION = Pattern.compile("(\\d+)\\s*(ms|s|m|h)?");
+    // System.nanoTime(), Long.MAX_VALUE for NONE
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * @param timeoutMillis the milliseconds from now, must be positive
+     */
+    public static Deadline after(long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeoutMillis);
+        }
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    /**
+     * Parses a duration like {@code 250ms}, {@code 5s}, {@code 1m} or {@code 1h}. A number without unit is milliseconds.
+     *
+     * @return the milliseconds
+     */
+    public static long parseMillis(String duration) {
+        Matcher matcher = DURATION.matcher(duration.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid duration: " + duration + ", expected a number with unit ms, s, m or h, e.g. 250ms");
+        }
+        long value = Long.parseLong(matcher.group(1));
+        String unit = matcher.group(2);
+        if (unit == null || "ms".equals(unit)) {
+            return value;
+        } else if ("s".equals(unit)) {
+            return TimeUnit.SECONDS.toMillis(value);
+        } else if ("m".equals(unit)) {
+            return TimeUnit.MINUTES.toMillis(value);
+        } else {
+            return TimeUnit.HOURS.toMillis(value);
+        }
+    }
+
+    public boolean isNone() {
+        return this == NONE;
+    }
+
+    public boolean isExpired() {
+        return !isNone() && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * The remaining milliseconds, 0 if it's expired, {@link Long#MAX_VALUE} for {@link #NONE}.
+     */
+    public long remainingMillis() {
+        if (isNone()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime()));
+    }
+
+    @Override
+    public String toString() {
+        return isNone() ? "Deadline(none)" : "Deadline(" + remainingMillis() + "ms remaining)";
+    }
+}
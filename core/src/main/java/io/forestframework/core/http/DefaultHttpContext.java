@@ -20,6 +20,9 @@ public class DefaultHttpContext extends AbstractWebContext implements HttpContex
         this.request = request;
         this.matchResult = matchResult;
         this.getArgumentInjector().with(this);
+        // The response close handler is invoked when the connection is closed while the request is in flight.
+        // The connection close handler is not used, there's only one per connection, shared by all requests on it.
+        ((DefaultHttpResponse) request.response()).addCloseHook(v -> getCancellationToken().cancel());
     }
 
     @Override
@@ -6,6 +6,7 @@ import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.Cookie;
 import io.vertx.core.http.HttpConnection;
@@ -24,9 +25,34 @@ import io.vertx.core.streams.WriteStream;
 import javax.net.ssl.SSLPeerUnverifiedException;
 import javax.net.ssl.SSLSession;
 import javax.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public class DefaultHttpRequest implements HttpRequest {
+    /**
+     * How the body of a request is read, decided by the matched routings before any handler is invoked,
+     * see {@link io.forestframework.core.http.routing.PlainHttpRoutingMatchResult#getRequestBodyMode()}.
+     */
+    public enum BodyMode {
+        /**
+         * No handler parameter reads the body. A request with a body is paused anyway, so that a handler can still
+         * read it explicitly, even after an asynchronous gap. The body is discarded if it's not read by the time
+         * the request is handled.
+         */
+        NONE,
+        /**
+         * Exactly one handler parameter reads the body. The request is paused until the parameter is resolved,
+         * so the body can be streamed into it without being aggregated.
+         */
+        DEFERRED,
+        /**
+         * More than one handler parameter reads the body. It's aggregated once, as soon as the request arrives,
+         * and shared by all of them.
+         */
+        AGGREGATED
+    }
+
     private final HttpServerRequestInternal delegate;
     private final HttpResponse response;
     private final RoutingMatchResult routingMatchResult;
@@ -34,16 +60,18 @@ public class DefaultHttpRequest implements HttpRequest {
      * This allows a body to be read multiple times, in multiple handlers.
      */
     private Future<Buffer> bodyCache;
+    private long maxBodySize = -1;
+    private long bodyBytesRead;
+    private boolean bodyPaused;
+    private boolean bodyConsumed;
+    private boolean bodyDiscarded;
+    private boolean bodyReleased;
+    private List<Runnable> bodyReleaseHooks;
 
     public DefaultHttpRequest(HttpServerRequestInternal delegate, RoutingMatchResult routingMatchResult) {
         this.delegate = delegate;
         this.routingMatchResult = routingMatchResult;
         this.response = new DefaultHttpResponse(delegate.response());
-        // TODO this is unsafe
-        // However, we need this to handle the situation in which HTTP request is read to the end
-        // before `body()` is called.
-        // Also, as said in `bodyHandler` documentation, it's unsafe to call it on a huge input
-        bodyHandler(buffer -> bodyCache = Future.succeededFuture(buffer));
     }
 
     @SuppressWarnings("unchecked")
@@ -51,6 +79,175 @@ public class DefaultHttpRequest implements HttpRequest {
         return (T) routingMatchResult;
     }
 
+    /**
+     * Prepares the body for reading in the given mode. Must be called before any handler is invoked.
+     *
+     * @param mode how the body is going to be read
+     * @param maxBodySize the max number of bytes of the body, negative for unlimited
+     * @return false if the declared Content-Length exceeds maxBodySize, in which case the body is not read
+     */
+    public boolean prepareBody(BodyMode mode, long maxBodySize) {
+        this.maxBodySize = maxBodySize;
+        if (maxBodySize >= 0 && getContentLength() > maxBodySize) {
+            return false;
+        }
+        if (mode == BodyMode.AGGREGATED) {
+            body();
+        } else if ((mode == BodyMode.DEFERRED || hasBody()) && !delegate.isEnded()) {
+            delegate.pause();
+            bodyPaused = true;
+        }
+        return true;
+    }
+
+    private boolean hasBody() {
+        return getContentLength() > 0 || delegate.getHeader(OptimizedHeaders.HEADER_TRANSFER_ENCODING) != null;
+    }
+
+    private long getContentLength() {
+        String contentLength = delegate.getHeader(OptimizedHeaders.HEADER_CONTENT_LENGTH);
+        try {
+            return contentLength == null ? -1 : Long.parseLong(contentLength);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the body chunk by chunk with the reader, without aggregating it. If the body has already been
+     * aggregated, e.g. in {@link BodyMode#AGGREGATED} mode, the aggregated body is passed to the reader as one chunk.
+     *
+     * Fails with 413 {@link HttpException} once the body exceeds the max body size, see {@link #prepareBody(BodyMode, long)}.
+     * Otherwise the body can only be read once.
+     */
+    public <T> Future<T> readBody(RequestBodyReader<T> reader) {
+        if (bodyCache != null) {
+            return bodyCache.compose(buffer -> {
+                try {
+                    reader.handleChunk(buffer);
+                    return Future.succeededFuture(reader.end());
+                } catch (Throwable e) {
+                    return Future.failedFuture(e);
+                }
+            });
+        }
+        return readBodyFromDelegate(reader);
+    }
+
+    /**
+     * Reads a url-encoded or multipart form body without aggregating it: the attributes are decoded by Vert.x
+     * and each file part is passed to the upload handler as it arrives. Completes with the attributes at the end
+     * of the body, the uploads may still be in progress at that time.
+     *
+     * Like {@link #readBody(RequestBodyReader)}, fails with 413 {@link HttpException} once the body exceeds
+     * the max body size.
+     */
+    public Future<MultiMap> readForm(Handler<HttpServerFileUpload> uploadHandler) {
+        if (bodyCache != null) {
+            return Future.failedFuture(new IllegalStateException("Form body can't be decoded after it has been aggregated."));
+        }
+        try {
+            delegate.setExpectMultipart(true);
+        } catch (IllegalStateException e) {
+            return Future.failedFuture(new HttpException(HttpStatusCode.UNSUPPORTED_MEDIA_TYPE, e.getMessage()));
+        }
+        delegate.uploadHandler(uploadHandler);
+        return readBodyFromDelegate(new RequestBodyReader<MultiMap>() {
+            @Override
+            public void handleChunk(Buffer chunk) {
+                // Decoded by Vert.x
+            }
+
+            @Override
+            public MultiMap end() {
+                return delegate.formAttributes();
+            }
+        });
+    }
+
+    private <T> Future<T> readBodyFromDelegate(RequestBodyReader<T> reader) {
+        if (bodyConsumed) {
+            return Future.failedFuture(new IllegalStateException("Request body has already been read."));
+        }
+        if (bodyDiscarded) {
+            return Future.failedFuture(new IllegalStateException("Request body has been discarded, it must be read before the request is handled: " + path()));
+        }
+        bodyConsumed = true;
+        Promise<T> promise = Promise.promise();
+        try {
+            delegate.handler(chunk -> {
+                if (promise.future().isComplete()) {
+                    return;
+                }
+                bodyBytesRead += chunk.length();
+                if (maxBodySize >= 0 && bodyBytesRead > maxBodySize) {
+                    promise.tryFail(new HttpException(HttpStatusCode.REQUEST_TOO_LONG, "Request body exceeds " + maxBodySize + " bytes, request path: " + path()));
+                    return;
+                }
+                try {
+                    reader.handleChunk(chunk);
+                } catch (Throwable e) {
+                    promise.tryFail(e);
+                }
+            });
+            delegate.endHandler(v -> {
+                if (!promise.future().isComplete()) {
+                    try {
+                        promise.tryComplete(reader.end());
+                    } catch (Throwable e) {
+                        promise.tryFail(e);
+                    }
+                }
+            });
+            delegate.exceptionHandler(promise::tryFail);
+        } catch (IllegalStateException e) {
+            // Request has already been read to the end
+            return Future.failedFuture(e);
+        }
+        resumeBody();
+        return promise.future();
+    }
+
+    /**
+     * Registers a hook to release the resources of the body, e.g. uploaded files spilled to disk,
+     * once the request has been handled, see {@link #releaseBody()}. The hook runs immediately if the request
+     * has already been handled, e.g. an upload which starts after the request failed.
+     */
+    public void addBodyReleaseHook(Runnable hook) {
+        if (bodyReleased) {
+            hook.run();
+            return;
+        }
+        if (bodyReleaseHooks == null) {
+            bodyReleaseHooks = new ArrayList<>(1);
+        }
+        bodyReleaseHooks.add(hook);
+    }
+
+    /**
+     * Called once the request has been handled. Resumes the request if its body was paused but never read,
+     * the rest of the body is dropped, otherwise a paused request would stall its connection. Reading the body
+     * afterwards fails instead of silently returning a truncated body. Then runs the body release hooks.
+     */
+    public void releaseBody() {
+        if (bodyPaused) {
+            bodyDiscarded = true;
+        }
+        bodyReleased = true;
+        resumeBody();
+        if (bodyReleaseHooks != null) {
+            bodyReleaseHooks.forEach(Runnable::run);
+            bodyReleaseHooks = null;
+        }
+    }
+
+    private void resumeBody() {
+        if (bodyPaused) {
+            bodyPaused = false;
+            delegate.resume();
+        }
+    }
+
     @Override
     public HttpRequest exceptionHandler(Handler<Throwable> handler) {
         delegate.exceptionHandler(handler);
@@ -60,6 +257,11 @@ public class DefaultHttpRequest implements HttpRequest {
     @Override
     public HttpRequest handler(Handler<Buffer> handler) {
         delegate.handler(handler);
+        if (handler != null) {
+            // The body is read manually, deliver what has been paused
+            bodyConsumed = true;
+            resumeBody();
+        }
         return this;
     }
 
@@ -71,12 +273,14 @@ public class DefaultHttpRequest implements HttpRequest {
 
     @Override
     public HttpRequest resume() {
+        bodyPaused = false;
         delegate.resume();
         return this;
     }
 
     @Override
     public HttpRequest fetch(long amount) {
+        bodyPaused = false;
         delegate.fetch(amount);
         return this;
     }
@@ -195,20 +399,22 @@ public class DefaultHttpRequest implements HttpRequest {
 
     @Override
     public HttpRequest bodyHandler(Handler<Buffer> bodyHandler) {
-        delegate.bodyHandler(bodyHandler);
+        if (bodyHandler != null) {
+            body().onSuccess(bodyHandler);
+        }
         return this;
     }
 
     @Override
     public HttpRequest body(Handler<AsyncResult<Buffer>> handler) {
-        delegate.body(handler);
+        body().onComplete(handler);
         return this;
     }
 
     @Override
     public Future<Buffer> body() {
         if (bodyCache == null) {
-            bodyCache = delegate.body();
+            bodyCache = readBodyFromDelegate(new BufferAggregator());
         }
         return bodyCache;
     }
@@ -298,18 +504,26 @@ public class DefaultHttpRequest implements HttpRequest {
         return delegate.cookieMap();
     }
 
+    // The pipe pauses the request itself and resumes it when piping starts
+
     @Override
     public Pipe<Buffer> pipe() {
+        bodyConsumed = true;
+        bodyPaused = false;
         return delegate.pipe();
     }
 
     @Override
     public Future<Void> pipeTo(WriteStream<Buffer> dst) {
+        bodyConsumed = true;
+        bodyPaused = false;
         return delegate.pipeTo(dst);
     }
 
     @Override
     public void pipeTo(WriteStream<Buffer> dst, Handler<AsyncResult<Void>> handler) {
+        bodyConsumed = true;
+        bodyPaused = false;
         delegate.pipeTo(dst, handler);
     }
 
@@ -322,4 +536,18 @@ public class DefaultHttpRequest implements HttpRequest {
     public Object metric() {
         return delegate.metric();
     }
+
+    private static class BufferAggregator implements RequestBodyReader<Buffer> {
+        private final Buffer body = Buffer.buffer();
+
+        @Override
+        public void handleChunk(Buffer chunk) {
+            body.appendBuffer(chunk);
+        }
+
+        @Override
+        public Buffer end() {
+            return body;
+        }
+    }
 }
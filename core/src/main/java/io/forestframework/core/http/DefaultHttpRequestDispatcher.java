@@ -1,14 +1,25 @@
 package io.forestframework.core.http;
 
 import io.forestframework.core.http.bridge.DefaultBridgeRequestHandler;
+import io.forestframework.core.http.routing.PlainHttpRoutingMatchResult;
+import io.forestframework.core.http.routing.Routing;
 import io.forestframework.core.http.routing.RoutingMatchResult;
 import io.forestframework.core.http.routing.RoutingMatcher;
+import io.forestframework.core.http.routing.RoutingType;
+import io.forestframework.core.http.staticresource.StaticAsset;
+import io.forestframework.core.http.staticresource.StaticAssetIndex;
+import io.forestframework.core.http.staticresource.StaticAssetSender;
 import io.forestframework.core.http.websocket.DefaultWebSocketRequestHandler;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.impl.HttpServerRequestInternal;
 import org.apiguardian.api.API;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * For internal use only.
@@ -20,7 +31,9 @@ import javax.inject.Singleton;
  *     <li>Normal request-response</li>
  * </ul>
  *
- * Dispatches the request to the real handlers.
+ * Dispatches the request to the real handlers. A GET or HEAD request of a path in {@link StaticAssetIndex} is answered
+ * from memory before that, unless the path is also matched by routings of the application, see {@link #isShadowed}.
+ * Then the request is admitted by the {@link ConcurrencyLimiter} if it's enabled, before it's matched.
  */
 @API(status = API.Status.INTERNAL, since = "0.1")
 @Singleton
@@ -29,22 +42,95 @@ public class DefaultHttpRequestDispatcher implements HttpRequestHandler {
     private final DefaultBridgeRequestHandler bridgeRequestHandler;
     private final DefaultWebSocketRequestHandler webSocketRequestHandler;
     private final DefaultPlainHttpRequestHandler httpRequestHandler;
+    private final StaticAssetIndex staticAssetIndex;
+    // null if disabled
+    private final ConcurrencyLimiter concurrencyLimiter;
+    // Request path -> whether it's shadowed, only for the indexed static resources
+    private final Map<String, Boolean> shadowedStaticPaths = new ConcurrentHashMap<>();
 
-    @Inject
     public DefaultHttpRequestDispatcher(RoutingMatcher routingMatcher,
                                         DefaultBridgeRequestHandler bridgeRequestHandler,
                                         DefaultWebSocketRequestHandler webSocketRequestHandler,
                                         DefaultPlainHttpRequestHandler httpRequestHandler) {
+        this(routingMatcher, bridgeRequestHandler, webSocketRequestHandler, httpRequestHandler, null, null);
+    }
+
+    @Inject
+    public DefaultHttpRequestDispatcher(RoutingMatcher routingMatcher,
+                                        DefaultBridgeRequestHandler bridgeRequestHandler,
+                                        DefaultWebSocketRequestHandler webSocketRequestHandler,
+                                        DefaultPlainHttpRequestHandler httpRequestHandler,
+                                        StaticAssetIndex staticAssetIndex,
+                                        ConcurrencyLimiter concurrencyLimiter) {
         this.routingMatcher = routingMatcher;
         this.bridgeRequestHandler = bridgeRequestHandler;
         this.webSocketRequestHandler = webSocketRequestHandler;
         this.httpRequestHandler = httpRequestHandler;
+        this.staticAssetIndex = staticAssetIndex;
+        this.concurrencyLimiter = concurrencyLimiter != null && concurrencyLimiter.isEnabled() ? concurrencyLimiter : null;
     }
 
     @Override
     public void handle(HttpServerRequest request) {
+        if (staticAssetIndex != null && sendStaticAsset(request)) {
+            return;
+        }
+        Handler<Void> permit = null;
+        if (concurrencyLimiter != null) {
+            permit = concurrencyLimiter.tryAcquire(request);
+            if (permit == null) {
+                return;
+            }
+        }
+        RoutingMatchResult routingMatchResult = routingMatcher.match(request);
+        DefaultHttpRequest httpRequest = new DefaultHttpRequest((HttpServerRequestInternal) request, routingMatchResult);
+        if (permit != null) {
+            ((DefaultHttpResponse) httpRequest.response()).addEndHook(permit);
+        }
+        routingMatchResult.select(httpRequest, bridgeRequestHandler, webSocketRequestHandler, httpRequestHandler);
+    }
+
+    private boolean sendStaticAsset(HttpServerRequest request) {
+        if (request.method() != HttpMethod.GET && request.method() != HttpMethod.HEAD) {
+            return false;
+        }
+        String path = request.path();
+        StaticAsset asset = staticAssetIndex.find(path);
+        if (asset == null) {
+            return false;
+        }
+        Boolean shadowed = shadowedStaticPaths.get(path);
+        if (shadowed == null) {
+            // Racy but idempotent
+            shadowed = isShadowed(request);
+            shadowedStaticPaths.put(path, shadowed);
+        }
+        if (shadowed) {
+            return false;
+        }
+        StaticAssetSender.send(request, request.response(), asset);
+        return true;
+    }
+
+    /**
+     * Whether the request path is matched by any routing registered by the application, i.e. not by
+     * {@link StaticAssetIndex}. Such a request goes through the routings, so that the application's handlers,
+     * pre-handlers and post-handlers take precedence. Only the path matters, the result is computed once per path.
+     */
+    private boolean isShadowed(HttpServerRequest request) {
         RoutingMatchResult routingMatchResult = routingMatcher.match(request);
-        routingMatchResult.select(request, bridgeRequestHandler, webSocketRequestHandler, httpRequestHandler);
+        if (!(routingMatchResult instanceof PlainHttpRoutingMatchResult)) {
+            return true;
+        }
+        PlainHttpRoutingMatchResult plainHttpRoutingMatchResult = (PlainHttpRoutingMatchResult) routingMatchResult;
+        for (RoutingType type : new RoutingType[]{RoutingType.PRE_HANDLER, RoutingType.HANDLER, RoutingType.POST_HANDLER}) {
+            for (Routing routing : plainHttpRoutingMatchResult.getPathMatchingRoutingsByType(type)) {
+                if (!staticAssetIndex.isIndexed(routing)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 }
 
@@ -1,6 +1,8 @@
 package io.forestframework.core.http;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -18,6 +20,12 @@ import java.util.List;
 public class DefaultHttpResponse implements HttpResponse {
     private final io.vertx.core.http.HttpServerResponse delegate;
     private final List<Buffer> bodyBuffers = new ArrayList<>();
+    private Handler<Void> endHandler;
+    // null until the delegate's end handler is installed
+    private List<Handler<Void>> endHooks;
+    private Handler<Void> closeHandler;
+    // null until the delegate's close handler is installed
+    private List<Handler<Void>> closeHooks;
 
     public DefaultHttpResponse(io.vertx.core.http.HttpServerResponse delegate) {
         this.delegate = delegate;
@@ -134,16 +142,68 @@ public class DefaultHttpResponse implements HttpResponse {
 
     @Override
     public HttpResponse closeHandler(Handler<Void> handler) {
-        delegate.closeHandler(handler);
+        closeHandler = handler;
+        installCloseHandler();
         return this;
     }
 
+    /**
+     * Adds a hook which is invoked when the connection is closed before the response ends, like the close handler.
+     * Unlike {@link #closeHandler(Handler)}, it doesn't replace the close handler set by the application, e.g. the
+     * {@link CancellationToken} of the request is cancelled with it.
+     */
+    public void addCloseHook(Handler<Void> hook) {
+        installCloseHandler();
+        closeHooks.add(hook);
+    }
+
+    // The delegate has a single close handler, which is shared by the close handler and the hooks
+    private void installCloseHandler() {
+        if (closeHooks == null) {
+            closeHooks = new ArrayList<>(1);
+            delegate.closeHandler(this::onClose);
+        }
+    }
+
+    private void onClose(Void v) {
+        closeHooks.forEach(hook -> hook.handle(v));
+        if (closeHandler != null) {
+            closeHandler.handle(v);
+        }
+    }
+
     @Override
     public HttpResponse endHandler(Handler<Void> handler) {
-        delegate.endHandler(handler);
+        endHandler = handler;
+        installEndHandler();
         return this;
     }
 
+    /**
+     * Adds a hook which is invoked when the response ends or its connection is closed, like the end handler. Unlike
+     * {@link #endHandler(Handler)}, it doesn't replace the end handler set by the application, e.g. the
+     * {@link ConcurrencyLimiter} releases the permit of the request with it.
+     */
+    public void addEndHook(Handler<Void> hook) {
+        installEndHandler();
+        endHooks.add(hook);
+    }
+
+    // The delegate has a single end handler, which is shared by the end handler and the hooks
+    private void installEndHandler() {
+        if (endHooks == null) {
+            endHooks = new ArrayList<>(1);
+            delegate.endHandler(this::onEnd);
+        }
+    }
+
+    private void onEnd(Void v) {
+        endHooks.forEach(hook -> hook.handle(v));
+        if (endHandler != null) {
+            endHandler.handle(v);
+        }
+    }
+
     @Override
     public HttpResponse writeContinue() {
         delegate.writeContinue();
@@ -288,7 +348,7 @@ public class DefaultHttpResponse implements HttpResponse {
     public void write(Buffer data, Handler<AsyncResult<Void>> handler) {
         flush().onComplete(result -> {
             if (result.succeeded()) {
-                write(data, handler);
+                delegate.write(data, handler);
             } else {
                 handler.handle(result);
             }
@@ -297,7 +357,7 @@ public class DefaultHttpResponse implements HttpResponse {
 
     @Override
     public void end(Handler<AsyncResult<Void>> handler) {
-        delegate.end(handler);
+        delegate.end(mergeBuffers(Buffer.buffer()), handler);
     }
 
     @Override
@@ -329,12 +389,27 @@ public class DefaultHttpResponse implements HttpResponse {
         if (bodyBuffers.isEmpty()) {
             return chunk;
         }
-        Buffer ret = bodyBuffers.get(0);
-        for (int i = 1; i < bodyBuffers.size(); ++i) {
-            ret = ret.appendBuffer(bodyBuffers.get(i));
+        if (chunk.length() != 0) {
+            bodyBuffers.add(chunk);
         }
+        Buffer ret = gather(bodyBuffers);
         bodyBuffers.clear();
-        return ret.appendBuffer(chunk);
+        return ret;
+    }
+
+    /**
+     * Gathers the buffers into a {@link CompositeByteBuf} without copying them, so they're written with one write
+     * whose length (and Content-Length) is the sum of the buffers.
+     */
+    private static Buffer gather(List<Buffer> buffers) {
+        if (buffers.size() == 1) {
+            return buffers.get(0);
+        }
+        CompositeByteBuf ret = Unpooled.compositeBuffer(buffers.size());
+        for (Buffer buffer : buffers) {
+            ret.addComponent(true, buffer.getByteBuf());
+        }
+        return Buffer.buffer(ret);
     }
 
     @Override
@@ -389,11 +464,11 @@ public class DefaultHttpResponse implements HttpResponse {
      * Flush all current buffers in memory
      */
     public synchronized Future<Void> flush() {
-        Future<Void> ret = Future.succeededFuture();
-        for (Buffer buffer : bodyBuffers) {
-            ret = ret.compose(__ -> delegate.write(buffer));
+        if (bodyBuffers.isEmpty()) {
+            return Future.succeededFuture();
         }
+        Buffer buffer = gather(bodyBuffers);
         bodyBuffers.clear();
-        return ret;
+        return delegate.write(buffer);
     }
 }
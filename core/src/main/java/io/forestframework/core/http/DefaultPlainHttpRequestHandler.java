@@ -1,6 +1,7 @@
 package io.forestframework.core.http;
 
 import com.google.inject.Injector;
+import io.forestframework.core.config.ConfigProvider;
 import io.forestframework.core.http.routing.PlainHttpRoutingMatchResult;
 import io.forestframework.core.http.routing.Routing;
 import io.forestframework.core.http.routing.RoutingType;
@@ -15,9 +16,11 @@ import javax.inject.Singleton;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -31,18 +34,49 @@ public class DefaultPlainHttpRequestHandler extends AbstractWebRequestHandler im
     private static final CompletableFuture<Boolean> TRUE_FUTURE = CompletableFuture.completedFuture(Boolean.TRUE);
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultPlainHttpRequestHandler.class);
 
-    @Inject
+    private final long maxBodySize;
+    private final long defaultTimeoutMillis;
+
     public DefaultPlainHttpRequestHandler(Vertx vertx, Injector injector) {
-        super(vertx, injector);
+        super(vertx, injector, EventLoopMonitor.DISABLED);
+        this.maxBodySize = -1;
+        this.defaultTimeoutMillis = 0;
+    }
+
+    @Inject
+    public DefaultPlainHttpRequestHandler(Vertx vertx, Injector injector, ConfigProvider configProvider, EventLoopMonitor eventLoopMonitor) {
+        super(vertx, injector, eventLoopMonitor);
+        this.maxBodySize = configProvider.getInstance("request.maxBodySize", Long.class);
+        this.defaultTimeoutMillis = Deadline.parseMillis(configProvider.getInstance("request.timeout", String.class));
     }
 
     @Override
     public void handle(HttpServerRequest request) {
-        PlainHttpRoutingMatchResult routingMatchResult = ((DefaultHttpRequest) request).getRoutingMatchResult();
+        DefaultHttpRequest httpRequest = (DefaultHttpRequest) request;
+        PlainHttpRoutingMatchResult routingMatchResult = httpRequest.getRoutingMatchResult();
+
+        DefaultHttpContext context = new DefaultHttpContext(injector, httpRequest, routingMatchResult);
+
+        if (!httpRequest.prepareBody(routingMatchResult.getRequestBodyMode(), maxBodySize)) {
+            handleError(context,
+                        routingMatchResult,
+                        HttpStatusCode.REQUEST_TOO_LONG,
+                        new HttpException(HttpStatusCode.REQUEST_TOO_LONG, "Request body exceeds " + maxBodySize + " bytes, request path: " + request.path()));
+            return;
+        }
+
+        long timeoutMillis = getTimeoutMillis(routingMatchResult);
+        if (timeoutMillis > 0) {
+            context.setDeadline(Deadline.after(timeoutMillis));
+        }
 
-        DefaultHttpContext context = new DefaultHttpContext(injector, (DefaultHttpRequest) request, routingMatchResult);
+        Routing synchronousHandler = routingMatchResult.getSynchronousHandler();
+        if (synchronousHandler != null) {
+            handleSynchronously(context, routingMatchResult, synchronousHandler);
+            return;
+        }
 
-        CompletableFuture<Boolean> preHandlerFuture = invokePreHandlers(context, routingMatchResult);
+        CompletableFuture<Boolean> preHandlerFuture = withDeadline(invokePreHandlers(context, routingMatchResult), context);
 
         composeSafely(preHandlerFuture, (Boolean shouldContinue) -> {
             if (Boolean.FALSE.equals(shouldContinue)) {
@@ -58,20 +92,89 @@ public class DefaultPlainHttpRequestHandler extends AbstractWebRequestHandler im
                                        statusCode,
                                        new HttpException(mainHandlerMatchResult.getStatusCode(), mainHandlerMatchResult.getStatusCode().name() + ", request path: " + request.path()));
                 } else {
-                    return invokeMainHandler(context, routingMatchResult)
-                        .whenComplete((__, throwableInHandler) -> {
-                            if (throwableInHandler == null) {
-                                invokePostHandlers(context, routingMatchResult);
-                            } else {
-                                handleError(context, routingMatchResult, getStatusCode(throwableInHandler), throwableInHandler);
-                            }
-                        })
-                        .exceptionally(__ -> COMPLETABLE_FUTURE_NIL);
+                    return whenMainHandlerComplete(withDeadline(invokeMainHandler(context, routingMatchResult), context), context, routingMatchResult);
                 }
             }
         }).exceptionally(throwableInPreHandlers -> handleError(context, routingMatchResult, getStatusCode(throwableInPreHandlers), throwableInPreHandlers));
     }
 
+    private CompletableFuture<Object> whenMainHandlerComplete(CompletableFuture<Object> mainHandlerFuture, DefaultHttpContext context, PlainHttpRoutingMatchResult routingMatchResult) {
+        return mainHandlerFuture
+            .whenComplete((__, throwableInHandler) -> {
+                if (throwableInHandler == null) {
+                    invokePostHandlers(context, routingMatchResult);
+                } else {
+                    handleError(context, routingMatchResult, getStatusCode(throwableInHandler), throwableInHandler);
+                }
+            })
+            .exceptionally(__ -> COMPLETABLE_FUTURE_NIL);
+    }
+
+    /**
+     * The same as the asynchronous pipeline above when there are no pre-handlers and post-handlers, but the main handler
+     * is invoked as straight-line code. Falls back to the asynchronous pipeline once any stage returns a future.
+     */
+    @SuppressWarnings("unchecked")
+    private void handleSynchronously(DefaultHttpContext context, PlainHttpRoutingMatchResult routingMatchResult, Routing handler) {
+        Object result;
+        try {
+            result = invokeRoutingDirectly(handler, context);
+        } catch (Throwable throwableInHandler) {
+            handleError(context, routingMatchResult, getStatusCode(throwableInHandler), throwableInHandler);
+            return;
+        }
+        if (result instanceof CompletableFuture) {
+            whenMainHandlerComplete(withDeadline((CompletableFuture<Object>) result, context), context, routingMatchResult);
+        } else {
+            invokeFinalizingHandler(context);
+        }
+    }
+
+    /**
+     * The {@link Timeout} of the main handler, or the default timeout if it's not annotated. 0 for no timeout.
+     */
+    private long getTimeoutMillis(PlainHttpRoutingMatchResult routingMatchResult) {
+        if (routingMatchResult.getMainHandlerMatchResult().getStatusCode() != HttpStatusCode.OK) {
+            return 0;
+        }
+        long timeoutMillis = routingMatchResult.getMatchingHandlersByType(RoutingType.HANDLER).get(0).getInvocationPlan().getTimeoutMillis();
+        return timeoutMillis < 0 ? defaultTimeoutMillis : timeoutMillis;
+    }
+
+    /**
+     * Fails the returned future with 504 if the future isn't completed before the deadline of the context, with a
+     * Vert.x timer on the current event loop. The timed-out handlers are cancelled by
+     * {@link DefaultHttpContext#renewCancellationToken()}, so that the error handlers and post-handlers still run.
+     */
+    private <T> CompletableFuture<T> withDeadline(CompletableFuture<T> future, DefaultHttpContext context) {
+        Deadline deadline = context.getDeadline();
+        if (deadline.isNone() || future.isDone()) {
+            return future;
+        }
+        CompletableFuture<T> ret = new CompletableFuture<>();
+        // Whether ret is completed by the timer or the future, whichever comes first
+        AtomicBoolean settled = new AtomicBoolean();
+        long timerId = vertx.setTimer(Math.max(1, deadline.remainingMillis()), id -> {
+            if (settled.compareAndSet(false, true)) {
+                // Cancel the timed-out handlers before the error handlers run, it fails the future as well
+                context.renewCancellationToken();
+                ret.completeExceptionally(new HttpException(HttpStatusCode.GATEWAY_TIMEOUT, "Request timed out, request path: " + context.request().path()));
+            }
+        });
+        future.whenComplete((value, throwable) -> {
+            vertx.cancelTimer(timerId);
+            if (!settled.compareAndSet(false, true)) {
+                return;
+            }
+            if (throwable == null) {
+                ret.complete(value);
+            } else {
+                ret.completeExceptionally(throwable);
+            }
+        });
+        return ret;
+    }
+
     private CompletableFuture<Object> handleError(DefaultHttpContext context, PlainHttpRoutingMatchResult routingMatchResult, HttpStatusCode statusCode, Throwable throwable) {
         Routing matchedErrorHandler = routingMatchResult.getMatchingErrorHandler(statusCode);
         if (matchedErrorHandler == null) {
@@ -140,6 +243,9 @@ public class DefaultPlainHttpRequestHandler extends AbstractWebRequestHandler im
         if ("/favicon.ico".equals(context.request().path()) && t instanceof HttpException && ((HttpException) t).getCode() == HttpStatusCode.NOT_FOUND) {
             // TODO test this special case
             LOGGER.debug("", t);
+        } else if (t instanceof CancellationException && context.response().closed()) {
+            // The pipeline is cancelled because the client went away
+            LOGGER.debug("Request cancelled: " + context.request().path(), t);
         } else {
             LOGGER.error("", t);
         }
@@ -147,8 +253,12 @@ public class DefaultPlainHttpRequestHandler extends AbstractWebRequestHandler im
 
     // A finalizer which does the cleanup work:
     // If there're throwables, log them and return corresponding error code
-    // End the response.
-    private Object invokeFinalizingHandler(HttpContext context, Throwable... uncaughtThrowables) {
+    // End the response, unless the client went away.
+    // Release the argument injector, no handlers are invoked afterwards.
+    // Release the body: discard it if it was paused but never read, delete spilled uploads.
+    private Object invokeFinalizingHandler(DefaultHttpContext context, Throwable... uncaughtThrowables) {
+        context.releaseArgumentInjector();
+        ((DefaultHttpRequest) context.request()).releaseBody();
         try {
             List<Throwable> realThrowables = Stream.of(uncaughtThrowables)
                                                    .map(this::unwrap)
@@ -156,7 +266,7 @@ public class DefaultPlainHttpRequestHandler extends AbstractWebRequestHandler im
                                                    .peek(e -> logError(context, e))
                                                    .collect(Collectors.toList());
             if (realThrowables.isEmpty()) {
-                if (!context.response().ended()) {
+                if (!context.response().ended() && !context.response().closed()) {
                     context.response().end();
                 }
             } else {
@@ -167,7 +277,7 @@ public class DefaultPlainHttpRequestHandler extends AbstractWebRequestHandler im
                     .findFirst()
                     .orElse(HttpStatusCode.INTERNAL_SERVER_ERROR);
                 HttpResponse response = context.response();
-                if (!response.ended()) {
+                if (!response.ended() && !response.closed()) {
                     safeSetStatusCode(response, statusCode);
                     response.end(statusCode.name());
                 }
@@ -0,0 +1,351 @@
+package io.forestframework.core.http;
+
+import io.forestframework.core.config.ConfigProvider;
+import io.forestframework.core.http.routing.Routing;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
+import org.apiguardian.api.API;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Attributes the time spent on the event loops to the routings, configured in {@code forest.yml}:
+ *
+ * <pre>
+ * eventLoop:
+ *   monitor:
+ *     enabled: true
+ *     threshold: 50
+ *     sampleInterval: 10
+ *     threadStateSampling: true
+ * </pre>
+ *
+ * Each synchronous stretch of a routing on an event loop, i.e. the handler invocation up to the first suspension or
+ * the returned future, and the result processing, is recorded in the event-loop time histogram of the routing, see
+ * {@link #getRoutes()}. The event loop is free between the stretches, so the longest stretch is what blocks the other
+ * requests. A stretch longer than {@code threshold} milliseconds is counted as slow and logged, with the stack trace
+ * sampled while it was running.
+ *
+ * The stack traces are sampled every {@code sampleInterval} milliseconds by a daemon thread, similar to Vert.x's
+ * blocked thread checker. With {@code threadStateSampling}, each sample of a handler which is not {@link Blocking}
+ * also checks whether the event loop is blocked, i.e. it's waiting on a lock, sleeping, or in native socket or file
+ * I/O. Such handlers are reported once per routing and should be marked with {@link Blocking}.
+ */
+@Singleton
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public class EventLoopMonitor {
+    /**
+     * The upper bounds of the histogram buckets in microseconds, the last bucket is unbounded.
+     */
+    public static final long[] BUCKET_BOUNDS_MICROS = {50, 100, 250, 500, 1000, 2500, 5000, 10000, 25000, 50000, 100000, 250000, 500000, 1000000};
+    public static final EventLoopMonitor DISABLED = new EventLoopMonitor(null, false, 1, 1, false);
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventLoopMonitor.class);
+    private static final String[] BLOCKING_IO_PACKAGES = {"java.io.", "java.net.", "java.nio.", "sun.nio.ch.", "sun.nio.fs."};
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final boolean threadStateSampling;
+    private final Map<Routing, RouteStats> routes = new ConcurrentHashMap<>();
+    private final List<Stretch> allStretches = new CopyOnWriteArrayList<>();
+    private final FastThreadLocal<Stretch> stretches = new FastThreadLocal<Stretch>() {
+        @Override
+        protected Stretch initialValue() {
+            Stretch stretch = new Stretch(Thread.currentThread());
+            allStretches.add(stretch);
+            return stretch;
+        }
+    };
+
+    @Inject
+    public EventLoopMonitor(Vertx vertx, ConfigProvider configProvider) {
+        this(vertx,
+             configProvider.getInstance("eventLoop.monitor.enabled", Boolean.class),
+             configProvider.getInstance("eventLoop.monitor.threshold", Long.class),
+             configProvider.getInstance("eventLoop.monitor.sampleInterval", Long.class),
+             configProvider.getInstance("eventLoop.monitor.threadStateSampling", Boolean.class));
+    }
+
+    /**
+     * @param vertx the Vert.x instance, the sampler stops when it's closed
+     * @param enabled whether the routings are monitored
+     * @param thresholdMillis the stretches longer than it are slow
+     * @param sampleIntervalMillis the interval of sampling the event loops
+     * @param threadStateSampling whether the samples detect the handlers blocking the event loop
+     */
+    public EventLoopMonitor(Vertx vertx, boolean enabled, long thresholdMillis, long sampleIntervalMillis, boolean threadStateSampling) {
+        if (thresholdMillis <= 0 || sampleIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Invalid event loop monitor: threshold=" + thresholdMillis + ", sampleInterval=" + sampleIntervalMillis);
+        }
+        this.enabled = enabled;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.threadStateSampling = threadStateSampling;
+        if (enabled) {
+            Timer sampler = new Timer("forest-event-loop-monitor", true);
+            sampler.schedule(new TimerTask() {
+                @Override
+                public void run() {
+                    sample();
+                }
+            }, sampleIntervalMillis, sampleIntervalMillis);
+            ((VertxInternal) vertx).addCloseHook(promise -> {
+                sampler.cancel();
+                promise.complete();
+            });
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Routing to its event-loop time, only the routings which have run on an event loop are present.
+     */
+    public Map<Routing, RouteStats> getRoutes() {
+        return Collections.unmodifiableMap(routes);
+    }
+
+    /**
+     * Starts a stretch of the routing if it's on an event loop and not inside another stretch.
+     *
+     * @return the start time to be passed to {@link #exit(Routing, long)}, or 0 if the stretch is not monitored
+     */
+    public long enter(Routing routing) {
+        if (!enabled || !Context.isOnEventLoopThread()) {
+            return 0;
+        }
+        Stretch stretch = stretches.get();
+        if (stretch.routing != null) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        stretch.start(routing, start);
+        return start;
+    }
+
+    public void exit(Routing routing, long start) {
+        if (start == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        Stretch stretch = stretches.get();
+        StackTraceElement[] sampledStackTrace = stretch.end();
+        RouteStats stats = getStats(routing);
+        stats.record(elapsed);
+        if (elapsed > thresholdNanos) {
+            stats.slow.increment();
+            if (sampledStackTrace != null) {
+                stats.lastSlowStackTrace = sampledStackTrace;
+            }
+            LOGGER.warn("{} ran on event loop {} for {} ms, which exceeds the threshold {} ms",
+                        stats.name, stretch.thread.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed), TimeUnit.NANOSECONDS.toMillis(thresholdNanos),
+                        sampledStackTrace == null ? null : stackTraceOf("Stack trace sampled while running", sampledStackTrace));
+        }
+    }
+
+    private RouteStats getStats(Routing routing) {
+        return routes.computeIfAbsent(routing, RouteStats::new);
+    }
+
+    private void sample() {
+        long now = System.nanoTime();
+        for (Stretch stretch : allStretches) {
+            Routing routing = stretch.routing;
+            if (routing == null) {
+                continue;
+            }
+            long id = stretch.id;
+            boolean slow = now - stretch.startNanos > thresholdNanos && stretch.sampledStackTrace == null;
+            boolean checkBlocking = threadStateSampling && !routing.getInvocationPlan().isBlocking();
+            if (!slow && !checkBlocking) {
+                continue;
+            }
+            Thread.State state = stretch.thread.getState();
+            StackTraceElement[] stackTrace = stretch.thread.getStackTrace();
+            // The stretch may have ended while sampling, the stack trace belongs to something else then
+            if (stretch.id != id || stretch.routing != routing) {
+                continue;
+            }
+            if (slow) {
+                stretch.sampledStackTrace = stackTrace;
+            }
+            if (checkBlocking && isBlocking(state, stackTrace)) {
+                RouteStats stats = getStats(routing);
+                stats.blockingSamples.increment();
+                stats.lastBlockingStackTrace = stackTrace;
+                if (stats.blockingReported.compareAndSet(false, true)) {
+                    LOGGER.warn("{} blocks event loop {} in state {}, consider marking it with @Blocking",
+                                stats.name, stretch.thread.getName(), state, stackTraceOf("Stack trace sampled while blocking", stackTrace));
+                }
+            }
+        }
+    }
+
+    static boolean isBlocking(Thread.State state, StackTraceElement[] stackTrace) {
+        if (state == Thread.State.BLOCKED || state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING) {
+            return true;
+        }
+        if (stackTrace.length == 0 || !stackTrace[0].isNativeMethod()) {
+            return false;
+        }
+        for (String ioPackage : BLOCKING_IO_PACKAGES) {
+            if (stackTrace[0].getClassName().startsWith(ioPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable stackTraceOf(String message, StackTraceElement[] stackTrace) {
+        Throwable throwable = new Throwable(message);
+        throwable.setStackTrace(stackTrace);
+        return throwable;
+    }
+
+    /**
+     * The event-loop time of a routing.
+     */
+    public static final class RouteStats {
+        private final String name;
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length + 1];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder slow = new LongAdder();
+        private final LongAdder blockingSamples = new LongAdder();
+        private final AtomicBoolean blockingReported = new AtomicBoolean();
+        private volatile StackTraceElement[] lastSlowStackTrace;
+        private volatile StackTraceElement[] lastBlockingStackTrace;
+
+        private RouteStats(Routing routing) {
+            Method method = routing.getHandlerMethod();
+            this.name = routing.getType() + " " + routing.getMethods() + " " + routing.getPath()
+                + " (" + method.getDeclaringClass().getSimpleName() + "." + method.getName() + ")";
+            for (int i = 0; i < buckets.length; ++i) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) {
+                ++bucket;
+            }
+            buckets[bucket].increment();
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        /**
+         * The routing type, HTTP methods, path and handler method.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * The number of stretches in each bucket of {@link #BUCKET_BOUNDS_MICROS}, plus the unbounded bucket.
+         */
+        public long[] getBucketCounts() {
+            long[] ret = new long[buckets.length];
+            for (int i = 0; i < buckets.length; ++i) {
+                ret[i] = buckets[i].sum();
+            }
+            return ret;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * The number of stretches longer than the threshold.
+         */
+        public long getSlowCount() {
+            return slow.sum();
+        }
+
+        /**
+         * The number of samples which found the event loop blocked in this routing, always 0 without
+         * {@code threadStateSampling}.
+         */
+        public long getBlockingSampleCount() {
+            return blockingSamples.sum();
+        }
+
+        /**
+         * The stack trace sampled during the last slow stretch, or null if none was sampled.
+         */
+        public StackTraceElement[] getLastSlowStackTrace() {
+            return lastSlowStackTrace;
+        }
+
+        /**
+         * The stack trace of the last sample which found the event loop blocked, or null.
+         */
+        public StackTraceElement[] getLastBlockingStackTrace() {
+            return lastBlockingStackTrace;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * The stretch an event loop is running. It's only started and ended by the event loop, the volatiles are for
+     * the sampler.
+     */
+    private static final class Stretch {
+        private final Thread thread;
+        private volatile Routing routing;
+        private volatile long startNanos;
+        private volatile long id;
+        private volatile StackTraceElement[] sampledStackTrace;
+
+        private Stretch(Thread thread) {
+            this.thread = thread;
+        }
+
+        private void start(Routing routing, long startNanos) {
+            this.id++;
+            this.sampledStackTrace = null;
+            this.startNanos = startNanos;
+            this.routing = routing;
+        }
+
+        private StackTraceElement[] end() {
+            routing = null;
+            StackTraceElement[] ret = sampledStackTrace;
+            sampledStackTrace = null;
+            return ret;
+        }
+    }
+}
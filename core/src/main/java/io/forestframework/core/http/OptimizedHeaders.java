@@ -17,6 +17,9 @@ import static com.google.common.net.MediaType.PNG;
 public class OptimizedHeaders {
     public static final CharSequence HEADER_CONTENT_TYPE = HttpHeaders.createOptimized("content-type");
     public static final CharSequence HEADER_ACCEPT = HttpHeaders.createOptimized("accept");
+    public static final CharSequence HEADER_CONTENT_LENGTH = HttpHeaders.createOptimized("content-length");
+    public static final CharSequence HEADER_RETRY_AFTER = HttpHeaders.createOptimized("retry-after");
+    public static final CharSequence HEADER_TRANSFER_ENCODING = HttpHeaders.createOptimized("transfer-encoding");
     public static final CharSequence CONTENT_TYPE_TEXT_PLAIN = HttpHeaders.createOptimized(PLAIN_TEXT_UTF_8.toString());
     public static final CharSequence CONTENT_TYPE_TEXT_HTML = HttpHeaders.createOptimized(HTML_UTF_8.toString());
     public static final CharSequence CONTENT_TYPE_APPLICATION_JSON = HttpHeaders.createOptimized(JSON_UTF_8.toString());
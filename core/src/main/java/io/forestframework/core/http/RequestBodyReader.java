@@ -0,0 +1,25 @@
+package io.forestframework.core.http;
+
+import io.vertx.core.buffer.Buffer;
+import org.apiguardian.api.API;
+
+/**
+ * Consumes a request body chunk by chunk as it arrives, instead of aggregating it into one {@link Buffer} first.
+ * See {@link DefaultHttpRequest#readBody(RequestBodyReader)}.
+ *
+ * @param <T> the type of the value read from the body
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public interface RequestBodyReader<T> {
+    /**
+     * Called on every chunk of the body, in order. The chunk must not be retained after this method returns.
+     */
+    void handleChunk(Buffer chunk) throws Exception;
+
+    /**
+     * Called once the whole body has been passed to {@link #handleChunk(Buffer)}.
+     *
+     * @return the value read from the body
+     */
+    T end() throws Exception;
+}
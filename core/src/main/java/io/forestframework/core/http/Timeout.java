@@ -0,0 +1,27 @@
+package io.forestframework.core.http;
+
+import org.apiguardian.api.API;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The time budget of a routing handler, or of all the handlers in a class, e.g. {@code @Timeout("250ms")}. It
+ * overrides the global default {@code request.timeout}.
+ *
+ * The budget starts when the request arrives. If the pre-handlers and the handler don't finish in time, they're
+ * cancelled as if the client went away, see {@link CancellationToken}, and the request fails with 504, which is
+ * handled by the matching {@link io.forestframework.core.http.routing.OnError} handler as usual. The remaining
+ * budget can be injected as a {@link Deadline} parameter, to be passed on to the downstream calls.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public @interface Timeout {
+    /**
+     * The duration with a unit of ms, s, m or h, e.g. {@code 250ms}, {@code 5s}. {@code 0} for no timeout.
+     */
+    String value();
+}
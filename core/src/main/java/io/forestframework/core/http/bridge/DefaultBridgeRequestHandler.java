@@ -3,6 +3,7 @@ package io.forestframework.core.http.bridge;
 import com.google.inject.Injector;
 import io.forestframework.core.config.ConfigProvider;
 import io.forestframework.core.http.AbstractWebRequestHandler;
+import io.forestframework.core.http.EventLoopMonitor;
 import io.forestframework.core.http.HttpRequestHandler;
 import io.forestframework.core.http.routing.BridgeRouting;
 import io.forestframework.core.http.routing.DefaultRoutingManager;
@@ -35,8 +36,8 @@ public class DefaultBridgeRequestHandler extends AbstractWebRequestHandler imple
     private final ConfigProvider configProvider;
 
     @Inject
-    public DefaultBridgeRequestHandler(Vertx vertx, Injector injector, RoutingManager routingManager, ConfigProvider configProvider) {
-        super(vertx, injector);
+    public DefaultBridgeRequestHandler(Vertx vertx, Injector injector, RoutingManager routingManager, ConfigProvider configProvider, EventLoopMonitor eventLoopMonitor) {
+        super(vertx, injector, eventLoopMonitor);
         this.configProvider = configProvider;
         this.router = createRouter(vertx, routingManager);
     }
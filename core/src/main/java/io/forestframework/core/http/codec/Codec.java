@@ -0,0 +1,34 @@
+package io.forestframework.core.http.codec;
+
+import com.google.common.net.MediaType;
+import io.forestframework.core.http.HttpRequest;
+import io.forestframework.core.http.routing.Routing;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import org.apiguardian.api.API;
+
+/**
+ * Converts request bodies and handler results from/to one media type, e.g. JSON or CBOR.
+ *
+ * {@link io.forestframework.core.http.param.RequestBody} picks the codec by the request's Content-Type,
+ * {@link io.forestframework.core.http.result.ResponseBody} picks it by the request's Accept header and the routing's produces.
+ * Register your own codecs in {@link CodecRegistry}.
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+@SuppressWarnings("UnstableApiUsage")
+public interface Codec {
+    /**
+     * The media type of this codec, which is also the Content-Type of the responses it encodes.
+     */
+    MediaType getMediaType();
+
+    /**
+     * Decodes the body of the request into the given parameter of the routing's handler.
+     */
+    Future<Object> decode(HttpRequest request, Routing routing, int paramIndex);
+
+    /**
+     * Encodes the result of the routing's handler.
+     */
+    Buffer encode(Routing routing, Object result);
+}
@@ -0,0 +1,82 @@
+package io.forestframework.core.http.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.common.net.MediaType;
+import io.forestframework.core.modules.ObjectMapperProvider;
+import org.apiguardian.api.API;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The {@link Codec}s used by {@link io.forestframework.core.http.param.RequestBody} and
+ * {@link io.forestframework.core.http.result.ResponseBody}. JSON, CBOR and Smile are registered by default,
+ * JSON with the shared {@link ObjectMapper}.
+ *
+ * Codecs are looked up in registration order, so JSON is picked for wildcards like {@code Accept: *}{@code /*}.
+ */
+@Singleton
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+@SuppressWarnings("UnstableApiUsage")
+public class CodecRegistry {
+    public static final MediaType CBOR = MediaType.create("application", "cbor");
+    public static final MediaType SMILE = MediaType.create("application", "x-jackson-smile");
+
+    private final List<Codec> codecs = new CopyOnWriteArrayList<>();
+
+    @Inject
+    public CodecRegistry(ObjectMapper objectMapper, ObjectMapperProvider objectMapperProvider) {
+        register(new JacksonCodec(MediaType.JSON_UTF_8, objectMapper));
+        register(new JacksonCodec(CBOR, objectMapperProvider.create(new CBORFactory())));
+        register(new JacksonCodec(SMILE, objectMapperProvider.create(new SmileFactory())));
+    }
+
+    /**
+     * Registers a codec. It replaces the registered one of the same media type, if any.
+     */
+    public void register(Codec codec) {
+        MediaType mediaType = codec.getMediaType().withoutParameters();
+        for (int i = 0; i < codecs.size(); ++i) {
+            if (codecs.get(i).getMediaType().withoutParameters().equals(mediaType)) {
+                codecs.set(i, codec);
+                return;
+            }
+        }
+        codecs.add(codec);
+    }
+
+    /**
+     * Returns the first codec whose media type is within the range of the given media type, parameters ignored,
+     * or null if there is none.
+     */
+    public Codec getCodec(MediaType mediaType) {
+        MediaType range = mediaType.withoutParameters();
+        for (Codec codec : codecs) {
+            if (codec.getMediaType().withoutParameters().is(range)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the codec of the first media type which has one, or null if there is none.
+     */
+    public Codec getCodec(List<MediaType> mediaTypes) {
+        for (MediaType mediaType : mediaTypes) {
+            Codec ret = getCodec(mediaType);
+            if (ret != null) {
+                return ret;
+            }
+        }
+        return null;
+    }
+
+    public Codec getJsonCodec() {
+        return getCodec(MediaType.JSON_UTF_8);
+    }
+}
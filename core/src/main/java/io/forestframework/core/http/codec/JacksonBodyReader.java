@@ -0,0 +1,147 @@
+package io.forestframework.core.http.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.forestframework.core.http.DefaultHttpRequest;
+import io.forestframework.core.http.HttpRequest;
+import io.forestframework.core.http.RequestBodyReader;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses a request body with Jackson's non-blocking parser while its chunks arrive, so the body is never
+ * aggregated into one buffer. Only formats whose factory can parse asynchronously, e.g. JSON and Smile, are
+ * streamed, see {@link #read(HttpRequest, Readers)}.
+ *
+ * The tokens are copied into a {@link TokenBuffer} and bound to the target type at the end. If the body is an array
+ * and the target type is an array or a list, each element is bound as soon as its tokens are complete, so only the
+ * tokens of one element are buffered at a time.
+ */
+class JacksonBodyReader implements RequestBodyReader<Object> {
+    private final Readers readers;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private TokenBuffer tokens;
+    // Not null if the elements of the root array are bound one by one
+    private List<Object> elements;
+    private int depth;
+
+    JacksonBodyReader(Readers readers) throws IOException {
+        this.readers = readers;
+        this.parser = readers.reader.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.tokens = new TokenBuffer(readers.reader, false);
+    }
+
+    /**
+     * Reads the body of the request into the type of the readers, streaming it if the format allows.
+     */
+    static Future<Object> read(HttpRequest request, Readers readers) {
+        if (request instanceof DefaultHttpRequest && readers.reader.getFactory().canParseAsync()) {
+            // Parse the chunks as they arrive instead of aggregating the body first
+            try {
+                return ((DefaultHttpRequest) request).readBody(new JacksonBodyReader(readers));
+            } catch (IOException e) {
+                return Future.failedFuture(e);
+            }
+        }
+        return request.body().map((Buffer buffer) -> {
+            try {
+                return readers.reader.readValue((InputStream) new ByteBufInputStream(buffer.getByteBuf()));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    @Override
+    public void handleChunk(Buffer chunk) throws IOException {
+        if (chunk.length() == 0) {
+            return;
+        }
+        ByteBuf byteBuf = chunk.getByteBuf();
+        if (byteBuf.hasArray()) {
+            int start = byteBuf.arrayOffset() + byteBuf.readerIndex();
+            feeder.feedInput(byteBuf.array(), start, start + byteBuf.readableBytes());
+        } else {
+            feeder.feedInput(chunk.getBytes(), 0, chunk.length());
+        }
+        drainTokens();
+    }
+
+    @Override
+    public Object end() throws IOException {
+        feeder.endOfInput();
+        drainTokens();
+        parser.close();
+        if (elements == null) {
+            return readers.reader.readValue(tokens.asParser());
+        } else if (readers.type.isArrayType()) {
+            Object array = Array.newInstance(readers.type.getContentType().getRawClass(), elements.size());
+            for (int i = 0; i < elements.size(); ++i) {
+                Array.set(array, i, elements.get(i));
+            }
+            return array;
+        } else {
+            return elements;
+        }
+    }
+
+    private void drainTokens() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (elements == null && token == JsonToken.START_ARRAY && depth == 0 && tokens.firstToken() == null && readers.elementReader != null) {
+                elements = new ArrayList<>();
+                continue;
+            }
+            if (elements != null && depth == 0 && token == JsonToken.END_ARRAY) {
+                continue;
+            }
+            tokens.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                ++depth;
+            } else if (token.isStructEnd()) {
+                --depth;
+            }
+            if (elements != null && depth == 0) {
+                elements.add(readers.elementReader.readValue(tokens.asParser()));
+                tokens = new TokenBuffer(readers.reader, false);
+            }
+        }
+    }
+
+    /**
+     * The {@link ObjectReader}s of a body parameter, created once per parameter from its generic type.
+     */
+    static final class Readers {
+        private final JavaType type;
+        private final ObjectReader reader;
+        // Not null if the parameter is an array or a list, whose elements can be bound one by one
+        private final ObjectReader elementReader;
+
+        Readers(ObjectMapper objectMapper, Type type) {
+            this.type = objectMapper.getTypeFactory().constructType(type);
+            this.reader = objectMapper.readerFor(this.type);
+            this.elementReader = canBindElements(this.type) ? objectMapper.readerFor(this.type.getContentType()) : null;
+        }
+
+        private static boolean canBindElements(JavaType type) {
+            return type.isArrayType()
+                || (type.isCollectionLikeType() && type.getRawClass().isAssignableFrom(ArrayList.class));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.forestframework.core.http.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.net.MediaType;
+import io.forestframework.core.http.HttpRequest;
+import io.forestframework.core.http.routing.Routing;
+import io.forestframework.core.http.routing.RoutingInvocationPlan;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import org.apiguardian.api.API;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link Codec} backed by an {@link ObjectMapper}, whose factory decides the format: JSON, CBOR, Smile,
+ * or any other Jackson dataformat. The body is streamed into the parameter if the factory can parse asynchronously,
+ * otherwise it's aggregated first.
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+@SuppressWarnings("UnstableApiUsage")
+public class JacksonCodec implements Codec {
+    private final MediaType mediaType;
+    private final ObjectMapper objectMapper;
+    // Creates the readers of a body parameter, which are kept by its RoutingInvocationPlan
+    private final RoutingInvocationPlan.ParameterValueFactory<JacksonBodyReader.Readers> readers;
+    private final Map<Routing, JacksonResultWriter> writers = new ConcurrentHashMap<>();
+
+    public JacksonCodec(MediaType mediaType, ObjectMapper objectMapper) {
+        this.mediaType = mediaType;
+        this.objectMapper = objectMapper;
+        this.readers = (plan, index) -> new JacksonBodyReader.Readers(objectMapper, plan.getGenericParameterType(index));
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public Future<Object> decode(HttpRequest request, Routing routing, int paramIndex) {
+        return JacksonBodyReader.read(request, routing.getInvocationPlan().getParameterValue(paramIndex, readers));
+    }
+
+    @Override
+    public Buffer encode(Routing routing, Object result) {
+        JacksonResultWriter writer = writers.get(routing);
+        if (writer == null) {
+            writer = writers.computeIfAbsent(routing, r -> new JacksonResultWriter(objectMapper, objectMapper.writer(), r));
+        }
+        return writer.write(result);
+    }
+}
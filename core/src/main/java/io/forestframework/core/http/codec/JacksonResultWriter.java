@@ -0,0 +1,70 @@
+package io.forestframework.core.http.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.forestframework.core.http.routing.Routing;
+import io.forestframework.core.http.routing.RoutingInvocationPlan;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import org.apiguardian.api.API;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The {@link ObjectWriter}s of a routing, which serialize the result straight into bytes, without
+ * an intermediate {@link String}. The writer typed by the handler's generic return type is used when the result
+ * is an instance of it. The buffer is pre-sized from the moving average of the recent results' sizes.
+ */
+@API(status = API.Status.INTERNAL, since = "0.3")
+public final class JacksonResultWriter {
+    private static final int INITIAL_SIZE_ESTIMATE = 256;
+    private final ObjectWriter untypedWriter;
+    private final ObjectWriter typedWriter;
+    private final Class<?> resultClass;
+    // Exponential moving average, racy updates only make the estimate a little off
+    private volatile int averageSize = INITIAL_SIZE_ESTIMATE;
+
+    public JacksonResultWriter(ObjectMapper objectMapper, ObjectWriter untypedWriter, Routing routing) {
+        JavaType resultType = getResultType(objectMapper, routing);
+        this.untypedWriter = untypedWriter;
+        this.typedWriter = resultType == null ? null : untypedWriter.forType(resultType);
+        this.resultClass = resultType == null ? null : resultType.getRawClass();
+    }
+
+    /**
+     * The generic return type of the handler, e.g. {@code List<World>}, or null if it isn't the type of the
+     * result: the result of an asynchronous handler is the value its future completes with.
+     */
+    private static JavaType getResultType(ObjectMapper objectMapper, Routing routing) {
+        RoutingInvocationPlan plan = routing.getInvocationPlan();
+        Class<?> rawType = plan.getHandlerMethod().getReturnType();
+        if (plan.isKotlinSuspendFunction()
+            || rawType == Object.class
+            || rawType == void.class
+            || Future.class.isAssignableFrom(rawType)
+            || CompletionStage.class.isAssignableFrom(rawType)) {
+            return null;
+        }
+        return objectMapper.getTypeFactory().constructType(plan.getHandlerMethod().getGenericReturnType());
+    }
+
+    public Buffer write(Object value) {
+        ObjectWriter objectWriter = typedWriter != null && resultClass.isInstance(value) ? typedWriter : untypedWriter;
+        int estimate = averageSize;
+        // Leave some headroom so an average-sized result doesn't need to grow the buffer
+        ByteBuf byteBuf = Unpooled.buffer(estimate + (estimate >> 2));
+        try {
+            objectWriter.writeValue((OutputStream) new ByteBufOutputStream(byteBuf), value);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        averageSize = estimate + ((byteBuf.readableBytes() - estimate) >> 3);
+        return Buffer.buffer(byteBuf);
+    }
+}
@@ -1,20 +1,37 @@
 package io.forestframework.core.http.param;
 
-import com.google.common.collect.ImmutableMap;
+import com.google.common.net.MediaType;
+import io.forestframework.core.http.DefaultHttpRequest;
 import io.forestframework.core.http.HttpContext;
+import io.forestframework.core.http.HttpException;
+import io.forestframework.core.http.HttpRequest;
+import io.forestframework.core.http.HttpStatusCode;
+import io.forestframework.core.http.OptimizedHeaders;
+import io.forestframework.core.http.codec.Codec;
+import io.forestframework.core.http.codec.CodecRegistry;
+import io.forestframework.core.http.routing.PlainHttpRoutingMatchResult;
 import io.forestframework.core.http.routing.Routing;
+import io.forestframework.core.http.routing.RoutingMatchResult;
+import io.vertx.core.buffer.Buffer;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.Map;
 
+/**
+ * Decodes the request body with the {@link Codec} of the request's Content-Type, JSON if there is none.
+ * Forms are read by {@link FormRequestBodyParser}. Responds 415 if no codec is registered for the Content-Type.
+ */
 @Singleton
+@SuppressWarnings("UnstableApiUsage")
 public class ContentTypeNegotiatingRequestBodyParser implements ContentTypeAwareRoutingParameterResolver {
-    private final Map<String, ContentTypeAwareRoutingParameterResolver> requestBodyParsers;
+    private static final MediaType MULTIPART_FORM_DATA = MediaType.create("multipart", "form-data");
+    private final CodecRegistry codecRegistry;
+    private final FormRequestBodyParser formRequestBodyParser;
 
     @Inject
-    public ContentTypeNegotiatingRequestBodyParser(JsonRequestBodyParser jsonRequestBodyParser) {
-        this.requestBodyParsers = ImmutableMap.of(jsonRequestBodyParser.contentType(), jsonRequestBodyParser);
+    public ContentTypeNegotiatingRequestBodyParser(CodecRegistry codecRegistry, FormRequestBodyParser formRequestBodyParser) {
+        this.codecRegistry = codecRegistry;
+        this.formRequestBodyParser = formRequestBodyParser;
     }
 
     @Override
@@ -24,12 +41,39 @@ public class ContentTypeNegotiatingRequestBodyParser implements ContentTypeAware
 
     @Override
     public Object resolveParameter(HttpContext context, Routing routing, int paramIndex) {
-//        MediaType contentType = MediaType.parse(((HttpContext) context).request().getHeader(OptimizedHeaders.HEADER_CONTENT_TYPE));
-//        ContentTypeAwareRoutingParameterResolver<?> parser = requestBodyParsers.get(contentType.);
-//        if (parser == null) {
-//            throw new UnsupportedOperationException("Can't find parser to process " + contentType);
-//        }
-//        return parser.resolveParameter(context, routing, paramIndex);
-        return null;
+        Class<?> paramType = routing.getInvocationPlan().getParameterType(paramIndex);
+        if (paramType == String.class) {
+            return context.request().body().map(Buffer::toString);
+        } else if (paramType == Buffer.class) {
+            return context.request().body();
+        }
+        MediaType contentType = getContentType(context.request());
+        if (isForm(contentType)) {
+            return formRequestBodyParser.resolveParameter(context, routing, paramIndex);
+        }
+        Codec codec = contentType.equals(MediaType.ANY_TYPE) ? codecRegistry.getJsonCodec() : codecRegistry.getCodec(contentType);
+        if (codec == null) {
+            throw new HttpException(HttpStatusCode.UNSUPPORTED_MEDIA_TYPE, "Can't find codec to decode " + contentType + ", request path: " + context.request().path());
+        }
+        return codec.decode(context.request(), routing, paramIndex);
+    }
+
+    private static boolean isForm(MediaType contentType) {
+        MediaType mediaType = contentType.withoutParameters();
+        return mediaType.equals(MediaType.FORM_DATA) || mediaType.equals(MULTIPART_FORM_DATA);
+    }
+
+    private static MediaType getContentType(HttpRequest request) {
+        RoutingMatchResult matchResult = request instanceof DefaultHttpRequest ? ((DefaultHttpRequest) request).getRoutingMatchResult() : null;
+        if (matchResult instanceof PlainHttpRoutingMatchResult) {
+            // Already parsed when the routings were matched
+            return ((PlainHttpRoutingMatchResult) matchResult).getRequestContentType(request);
+        }
+        String contentType = request.getHeader(OptimizedHeaders.HEADER_CONTENT_TYPE);
+        try {
+            return contentType == null ? MediaType.ANY_TYPE : MediaType.parse(contentType);
+        } catch (IllegalArgumentException e) {
+            throw new HttpException(HttpStatusCode.BAD_REQUEST, "Can't parse media type from request " + request.path() + ": " + contentType);
+        }
     }
 }
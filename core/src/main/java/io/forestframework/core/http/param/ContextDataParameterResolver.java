@@ -5,14 +5,12 @@ import io.forestframework.core.http.routing.Routing;
 
 import javax.inject.Singleton;
 
-import static com.github.blindpirate.annotationmagic.AnnotationMagic.getOneAnnotationOnMethodParameterOrNull;
-
 @Singleton
 public class ContextDataParameterResolver implements RoutingParameterResolver<WebContext> {
     @Override
     public Object resolveParameter(WebContext context, Routing routing, int paramIndex) {
-        ContextData anno = getOneAnnotationOnMethodParameterOrNull(routing.getHandlerMethod(), paramIndex, ContextData.class);
-        Class<?> parameterType = routing.getHandlerMethod().getParameterTypes()[paramIndex];
+        ContextData anno = routing.getInvocationPlan().getParameterAnnotation(paramIndex, ContextData.class);
+        Class<?> parameterType = routing.getInvocationPlan().getParameterType(paramIndex);
         return parameterType.cast(context.get(anno.value()));
     }
 }
@@ -5,13 +5,11 @@ import io.forestframework.core.http.routing.Routing;
 
 import javax.inject.Singleton;
 
-import static com.github.blindpirate.annotationmagic.AnnotationMagic.getOneAnnotationOnMethodParameterOrNull;
-
 @Singleton
 public class CookieParameterResolver implements RoutingParameterResolver<WebContext> {
     @Override
     public Object resolveParameter(WebContext context, Routing routing, int paramIndex) {
-        Cookie anno = getOneAnnotationOnMethodParameterOrNull(routing.getHandlerMethod(), paramIndex, Cookie.class);
+        Cookie anno = routing.getInvocationPlan().getParameterAnnotation(paramIndex, Cookie.class);
         io.vertx.core.http.Cookie cookie = context.request().getCookie(anno.value());
         return cookie == null ? null : cookie.getValue();
     }
@@ -0,0 +1,45 @@
+package io.forestframework.core.http.param;
+
+import java.util.List;
+
+class DefaultForm<T> implements Form<T> {
+    private final T data;
+    private final List<String> errors;
+    private final List<FormFile> files;
+
+    DefaultForm(T data, List<String> errors, List<FormFile> files) {
+        this.data = data;
+        this.errors = errors;
+        this.files = files;
+    }
+
+    @Override
+    public T getData() {
+        return data;
+    }
+
+    @Override
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    @Override
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public List<FormFile> getFiles() {
+        return files;
+    }
+
+    @Override
+    public FormFile getFile(String name) {
+        for (FormFile file : files) {
+            if (file.getName().equals(name)) {
+                return file;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,56 @@
+package io.forestframework.core.http.param;
+
+import io.vertx.core.buffer.Buffer;
+
+class DefaultFormFile implements FormFile {
+    private final String name;
+    private final String fileName;
+    private final String contentType;
+    private final long size;
+    private final Buffer buffer;
+    private final String path;
+
+    DefaultFormFile(String name, String fileName, String contentType, long size, Buffer buffer, String path) {
+        this.name = name;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.size = size;
+        this.buffer = buffer;
+        this.path = path;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getFileName() {
+        return fileName;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean isInMemory() {
+        return path == null;
+    }
+
+    @Override
+    public Buffer getBuffer() {
+        return buffer;
+    }
+
+    @Override
+    public String getPath() {
+        return path;
+    }
+}
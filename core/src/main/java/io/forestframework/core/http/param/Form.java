@@ -1,7 +1,32 @@
 package io.forestframework.core.http.param;
 
+import java.util.List;
+
+/**
+ * A url-encoded or multipart form, read by {@link FormRequestBodyParser}.
+ *
+ * @param <T> the type the form attributes are bound to
+ */
 public interface Form<T> {
+    /**
+     * The form attributes bound to {@code T}, or null if binding failed.
+     */
     T getData();
 
     boolean hasErrors();
+
+    /**
+     * The errors of binding the form attributes, empty if there are none.
+     */
+    List<String> getErrors();
+
+    /**
+     * The uploaded files, in the order of the multipart body.
+     */
+    List<FormFile> getFiles();
+
+    /**
+     * The first uploaded file of the form field, or null if there is none.
+     */
+    FormFile getFile(String name);
 }
@@ -0,0 +1,38 @@
+package io.forestframework.core.http.param;
+
+import io.vertx.core.buffer.Buffer;
+import org.apiguardian.api.API;
+
+/**
+ * A file uploaded in a multipart form. Small files are kept in memory, larger ones are spilled to a temporary
+ * file as they arrive, see {@code request.form.memoryThreshold}. Spilled files are deleted once the request
+ * has been handled, move them if you want to keep them.
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public interface FormFile {
+    /**
+     * The name of the form field.
+     */
+    String getName();
+
+    /**
+     * The file name sent by the client.
+     */
+    String getFileName();
+
+    String getContentType();
+
+    long getSize();
+
+    boolean isInMemory();
+
+    /**
+     * The content of the file if it's in memory, otherwise null.
+     */
+    Buffer getBuffer();
+
+    /**
+     * The path of the spilled file if it's not in memory, otherwise null.
+     */
+    String getPath();
+}
@@ -0,0 +1,157 @@
+package io.forestframework.core.http.param;
+
+import io.forestframework.core.http.DefaultHttpRequest;
+import io.forestframework.core.http.HttpException;
+import io.forestframework.core.http.HttpStatusCode;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpServerFileUpload;
+
+import java.io.File;
+import java.util.UUID;
+
+/**
+ * Receives one uploaded file as its chunks arrive. The chunks are kept in memory until they exceed the memory
+ * threshold, then they are written to a new file in the upload directory, with backpressure on the upload.
+ * The file is deleted once the request has been handled, whether the upload completed, failed or was abandoned.
+ */
+class FormFileReceiver implements Handler<Buffer> {
+    private final Vertx vertx;
+    private final DefaultHttpRequest request;
+    private final HttpServerFileUpload upload;
+    private final FormRequestBodyParser.Limits limits;
+    private final Promise<FormFile> promise = Promise.promise();
+    private Buffer memory = Buffer.buffer();
+    private long size;
+    private String path;
+    private AsyncFile file;
+    private Future<Void> fileClosed;
+    private boolean ended;
+    private boolean released;
+    private boolean deleted;
+
+    FormFileReceiver(Vertx vertx, DefaultHttpRequest request, HttpServerFileUpload upload, FormRequestBodyParser.Limits limits) {
+        this.vertx = vertx;
+        this.request = request;
+        this.upload = upload;
+        this.limits = limits;
+        upload.handler(this);
+        upload.endHandler(v -> onEnd());
+        upload.exceptionHandler(this::fail);
+    }
+
+    Future<FormFile> future() {
+        return promise.future();
+    }
+
+    @Override
+    public void handle(Buffer chunk) {
+        if (promise.future().isComplete()) {
+            return;
+        }
+        size += chunk.length();
+        if (limits.maxFileSize >= 0 && size > limits.maxFileSize) {
+            fail(new HttpException(HttpStatusCode.REQUEST_TOO_LONG, "Uploaded file " + upload.filename() + " exceeds " + limits.maxFileSize + " bytes"));
+        } else if (file != null) {
+            file.write(chunk);
+            if (file.writeQueueFull()) {
+                upload.pause();
+                file.drainHandler(v -> upload.resume());
+            }
+        } else {
+            memory.appendBuffer(chunk);
+            if (path == null && memory.length() > limits.memoryThreshold) {
+                spill();
+            }
+        }
+    }
+
+    private void spill() {
+        // Chunks arriving while the file is being opened are buffered by the upload
+        upload.pause();
+        path = limits.uploadDirectory + File.separator + UUID.randomUUID();
+        request.addBodyReleaseHook(this::release);
+        vertx.fileSystem()
+             .mkdirs(limits.uploadDirectory)
+             .compose(v -> vertx.fileSystem().open(path, new OpenOptions().setWrite(true).setCreateNew(true)))
+             .onSuccess(this::onFileOpened)
+             .onFailure(this::fail);
+    }
+
+    private void onFileOpened(AsyncFile openedFile) {
+        file = openedFile;
+        if (released || promise.future().isComplete()) {
+            deleteFile();
+            return;
+        }
+        file.write(memory);
+        memory = null;
+        if (ended) {
+            closeFile();
+        } else {
+            upload.resume();
+        }
+    }
+
+    private void onEnd() {
+        ended = true;
+        if (promise.future().isComplete()) {
+            return;
+        }
+        if (file != null) {
+            closeFile();
+        } else if (path == null) {
+            promise.tryComplete(new DefaultFormFile(upload.name(), upload.filename(), upload.contentType(), size, memory, null));
+        }
+        // Otherwise the file is being opened, it's closed once opened
+    }
+
+    private void closeFile() {
+        close().onSuccess(v -> {
+            if (released || !promise.tryComplete(new DefaultFormFile(upload.name(), upload.filename(), upload.contentType(), size, null, path))) {
+                deleteFile();
+            }
+        }).onFailure(this::fail);
+    }
+
+    // The request has been handled, the upload is abandoned if it's still in progress
+    private void release() {
+        released = true;
+        fail(new IllegalStateException("Request has been handled before the upload of " + upload.filename() + " completed"));
+        if (file != null) {
+            deleteFile();
+        }
+        // Otherwise the file is being opened, it's deleted once opened
+    }
+
+    private void fail(Throwable e) {
+        if (promise.tryFail(e)) {
+            memory = null;
+            // Drop the rest of the upload instead of stalling the request
+            upload.resume();
+            if (file != null) {
+                deleteFile();
+            }
+        }
+    }
+
+    private void deleteFile() {
+        if (!deleted) {
+            deleted = true;
+            close().onComplete(v -> vertx.fileSystem().delete(path));
+        }
+    }
+
+    // AsyncFile can't be closed twice
+    private Future<Void> close() {
+        if (fileClosed == null) {
+            fileClosed = file.close();
+        }
+        return fileClosed;
+    }
+}
@@ -0,0 +1,21 @@
+package io.forestframework.core.http.param;
+
+import com.github.blindpirate.annotationmagic.Extends;
+import org.apiguardian.api.API;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a url-encoded or multipart form body to the parameter, which is either a {@link Form} or the type
+ * the attributes are bound to. {@link Form} parameters don't need this annotation.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Extends(ParameterResolver.class)
+@ParameterResolver(resolver = FormRequestBodyParser.class)
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public @interface FormRequestBody {
+}
@@ -1,10 +1,172 @@
 package io.forestframework.core.http.param;
 
-public class FormRequestBodyParser {
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.forestframework.core.config.ConfigProvider;
+import io.forestframework.core.http.DefaultHttpRequest;
+import io.forestframework.core.http.HttpContext;
+import io.forestframework.core.http.HttpException;
+import io.forestframework.core.http.HttpStatusCode;
+import io.forestframework.core.http.routing.Routing;
+import io.forestframework.core.http.routing.RoutingInvocationPlan;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerFileUpload;
+import org.apache.commons.lang3.StringUtils;
+import org.apiguardian.api.API;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a url-encoded or multipart form body as it arrives, without aggregating it. The attributes are bound
+ * straight to the target type, uploaded files are kept in memory or spilled to disk, see {@link FormFile}.
+ *
+ * The per-request limits are configured with:
+ *
+ * <ol>
+ *     <li>{@code request.form.memoryThreshold}: max bytes of an uploaded file kept in memory.</li>
+ *     <li>{@code request.form.maxFileSize}: max bytes of an uploaded file, -1 for unlimited.</li>
+ *     <li>{@code request.form.maxFiles}: max number of uploaded files, -1 for unlimited.</li>
+ *     <li>{@code request.form.uploadDirectory}: where files are spilled, {@code forest-uploads} in the temporary directory by default.</li>
+ * </ol>
+ *
+ * Exceeding a limit responds 413.
+ */
+@Singleton
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public class FormRequestBodyParser implements ContentTypeAwareRoutingParameterResolver {
+    private final Vertx vertx;
+    private final ObjectMapper objectMapper;
+    private final Limits limits;
+    // Creates the reader of a form parameter, which is kept by its RoutingInvocationPlan
+    private final RoutingInvocationPlan.ParameterValueFactory<ObjectReader> readers = this::createReader;
+
+    @Inject
+    public FormRequestBodyParser(Vertx vertx, ObjectMapper objectMapper, ConfigProvider configProvider) {
+        this(vertx, objectMapper, new Limits(configProvider.getInstance("request.form.memoryThreshold", Integer.class),
+                                             configProvider.getInstance("request.form.maxFileSize", Long.class),
+                                             configProvider.getInstance("request.form.maxFiles", Integer.class),
+                                             configProvider.getInstance("request.form.uploadDirectory", String.class)));
+    }
+
+    FormRequestBodyParser(Vertx vertx, ObjectMapper objectMapper, Limits limits) {
+        this.vertx = vertx;
+        this.objectMapper = objectMapper;
+        this.limits = limits;
+    }
+
+    @Override
+    public String contentType() {
+        return "multipart/form-data";
+    }
+
+    @Override
+    public Object resolveParameter(HttpContext context, Routing routing, int paramIndex) {
+        DefaultHttpRequest request = (DefaultHttpRequest) context.request();
+        List<Future<FormFile>> files = new ArrayList<>();
+        return request.readForm(upload -> files.add(receive(request, upload, files.size())))
+                      // CompositeFuture takes a raw List<Future>
+                      .compose(attributes -> CompositeFuture.join(new ArrayList<>(files)).transform(ar -> {
+                          if (ar.failed()) {
+                              return Future.failedFuture(ar.cause());
+                          }
+                          List<FormFile> formFiles = files.stream()
+                                                          .map(Future::result)
+                                                          .collect(Collectors.toList());
+                          return Future.succeededFuture(bind(routing, paramIndex, attributes, formFiles));
+                      }));
+    }
+
+    private Future<FormFile> receive(DefaultHttpRequest request, HttpServerFileUpload upload, int index) {
+        if (limits.maxFiles >= 0 && index >= limits.maxFiles) {
+            return Future.failedFuture(new HttpException(HttpStatusCode.REQUEST_TOO_LONG, "Uploaded files exceed " + limits.maxFiles));
+        }
+        return new FormFileReceiver(vertx, request, upload, limits).future();
+    }
+
+    private Object bind(Routing routing, int paramIndex, MultiMap attributes, List<FormFile> files) {
+        boolean form = routing.getInvocationPlan().getParameterType(paramIndex) == Form.class;
+        Object data;
+        try {
+            data = routing.getInvocationPlan().getParameterValue(paramIndex, readers).readValue(toTokens(attributes).asParser());
+        } catch (IOException e) {
+            if (!form) {
+                throw new HttpException(HttpStatusCode.BAD_REQUEST, "Can't bind form: " + e.getMessage());
+            }
+            return new DefaultForm<>(null, Collections.singletonList(e.getMessage()), files);
+        }
+        return form ? new DefaultForm<>(data, Collections.emptyList(), files) : data;
+    }
+
+    /**
+     * The attributes as a JSON object, an attribute with multiple values as an array.
+     */
+    private TokenBuffer toTokens(MultiMap attributes) throws IOException {
+        TokenBuffer tokens = new TokenBuffer(objectMapper, false);
+        tokens.writeStartObject();
+        for (String name : attributes.names()) {
+            List<String> values = attributes.getAll(name);
+            tokens.writeFieldName(name);
+            if (values.size() == 1) {
+                tokens.writeString(values.get(0));
+            } else {
+                tokens.writeStartArray();
+                for (String value : values) {
+                    tokens.writeString(value);
+                }
+                tokens.writeEndArray();
+            }
+        }
+        tokens.writeEndObject();
+        return tokens;
+    }
+
+    private ObjectReader createReader(RoutingInvocationPlan plan, int paramIndex) {
+        return objectMapper.readerFor(getDataType(plan, paramIndex))
+                           .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                           .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+                           .with(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+    }
+
+    /**
+     * {@code T} of a {@code Form<T>} parameter, or the type of the parameter itself.
+     */
+    private JavaType getDataType(RoutingInvocationPlan plan, int paramIndex) {
+        Type type = plan.getGenericParameterType(paramIndex);
+        if (plan.getParameterType(paramIndex) == Form.class) {
+            type = type instanceof ParameterizedType ? ((ParameterizedType) type).getActualTypeArguments()[0] : Map.class;
+        }
+        return objectMapper.getTypeFactory().constructType(type);
+    }
+
+    static final class Limits {
+        final int memoryThreshold;
+        final long maxFileSize;
+        final int maxFiles;
+        final String uploadDirectory;
+
+        Limits(int memoryThreshold, long maxFileSize, int maxFiles, String uploadDirectory) {
+            this.memoryThreshold = memoryThreshold;
+            this.maxFileSize = maxFileSize;
+            this.maxFiles = maxFiles;
+            this.uploadDirectory = StringUtils.isBlank(uploadDirectory)
+                ? System.getProperty("java.io.tmpdir") + File.separator + "forest-uploads"
+                : uploadDirectory;
+        }
+    }
 }
-//        implements ContentTypeNegotiatingRequestBodyParser<Form<?>> {
-//    @Override
-//    public Form<?> readRequestBody(RoutingContext context, Class<?> argumentClass) {
-//        return null;
-//    }
-//}
@@ -5,13 +5,11 @@ import io.forestframework.core.http.routing.Routing;
 
 import javax.inject.Singleton;
 
-import static com.github.blindpirate.annotationmagic.AnnotationMagic.getOneAnnotationOnMethodParameterOrNull;
-
 @Singleton
 class HeaderParameterResolver implements RoutingParameterResolver<WebContext> {
     @Override
     public Object resolveParameter(WebContext context, Routing routing, int paramIndex) {
-        Header anno = getOneAnnotationOnMethodParameterOrNull(routing.getHandlerMethod(), paramIndex, Header.class);
+        Header anno = routing.getInvocationPlan().getParameterAnnotation(paramIndex, Header.class);
         return context.request().getHeader(anno.value());
     }
 }
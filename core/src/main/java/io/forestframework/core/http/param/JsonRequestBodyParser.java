@@ -1,21 +1,25 @@
 package io.forestframework.core.http.param;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.net.MediaType;
 import io.forestframework.core.http.HttpContext;
 import io.forestframework.core.http.OptimizedHeaders;
+import io.forestframework.core.http.codec.Codec;
+import io.forestframework.core.http.codec.CodecRegistry;
 import io.forestframework.core.http.routing.Routing;
-import io.netty.buffer.ByteBufInputStream;
 import io.vertx.core.buffer.Buffer;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.io.IOException;
-import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 @Singleton
 public class JsonRequestBodyParser implements ContentTypeAwareRoutingParameterResolver {
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Codec jsonCodec;
+
+    @Inject
+    public JsonRequestBodyParser(CodecRegistry codecRegistry) {
+        this.jsonCodec = codecRegistry.getJsonCodec();
+    }
 
     @Override
     public String contentType() {
@@ -33,18 +37,12 @@ public class JsonRequestBodyParser implements ContentTypeAwareRoutingParameterRe
             }
         }
 
-        Class<?> paramType = routing.getHandlerMethod().getParameterTypes()[paramIndex];
+        Class<?> paramType = routing.getInvocationPlan().getParameterType(paramIndex);
         if (paramType == String.class) {
             return context.request().body().map(Buffer::toString);
         } else if (paramType == Buffer.class) {
             return context.request().body();
         }
-        return context.request().body().map((Buffer buffer) -> {
-            try {
-                return objectMapper.readValue((InputStream) new ByteBufInputStream(buffer.getByteBuf()), paramType);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        });
+        return jsonCodec.decode(context.request(), routing, paramIndex);
     }
 }
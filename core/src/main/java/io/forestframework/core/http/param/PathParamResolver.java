@@ -1,6 +1,5 @@
 package io.forestframework.core.http.param;
 
-import com.github.blindpirate.annotationmagic.AnnotationMagic;
 import io.forestframework.core.config.Converter;
 import io.forestframework.core.http.WebContext;
 import io.forestframework.core.http.routing.Routing;
@@ -18,9 +17,9 @@ public class PathParamResolver implements RoutingParameterResolver<WebContext> {
     @SuppressWarnings("unchecked")
     @Override
     public Object resolveParameter(WebContext context, Routing routing, int paramIndex) {
-        PathParam pathParam = AnnotationMagic.getOneAnnotationOnMethodParameterOrNull(routing.getHandlerMethod(), paramIndex, PathParam.class);
+        PathParam pathParam = routing.getInvocationPlan().getParameterAnnotation(paramIndex, PathParam.class);
 
-        Class<?> paramType = routing.getHandlerMethod().getParameterTypes()[paramIndex];
+        Class<?> paramType = routing.getInvocationPlan().getParameterType(paramIndex);
         return Converter.getDefaultConverter().convert(context.pathParam(pathParam.value()), String.class, paramType);
     }
 }
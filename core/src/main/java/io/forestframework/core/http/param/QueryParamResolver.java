@@ -1,6 +1,5 @@
 package io.forestframework.core.http.param;
 
-import com.github.blindpirate.annotationmagic.AnnotationMagic;
 import io.forestframework.core.config.Converter;
 import io.forestframework.core.http.HttpContext;
 import io.forestframework.core.http.routing.Routing;
@@ -12,8 +11,8 @@ public class QueryParamResolver implements RoutingParameterResolver<HttpContext>
     @SuppressWarnings("unchecked")
     @Override
     public Object resolveParameter(HttpContext context, Routing routing, int paramIndex) {
-        QueryParam anno = AnnotationMagic.getOneAnnotationOnMethodParameterOrNull(routing.getHandlerMethod(), paramIndex, QueryParam.class);
-        Class<?> paramType = routing.getHandlerMethod().getParameterTypes()[paramIndex];
+        QueryParam anno = routing.getInvocationPlan().getParameterAnnotation(paramIndex, QueryParam.class);
+        Class<?> paramType = routing.getInvocationPlan().getParameterType(paramIndex);
 
         String param = context.request().getParam(anno.value());
         if (param == null) {
@@ -1,4 +1,57 @@
 package io.forestframework.core.http.result;
 
-public interface AcceptAwareResponseProcessor {
+import io.forestframework.core.http.DefaultHttpRequest;
+import io.forestframework.core.http.HttpContext;
+import io.forestframework.core.http.HttpException;
+import io.forestframework.core.http.HttpResponse;
+import io.forestframework.core.http.HttpStatusCode;
+import io.forestframework.core.http.OptimizedHeaders;
+import io.forestframework.core.http.codec.Codec;
+import io.forestframework.core.http.codec.CodecRegistry;
+import io.forestframework.core.http.routing.PlainHttpRoutingMatchResult;
+import io.forestframework.core.http.routing.Routing;
+import io.forestframework.core.http.routing.RoutingMatchResult;
+import org.apiguardian.api.API;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Processes the results of {@link ResponseBody} handlers.
+ */
+@Singleton
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public class AcceptAwareResponseProcessor implements RoutingResultProcessor {
+    private final CodecRegistry codecRegistry;
+
+    @Inject
+    public AcceptAwareResponseProcessor(CodecRegistry codecRegistry) {
+        this.codecRegistry = codecRegistry;
+    }
+
+    @Override
+    public Object processResponse(HttpContext context, Routing routing, Object returnValue) {
+        HttpResponse response = context.response();
+        if (returnValue == null) {
+            response.setStatusCode(HttpStatusCode.NOT_FOUND.getCode());
+            return null;
+        }
+        Codec codec = negotiate(context, routing);
+        if (codec == null) {
+            throw new HttpException(HttpStatusCode.NOT_ACCEPTABLE, "Can't find codec to encode the result, request path: " + context.request().path());
+        }
+        response.putHeader(OptimizedHeaders.HEADER_CONTENT_TYPE, codec.getMediaType().toString());
+        response.writeLater(codec.encode(routing, returnValue));
+        return returnValue;
+    }
+
+    private Codec negotiate(HttpContext context, Routing routing) {
+        RoutingMatchResult matchResult = context.request() instanceof DefaultHttpRequest
+            ? ((DefaultHttpRequest) context.request()).getRoutingMatchResult()
+            : null;
+        if (matchResult instanceof PlainHttpRoutingMatchResult) {
+            return codecRegistry.getCodec(((PlainHttpRoutingMatchResult) matchResult).getResponseMediaTypes(context.request(), routing));
+        }
+        return codecRegistry.getJsonCodec();
+    }
 }
@@ -1,6 +1,7 @@
 package io.forestframework.core.http.result;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.github.blindpirate.annotationmagic.AnnotationMagic;
 import com.github.blindpirate.annotationmagic.Extends;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -8,15 +9,19 @@ import io.forestframework.core.http.HttpContext;
 import io.forestframework.core.http.HttpResponse;
 import io.forestframework.core.http.HttpStatusCode;
 import io.forestframework.core.http.OptimizedHeaders;
+import io.forestframework.core.http.codec.JacksonResultWriter;
 import io.forestframework.core.http.routing.Routing;
 import io.vertx.core.buffer.Buffer;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Inherited;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE})
@@ -30,38 +35,60 @@ public @interface JsonResponseBody {
 
     @Singleton
     class JsonResultProcessor implements RoutingResultProcessor {
-        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final ObjectMapper objectMapper;
+        private final Map<Routing, RoutingJsonWriter> writers = new ConcurrentHashMap<>();
         public static final String NOT_FOUND_JSON = "{\"message\":\"NOT_FOUND\"";
 
-        private String jsonify(JsonResponseBody anno, Object returnValue) {
-            try {
-                if (anno != null && anno.pretty()) {
-                    return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(returnValue);
-                } else {
-                    return objectMapper.writeValueAsString(returnValue);
-                }
-            } catch (Throwable e) {
-                throw new RuntimeException(e);
+        @Inject
+        public JsonResultProcessor(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+        }
+
+        private RoutingJsonWriter getWriter(Routing routing) {
+            RoutingJsonWriter ret = writers.get(routing);
+            if (ret == null) {
+                ret = writers.computeIfAbsent(routing, this::createWriter);
             }
+            return ret;
+        }
+
+        private RoutingJsonWriter createWriter(Routing routing) {
+            JsonResponseBody anno = AnnotationMagic.getOneAnnotationOnMethodOrNull(routing.getHandlerMethod(), JsonResponseBody.class);
+            boolean pretty = anno != null && anno.pretty();
+            ObjectWriter untypedWriter = pretty ? objectMapper.writerWithDefaultPrettyPrinter() : objectMapper.writer();
+            return new RoutingJsonWriter(new JacksonResultWriter(objectMapper, untypedWriter, routing), anno == null || anno.respond404IfNull());
         }
 
         @Override
         @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_NO_SIDE_EFFECT")
         public Object processResponse(HttpContext context, Routing routing, Object returnValue) {
-            JsonResponseBody anno = AnnotationMagic.getOneAnnotationOnMethodOrNull(routing.getHandlerMethod(), JsonResponseBody.class);
+            RoutingJsonWriter writer = getWriter(routing);
             HttpResponse response = context.response();
             response.putHeader(OptimizedHeaders.HEADER_CONTENT_TYPE, OptimizedHeaders.CONTENT_TYPE_APPLICATION_JSON);
             if (returnValue instanceof String) {
                 response.writeLater((String) returnValue);
             } else if (returnValue instanceof Buffer) {
                 response.writeLater((Buffer) returnValue);
-            } else if (returnValue == null && anno.respond404IfNull()) {
+            } else if (returnValue == null && writer.respond404IfNull) {
                 response.setStatusCode(HttpStatusCode.NOT_FOUND.getCode()).writeLater(NOT_FOUND_JSON);
             } else {
-                response.writeLater(jsonify(anno, returnValue));
+                response.writeLater(writer.write(returnValue));
             }
             return returnValue;
         }
-    }
 
+        private static final class RoutingJsonWriter {
+            private final JacksonResultWriter writer;
+            private final boolean respond404IfNull;
+
+            RoutingJsonWriter(JacksonResultWriter writer, boolean respond404IfNull) {
+                this.writer = writer;
+                this.respond404IfNull = respond404IfNull;
+            }
+
+            Buffer write(Object value) {
+                return writer.write(value);
+            }
+        }
+    }
 }
@@ -1,5 +1,24 @@
 package io.forestframework.core.http.result;
 
-//@ReturnValueProcessedBy(AcceptAwareResponseProcessor.class)
+import com.github.blindpirate.annotationmagic.Extends;
+import org.apiguardian.api.API;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Encodes the result of the handler with the {@link io.forestframework.core.http.codec.Codec} negotiated from
+ * the request's Accept header and the routing's produces, e.g. CBOR for {@code Accept: application/cbor}.
+ * Responds 406 if no codec is registered for any acceptable media type, and 404 if the result is null.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Inherited
+@Extends(ResultProcessor.class)
+@ResultProcessor(by = AcceptAwareResponseProcessor.class)
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
 public @interface ResponseBody {
 }
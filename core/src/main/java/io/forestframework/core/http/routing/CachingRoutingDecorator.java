@@ -1,18 +1,18 @@
 package io.forestframework.core.http.routing;
 
 import com.github.blindpirate.annotationmagic.AnnotationMagic;
+import com.google.common.net.MediaType;
 import com.google.inject.Injector;
 import io.forestframework.core.http.HttpMethod;
 import io.forestframework.core.http.bridge.BridgeEventType;
-import io.forestframework.core.http.param.ParameterResolver;
 import io.forestframework.core.http.param.RoutingParameterResolver;
-import io.forestframework.core.http.result.ResultProcessor;
 import io.forestframework.core.http.result.RoutingResultProcessor;
 import io.forestframework.core.http.websocket.WebSocketEventType;
 import org.apiguardian.api.API;
 
 import javax.inject.Singleton;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -21,15 +21,29 @@ import java.util.stream.Stream;
  * A decorator for {@link Routing}s, mainly for caching purpose.
  */
 @API(status = API.Status.INTERNAL)
+@SuppressWarnings("UnstableApiUsage")
 public class CachingRoutingDecorator implements BridgeRouting, WebSocketRouting, Routing {
     private static final Object[] UNINITIALIZED = {};
+    private static final Object NO_RESOLVER = new Object();
     private final Routing delegate;
+    private final RoutingInvocationPlan invocationPlan;
+    private final List<MediaType> consumesMediaTypes;
+    private final List<MediaType> producesMediaTypes;
     private Object singletonHandlerInstance = UNINITIALIZED;
     private Object[] cachedParameterResolvers = UNINITIALIZED;
     private Object[] cachedResultProcessors = UNINITIALIZED;
+    private List<RoutingResultProcessor> singletonResultProcessors;
 
     CachingRoutingDecorator(Routing delegate) {
         this.delegate = delegate;
+        this.consumesMediaTypes = Collections.unmodifiableList(delegate.getConsumesMediaTypes());
+        this.producesMediaTypes = Collections.unmodifiableList(delegate.getProducesMediaTypes());
+        this.invocationPlan = delegate.getInvocationPlan();
+    }
+
+    @Override
+    public RoutingInvocationPlan getInvocationPlan() {
+        return invocationPlan;
     }
 
     @Override
@@ -100,18 +114,23 @@ public class CachingRoutingDecorator implements BridgeRouting, WebSocketRouting,
             return (RoutingParameterResolver) cachedParameterResolvers[index];
         } else if (cachedParameterResolvers[index] instanceof Class) {
             return (RoutingParameterResolver) injector.getInstance((Class<?>) cachedParameterResolvers[index]);
+        } else if (cachedParameterResolvers[index] == NO_RESOLVER) {
+            return null;
         } else {
             return delegate.getParameterResolver(injector, index);
         }
     }
 
     private Object[] initCachedParameterResolvers(Injector injector) {
-        Object[] ret = new Object[delegate.getHandlerMethod().getParameters().length];
+        Object[] ret = new Object[invocationPlan.getParameterCount()];
         for (int i = 0; i < ret.length; ++i) {
-            ParameterResolver resolver = AnnotationMagic.getOneAnnotationOnMethodParameterOrNull(delegate.getHandlerMethod(), i, ParameterResolver.class);
-            if (resolver != null) {
-                Class<? extends RoutingParameterResolver<?>> resolverClass = resolver.resolver();
+            Class<? extends RoutingParameterResolver<?>> resolverClass = invocationPlan.getParameterResolverClass(i);
+            if (resolverClass != null) {
                 ret[i] = isSingleton(resolverClass) ? injector.getInstance(resolverClass) : resolverClass;
+            } else if (invocationPlan.getParameterKind(i) == RoutingInvocationPlan.ParameterKind.CONTINUATION
+                || delegate.getParameterResolver(injector, i) == null) {
+                // Resolved by ArgumentInjector, no need to ask the delegate again on every request
+                ret[i] = NO_RESOLVER;
             }
         }
         return ret;
@@ -121,6 +140,14 @@ public class CachingRoutingDecorator implements BridgeRouting, WebSocketRouting,
     public List<RoutingResultProcessor> getResultProcessors(Injector injector, Object returnValue) {
         if (cachedResultProcessors == UNINITIALIZED) {
             cachedResultProcessors = initCachedResultProcessors(injector);
+            if (Stream.of(cachedResultProcessors).allMatch(obj -> obj instanceof RoutingResultProcessor)) {
+                singletonResultProcessors = Stream.of(cachedResultProcessors)
+                                                  .map(obj -> (RoutingResultProcessor) obj)
+                                                  .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+            }
+        }
+        if (singletonResultProcessors != null) {
+            return singletonResultProcessors;
         }
         return Stream.of(cachedResultProcessors)
                 .map(obj -> (obj instanceof RoutingResultProcessor) ? (RoutingResultProcessor) obj : (RoutingResultProcessor) injector.getInstance((Class<?>) obj))
@@ -128,10 +155,10 @@ public class CachingRoutingDecorator implements BridgeRouting, WebSocketRouting,
     }
 
     private Object[] initCachedResultProcessors(Injector injector) {
-        List<ResultProcessor> resultProcessAnnotations = AnnotationMagic.getAnnotationsOnMethod(delegate.getHandlerMethod(), ResultProcessor.class);
-        Object[] ret = new Object[resultProcessAnnotations.size()];
+        List<Class<? extends RoutingResultProcessor>> processorClasses = invocationPlan.getResultProcessorClasses();
+        Object[] ret = new Object[processorClasses.size()];
         for (int i = 0; i < ret.length; ++i) {
-            Class<? extends RoutingResultProcessor> processorClass = resultProcessAnnotations.get(i).by();
+            Class<? extends RoutingResultProcessor> processorClass = processorClasses.get(i);
             ret[i] = isSingleton(processorClass) ? injector.getInstance(processorClass) : processorClass;
         }
         return ret;
@@ -174,4 +201,14 @@ public class CachingRoutingDecorator implements BridgeRouting, WebSocketRouting,
     public List<String> getProduces() {
         return delegate.getProduces();
     }
+
+    @Override
+    public List<MediaType> getConsumesMediaTypes() {
+        return consumesMediaTypes;
+    }
+
+    @Override
+    public List<MediaType> getProducesMediaTypes() {
+        return producesMediaTypes;
+    }
 }
@@ -0,0 +1,467 @@
+package io.forestframework.core.http.routing;
+
+import io.netty.util.concurrent.FastThreadLocal;
+import io.vertx.core.http.HttpServerRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.forestframework.core.http.routing.RoutingMatchResult.WebSocketRoutingMatchResult;
+
+/**
+ * An immutable, flattened form of the {@link RouteSegmentNode} tree.
+ *
+ * The nodes are visited in exactly the same order as the tree, but a match doesn't allocate
+ * anything until a leaf with routings is hit: segment boundaries are scanned once from the raw path,
+ * constant children are found by hash, and path variables are recorded as offsets in a {@link MatchState}
+ * which is reused by every match on the same (event loop) thread.
+ */
+final class CompiledRouteTree {
+    private static final int CONSTANT = 0;
+    private static final int PATH_VARIABLE = 1;
+    private static final int REGEX = 2;
+    private static final int DOUBLE_STAR = 3;
+    private static final int SINGLE_STAR = 4;
+
+    private static final String DOUBLE_STAR_VARIABLE = "**";
+    private static final String SINGLE_STAR_VARIABLE = "*";
+
+    private final Node root;
+    private final int nodeCount;
+    private final int maxDepth;
+    private final FastThreadLocal<MatchState> states = new FastThreadLocal<MatchState>() {
+        @Override
+        protected MatchState initialValue() {
+            return new MatchState(nodeCount, maxDepth);
+        }
+    };
+
+    private CompiledRouteTree(Node root, int nodeCount, int maxDepth) {
+        this.root = root;
+        this.nodeCount = nodeCount;
+        this.maxDepth = maxDepth;
+    }
+
+    static CompiledRouteTree compile(RouteSegmentNode root) {
+        Compiler compiler = new Compiler();
+        Node compiledRoot = compiler.compile(root, 0, true);
+        return new CompiledRouteTree(compiledRoot, compiler.nodeCount, compiler.maxDepth + 1);
+    }
+
+    /**
+     * Returns the leaves matching the request path, or a {@link WebSocketRoutingMatchResult} if a WebSocket routing
+     * matches first.
+     */
+    PathMatch match(HttpServerRequest request) {
+        MatchState state = states.get();
+        state.reset(request);
+        try {
+            visitChildren(root, state, 0, 0);
+            if (state.webSocketResult != null) {
+                return new PathMatch(state.webSocketResult);
+            }
+            return state.pathMatch == null ? PathMatch.EMPTY : state.pathMatch;
+        } finally {
+            state.clear();
+        }
+    }
+
+    private void visitChildren(Node parent, MatchState state, int index, int depth) {
+        int constantPosition = parent.constants.find(state.path, state.segmentStarts[index], state.segmentEnds[index]);
+        Node[] dynamicChildren = parent.dynamicChildren;
+        int[] dynamicPositions = parent.dynamicPositions;
+        for (int i = 0; i < dynamicChildren.length; ++i) {
+            if (constantPosition >= 0 && constantPosition < dynamicPositions[i]) {
+                visit(parent.children[constantPosition], state, index, depth);
+                constantPosition = -1;
+            }
+            visit(dynamicChildren[i], state, index, depth);
+        }
+        if (constantPosition >= 0) {
+            visit(parent.children[constantPosition], state, index, depth);
+        }
+    }
+
+    private void visit(Node node, MatchState state, int index, int depth) {
+        if (state.webSocketResult != null) {
+            return;
+        }
+        boolean last = index == state.segmentCount - 1;
+        switch (node.kind) {
+            case CONSTANT:
+                // Already selected by hash lookup in visitChildren()
+                visitNextOrAddResult(node, state, index, depth, last);
+                break;
+            case PATH_VARIABLE:
+                state.bindSegment(depth, node.variableName, index);
+                visitNextOrAddResult(node, state, index, depth + 1, last);
+                break;
+            case SINGLE_STAR:
+                Matcher matcher = state.matcher(node);
+                matcher.region(state.segmentStarts[index], state.segmentEnds[index]);
+                int nextDepth = depth;
+                if (matcher.find()) {
+                    state.bindRange(depth, SINGLE_STAR_VARIABLE, matcher.start("wildcard"), matcher.end("wildcard"));
+                    nextDepth = depth + 1;
+                }
+                if (matcher.matches()) {
+                    visitNextOrAddResult(node, state, index, nextDepth, last);
+                }
+                break;
+            case REGEX:
+                if (state.matcher(node).matches()) {
+                    addResult(node, state, depth);
+                }
+                break;
+            case DOUBLE_STAR:
+                visitDoubleStar(node, state, index, depth);
+                break;
+            default:
+                throw new IllegalStateException("Unknown node kind " + node.kind);
+        }
+    }
+
+    private void visitNextOrAddResult(Node node, MatchState state, int index, int depth, boolean last) {
+        if (last) {
+            addResult(node, state, depth);
+        } else {
+            visitChildren(node, state, index + 1, depth);
+        }
+    }
+
+    private void visitDoubleStar(Node node, MatchState state, int index, int depth) {
+        if (!node.plainHttpRoutings.isEmpty()) {
+            state.bindSegments(depth, DOUBLE_STAR_VARIABLE, index, state.segmentCount);
+            addResult(node, state, depth + 1);
+        }
+        // Take over the searching process
+        // ** match 0,1, ..., all elements
+        if (node.children.length != 0) {
+            for (int i = index; i < state.segmentCount; ++i) {
+                state.bindSegments(depth, DOUBLE_STAR_VARIABLE, index, i);
+                visitChildren(node, state, i, depth + 1);
+            }
+        }
+    }
+
+    private void addResult(Node node, MatchState state, int depth) {
+        if (node.webSocketPath != null) {
+            state.webSocketResult = new WebSocketRoutingMatchResult(node.webSocketPath, state.materializePathVariables(depth));
+        } else if (!node.plainHttpRoutings.isEmpty()) {
+            if (state.pathMatch == null) {
+                state.pathMatch = new PathMatch(null);
+            }
+            state.pathMatch.add(node.constant, node.plainHttpRoutings, state.materializePathVariables(depth));
+        }
+    }
+
+    /**
+     * The result of matching a request path against the tree: the routings of the matched leaves and their path
+     * variables.
+     */
+    static final class PathMatch {
+        private static final PathMatch EMPTY = new PathMatch(null);
+        private final WebSocketRoutingMatchResult webSocketResult;
+        private int leafCount;
+        private boolean constant = true;
+        private final List<List<Routing>> routings = new ArrayList<>(2);
+        private final List<Map<String, String>> pathVariables = new ArrayList<>(2);
+
+        private PathMatch(WebSocketRoutingMatchResult webSocketResult) {
+            this.webSocketResult = webSocketResult;
+        }
+
+        private void add(boolean constantLeaf, List<Routing> leafRoutings, Map<String, String> leafPathVariables) {
+            leafCount++;
+            constant &= constantLeaf;
+            routings.add(leafRoutings);
+            pathVariables.add(leafPathVariables);
+        }
+
+        /**
+         * Null unless a WebSocket routing matches.
+         */
+        WebSocketRoutingMatchResult getWebSocketResult() {
+            return webSocketResult;
+        }
+
+        boolean isEmpty() {
+            return leafCount == 0;
+        }
+
+        /**
+         * Whether all matched leaves are reached through constant segments only, i.e. the result has no path
+         * variables and no other path can match the same leaves.
+         */
+        boolean isConstant() {
+            return constant;
+        }
+
+        PlainHttpRoutingMatchResult toResult(HttpServerRequest request) {
+            PlainHttpRoutingMatchResult result = new PlainHttpRoutingMatchResult();
+            for (int i = 0; i < leafCount; ++i) {
+                result.addResult(request, routings.get(i), pathVariables.get(i));
+            }
+            return result;
+        }
+    }
+
+    private static final class Node {
+        private final int id;
+        private final int kind;
+        // Whether the node and all its ancestors are constants
+        private final boolean constant;
+        private final String variableName;
+        private final Pattern pattern;
+        private final List<Routing> plainHttpRoutings;
+        private final String webSocketPath;
+        // All children, in the order they were added to the tree
+        private final Node[] children;
+        // Children except constants, and their positions in children array
+        private final Node[] dynamicChildren;
+        private final int[] dynamicPositions;
+        private final ConstantTable constants;
+
+        private Node(int id, int kind, boolean constant, String variableName, Pattern pattern, List<Routing> plainHttpRoutings, String webSocketPath, Node[] children) {
+            this.id = id;
+            this.kind = kind;
+            this.constant = constant;
+            this.variableName = variableName;
+            this.pattern = pattern;
+            this.plainHttpRoutings = plainHttpRoutings;
+            this.webSocketPath = webSocketPath;
+            this.children = children;
+
+            List<Node> dynamic = new ArrayList<>();
+            List<Integer> positions = new ArrayList<>();
+            List<String> constantNames = new ArrayList<>();
+            List<Integer> constantPositions = new ArrayList<>();
+            for (int i = 0; i < children.length; ++i) {
+                if (children[i].kind == CONSTANT) {
+                    constantNames.add(children[i].variableName);
+                    constantPositions.add(i);
+                } else {
+                    dynamic.add(children[i]);
+                    positions.add(i);
+                }
+            }
+            this.dynamicChildren = dynamic.toArray(new Node[0]);
+            this.dynamicPositions = positions.stream().mapToInt(Integer::intValue).toArray();
+            this.constants = new ConstantTable(constantNames, constantPositions);
+        }
+    }
+
+    private static final class Compiler {
+        private int nodeCount;
+        private int maxDepth;
+
+        private Node compile(RouteSegmentNode node, int depth, boolean constantParent) {
+            maxDepth = Math.max(maxDepth, depth);
+            int id = nodeCount++;
+            boolean constant = constantParent && node instanceof StringConstantNode;
+            Node[] children = node.getChildren().stream().map(child -> compile(child, depth + 1, constant)).toArray(Node[]::new);
+            List<Routing> plainHttpRoutings = Collections.unmodifiableList(new ArrayList<>(node.getPlainHttpRoutings()));
+            String webSocketPath = node.getWebSocketRoutings().isEmpty() ? null : node.getWebSocketRoutings().get(0).getPath();
+
+            if (node instanceof PathVariableNode) {
+                return new Node(id, PATH_VARIABLE, false, ((PathVariableNode) node).getVariableName(), null, plainHttpRoutings, webSocketPath, children);
+            } else if (node instanceof RegexNode) {
+                return new Node(id, REGEX, false, null, ((RegexNode) node).getPattern(), plainHttpRoutings, webSocketPath, children);
+            } else if (node instanceof DoubleStarWildcardNode) {
+                return new Node(id, DOUBLE_STAR, false, null, null, plainHttpRoutings, webSocketPath, children);
+            } else if (node instanceof SingleStarWildcardNode) {
+                return new Node(id, SINGLE_STAR, false, null, ((SingleStarWildcardNode) node).getPattern(), plainHttpRoutings, webSocketPath, children);
+            } else {
+                // For constants, variableName holds the constant segment
+                return new Node(id, CONSTANT, constant, node.getName(), null, plainHttpRoutings, webSocketPath, children);
+            }
+        }
+    }
+
+    /**
+     * Open-addressing hash table from constant segment to child position, queried directly with a range of the
+     * request path so no substring is created.
+     */
+    private static final class ConstantTable {
+        private final String[] keys;
+        private final int[] hashes;
+        private final int[] positions;
+        private final int mask;
+
+        private ConstantTable(List<String> names, List<Integer> namePositions) {
+            int capacity = Integer.highestOneBit(Math.max(1, names.size() * 2 - 1)) << 1;
+            keys = new String[capacity];
+            hashes = new int[capacity];
+            positions = new int[capacity];
+            mask = capacity - 1;
+            for (int i = 0; i < names.size(); ++i) {
+                String name = names.get(i);
+                int hash = name.hashCode();
+                int slot = hash & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = name;
+                hashes[slot] = hash;
+                positions[slot] = namePositions.get(i);
+            }
+        }
+
+        /**
+         * Returns the position of the constant child equal to path[start, end), or -1 if not found.
+         */
+        private int find(String path, int start, int end) {
+            // Same as String.hashCode()
+            int hash = 0;
+            for (int i = start; i < end; ++i) {
+                hash = 31 * hash + path.charAt(i);
+            }
+            int length = end - start;
+            for (int slot = hash & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+                String key = keys[slot];
+                if (hashes[slot] == hash && key.length() == length && path.regionMatches(start, key, 0, length)) {
+                    return positions[slot];
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Per-thread scratch space for a single match. Path variables are stored as a stack indexed by depth:
+     * a node binds its variable at its own depth, so siblings overwrite each other and children see their ancestors.
+     */
+    private static final class MatchState {
+        private static final int VALUE_RANGE = 0;
+        private static final int VALUE_SEGMENTS = 1;
+
+        private final Matcher[] matchers;
+        private final String[] variableNames;
+        private final int[] variableKinds;
+        private final int[] variableStarts;
+        private final int[] variableEnds;
+
+        private int[] segmentStarts = new int[16];
+        private int[] segmentEnds = new int[16];
+        private int segmentCount;
+        private String path;
+        private PathMatch pathMatch;
+        private WebSocketRoutingMatchResult webSocketResult;
+
+        private MatchState(int nodeCount, int maxDepth) {
+            matchers = new Matcher[nodeCount];
+            variableNames = new String[maxDepth];
+            variableKinds = new int[maxDepth];
+            variableStarts = new int[maxDepth];
+            variableEnds = new int[maxDepth];
+        }
+
+        private void reset(HttpServerRequest request) {
+            this.path = request.path();
+            this.pathMatch = null;
+            this.webSocketResult = null;
+            splitPath();
+        }
+
+        private void clear() {
+            path = null;
+            pathMatch = null;
+            webSocketResult = null;
+        }
+
+        /**
+         * Same as {@code StringUtils.split(path, '/')}, except that "/" yields one empty segment.
+         */
+        private void splitPath() {
+            segmentCount = 0;
+            int length = path.length();
+            int segmentStart = -1;
+            for (int i = 0; i <= length; ++i) {
+                if (i == length || path.charAt(i) == '/') {
+                    if (segmentStart >= 0) {
+                        addSegment(segmentStart, i);
+                        segmentStart = -1;
+                    }
+                } else if (segmentStart < 0) {
+                    segmentStart = i;
+                }
+            }
+            if (segmentCount == 0) {
+                addSegment(0, 0);
+            }
+        }
+
+        private void addSegment(int start, int end) {
+            if (segmentCount == segmentStarts.length) {
+                segmentStarts = Arrays.copyOf(segmentStarts, segmentCount * 2);
+                segmentEnds = Arrays.copyOf(segmentEnds, segmentCount * 2);
+            }
+            segmentStarts[segmentCount] = start;
+            segmentEnds[segmentCount] = end;
+            segmentCount++;
+        }
+
+        private Matcher matcher(Node node) {
+            Matcher matcher = matchers[node.id];
+            if (matcher == null) {
+                matcher = node.pattern.matcher(path);
+                matchers[node.id] = matcher;
+                return matcher;
+            } else {
+                return matcher.reset(path);
+            }
+        }
+
+        private void bindSegment(int depth, String name, int segmentIndex) {
+            bindRange(depth, name, segmentStarts[segmentIndex], segmentEnds[segmentIndex]);
+        }
+
+        private void bindRange(int depth, String name, int start, int end) {
+            variableNames[depth] = name;
+            variableKinds[depth] = VALUE_RANGE;
+            variableStarts[depth] = start;
+            variableEnds[depth] = end;
+        }
+
+        private void bindSegments(int depth, String name, int fromSegment, int toSegment) {
+            variableNames[depth] = name;
+            variableKinds[depth] = VALUE_SEGMENTS;
+            variableStarts[depth] = fromSegment;
+            variableEnds[depth] = toSegment;
+        }
+
+        private Map<String, String> materializePathVariables(int depth) {
+            Map<String, String> ret = new HashMap<>(depth * 2);
+            for (int i = 0; i < depth; ++i) {
+                if (variableKinds[i] == VALUE_RANGE) {
+                    ret.put(variableNames[i], path.substring(variableStarts[i], variableEnds[i]));
+                } else {
+                    ret.put(variableNames[i], joinSegments(variableStarts[i], variableEnds[i]));
+                }
+            }
+            // Match results may be cached and shared, see RoutingMatchResultCache
+            return Collections.unmodifiableMap(ret);
+        }
+
+        private String joinSegments(int from, int to) {
+            if (from >= to) {
+                return "";
+            }
+            // Segments are separated by one or more '/' in the raw path
+            StringBuilder sb = new StringBuilder(segmentEnds[to - 1] - segmentStarts[from]);
+            for (int i = from; i < to; ++i) {
+                sb.append(path, segmentStarts[i], segmentEnds[i]);
+                if (i != to - 1) {
+                    sb.append('/');
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package io.forestframework.core.http.routing;
+
+class DoubleStarWildcardNode extends RouteSegmentNode {
+    public DoubleStarWildcardNode() {
+        super("**");
+    }
+}
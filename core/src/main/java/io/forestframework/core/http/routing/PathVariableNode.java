@@ -0,0 +1,14 @@
+package io.forestframework.core.http.routing;
+
+class PathVariableNode extends RouteSegmentNode {
+    private final String variableName;
+
+    public PathVariableNode(String segment) {
+        super(segment);
+        this.variableName = segment.substring(1);
+    }
+
+    public String getVariableName() {
+        return variableName;
+    }
+}
@@ -1,6 +1,5 @@
 package io.forestframework.core.http.routing;
 
-import com.github.blindpirate.annotationmagic.AnnotationMagic;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.net.MediaType;
 import io.forestframework.core.http.DefaultHttpRequest;
@@ -11,8 +10,6 @@ import io.forestframework.core.http.HttpStatusCode;
 import io.forestframework.core.http.bridge.DefaultBridgeRequestHandler;
 import io.forestframework.core.http.websocket.DefaultWebSocketRequestHandler;
 import io.vertx.core.http.HttpServerRequest;
-import io.vertx.core.http.impl.HttpServerRequestInternal;
-import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
@@ -24,22 +21,31 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static io.forestframework.core.http.OptimizedHeaders.HEADER_ACCEPT;
 import static io.forestframework.core.http.OptimizedHeaders.HEADER_CONTENT_TYPE;
 
+@SuppressWarnings("UnstableApiUsage")
 public class PlainHttpRoutingMatchResult implements RoutingMatchResult {
+    private static final List<MediaType> ANY = Collections.singletonList(MediaType.ANY_TYPE);
     private final Map<RoutingType, TreeSet<PlainHttpHandlerMatchResult>> plainHttpRoutings = new HashMap<>();
     private final Map<Routing, PlainHttpHandlerMatchResult> routingToResults = new HashMap<>();
+    // Request media types, parsed at most once per request
+    private List<MediaType> acceptMediaTypes;
+    private List<MediaType> contentTypeMediaTypes;
+    private Routing synchronousHandler;
+    private boolean synchronousHandlerComputed;
+    private DefaultHttpRequest.BodyMode requestBodyMode;
+    private final Map<Routing, List<MediaType>> responseMediaTypes = new ConcurrentHashMap<>();
 
     @Override
-    public void select(HttpServerRequest request,
+    public void select(DefaultHttpRequest request,
                        DefaultBridgeRequestHandler bridgeRequestHandler,
                        DefaultWebSocketRequestHandler webSocketRequestHandler,
                        DefaultPlainHttpRequestHandler plainHttpRequestHandler) {
-        plainHttpRequestHandler.handle(new DefaultHttpRequest((HttpServerRequestInternal) request, this));
+        plainHttpRequestHandler.handle(request);
     }
 
     public void addResult(HttpServerRequest request, List<Routing> routings, Map<String, String> pathVariables) {
@@ -49,17 +55,104 @@ public class PlainHttpRoutingMatchResult implements RoutingMatchResult {
     }
 
     private void putIntoResult(HttpServerRequest request, RoutingType routingType, List<Routing> routings, Map<String, String> pathVariables) {
-        TreeSet<PlainHttpHandlerMatchResult> routingMatchResults = getMatchResultsByType(routingType);
+        TreeSet<PlainHttpHandlerMatchResult> routingMatchResults = plainHttpRoutings.computeIfAbsent(routingType, __ -> new TreeSet<>());
         for (Routing routing : routings) {
-            PlainHttpHandlerMatchResult routingMatchResult = new PlainHttpHandlerMatchResult(routing, request, pathVariables);
+            PlainHttpHandlerMatchResult routingMatchResult = new PlainHttpHandlerMatchResult(routing, request, pathVariables, this);
             routingMatchResults.add(routingMatchResult);
             routingToResults.put(routing, routingMatchResult);
         }
     }
 
+    private List<MediaType> getAcceptMediaTypes(HttpServerRequest request) {
+        if (acceptMediaTypes == null) {
+            acceptMediaTypes = getMediaTypes(request, HEADER_ACCEPT);
+        }
+        return acceptMediaTypes;
+    }
+
+    private List<MediaType> getContentTypeMediaTypes(HttpServerRequest request) {
+        if (contentTypeMediaTypes == null) {
+            contentTypeMediaTypes = getMediaTypes(request, HEADER_CONTENT_TYPE);
+        }
+        return contentTypeMediaTypes;
+    }
+
+    /**
+     * The media type of the request body, or {@link MediaType#ANY_TYPE} if the request has no Content-Type.
+     */
+    public MediaType getRequestContentType(HttpServerRequest request) {
+        return getContentTypeMediaTypes(request).get(0);
+    }
+
+    /**
+     * The media types the routing can respond to the request with, most preferred first: each media type of
+     * the Accept header, by descending quality, is narrowed to the compatible media types the routing produces.
+     * Computed once per routing, cached match results share it.
+     */
+    public List<MediaType> getResponseMediaTypes(HttpServerRequest request, Routing routing) {
+        List<MediaType> ret = responseMediaTypes.get(routing);
+        if (ret == null) {
+            ret = computeResponseMediaTypes(getAcceptMediaTypes(request), routing.getProducesMediaTypes());
+            responseMediaTypes.put(routing, ret);
+        }
+        return ret;
+    }
+
+    private static List<MediaType> computeResponseMediaTypes(List<MediaType> accepts, List<MediaType> produces) {
+        List<MediaType> sortedAccepts = new ArrayList<>(accepts);
+        // Stable, so media types of the same quality keep the client's order
+        sortedAccepts.sort(Comparator.comparingDouble(PlainHttpRoutingMatchResult::getQuality).reversed());
+        List<MediaType> ret = new ArrayList<>();
+        for (MediaType accept : sortedAccepts) {
+            MediaType acceptRange = accept.withoutParameters();
+            for (MediaType produce : produces) {
+                MediaType produceRange = produce.withoutParameters();
+                if (produceRange.is(acceptRange)) {
+                    ret.add(produce);
+                } else if (acceptRange.is(produceRange)) {
+                    ret.add(acceptRange);
+                }
+            }
+        }
+        return Collections.unmodifiableList(ret);
+    }
+
+    private static double getQuality(MediaType mediaType) {
+        List<String> q = mediaType.parameters().get("q");
+        try {
+            return q.isEmpty() ? 1.0 : Double.parseDouble(q.get(0));
+        } catch (NumberFormatException e) {
+            return 1.0;
+        }
+    }
+
+    private static List<MediaType> getMediaTypes(HttpServerRequest request, CharSequence headerName) {
+        String header = request.getHeader(headerName);
+
+        try {
+            return header == null ? ANY : RequestMediaTypeCache.parse(header);
+        } catch (Exception e) {
+            throw new HttpException(HttpStatusCode.BAD_REQUEST, "Can't parse media type from request " + request.path() + ": " + header);
+        }
+    }
+
+    /**
+     * The result is read-only after matching, it may be cached and shared by concurrent requests.
+     */
     @VisibleForTesting
     TreeSet<PlainHttpHandlerMatchResult> getMatchResultsByType(RoutingType routingType) {
-        return plainHttpRoutings.computeIfAbsent(routingType, __ -> new TreeSet<>());
+        TreeSet<PlainHttpHandlerMatchResult> ret = plainHttpRoutings.get(routingType);
+        return ret == null ? new TreeSet<>() : ret;
+    }
+
+    /**
+     * Returns the routings of the type whose path matches the request, regardless of the HTTP method and media types.
+     */
+    public List<Routing> getPathMatchingRoutingsByType(RoutingType routingType) {
+        return getMatchResultsByType(routingType)
+            .stream()
+            .map(PlainHttpHandlerMatchResult::getRouting)
+            .collect(Collectors.toList());
     }
 
     public List<Routing> getMatchingHandlersByType(RoutingType routingType) {
@@ -70,6 +163,66 @@ public class PlainHttpRoutingMatchResult implements RoutingMatchResult {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Returns the main handler if this request can be handled as straight-line code: exactly one main handler which is
+     * neither a Kotlin suspend function nor blocking, and no pre-handlers or post-handlers. Otherwise, returns null.
+     *
+     * The result is computed once, cached match results share it. The handler may still return a {@link io.vertx.core.Future},
+     * in which case the rest of the pipeline falls back to the asynchronous one.
+     */
+    public Routing getSynchronousHandler() {
+        if (!synchronousHandlerComputed) {
+            // Racy but idempotent, a stale null only sends the request through the asynchronous pipeline
+            synchronousHandler = computeSynchronousHandler();
+            synchronousHandlerComputed = true;
+        }
+        return synchronousHandler;
+    }
+
+    private Routing computeSynchronousHandler() {
+        if (!getMatchingHandlersByType(RoutingType.PRE_HANDLER).isEmpty() || !getMatchingHandlersByType(RoutingType.POST_HANDLER).isEmpty()) {
+            return null;
+        }
+        if (getMainHandlerMatchResult().getStatusCode() != HttpStatusCode.OK) {
+            return null;
+        }
+        List<Routing> mainHandlers = getMatchingHandlersByType(RoutingType.HANDLER);
+        if (mainHandlers.size() != 1) {
+            return null;
+        }
+        RoutingInvocationPlan plan = mainHandlers.get(0).getInvocationPlan();
+        return plan.isKotlinSuspendFunction() || plan.isBlocking() ? null : mainHandlers.get(0);
+    }
+
+    /**
+     * Decides how the request body is read from the number of body parameters of all matching routings,
+     * see {@link DefaultHttpRequest.BodyMode}. Computed once, cached match results share it.
+     */
+    public DefaultHttpRequest.BodyMode getRequestBodyMode() {
+        if (requestBodyMode == null) {
+            // Racy but idempotent
+            requestBodyMode = computeRequestBodyMode();
+        }
+        return requestBodyMode;
+    }
+
+    private DefaultHttpRequest.BodyMode computeRequestBodyMode() {
+        int bodyParameterCount = 0;
+        for (PlainHttpHandlerMatchResult result : routingToResults.values()) {
+            // Error handlers are selected by status code later, they may read the body as well
+            if (result.matches() || result.getRouting().getType() == RoutingType.ERROR_HANDLER) {
+                bodyParameterCount += result.getRouting().getInvocationPlan().getBodyParameterCount();
+            }
+        }
+        if (bodyParameterCount == 0) {
+            return DefaultHttpRequest.BodyMode.NONE;
+        } else if (bodyParameterCount == 1) {
+            return DefaultHttpRequest.BodyMode.DEFERRED;
+        } else {
+            return DefaultHttpRequest.BodyMode.AGGREGATED;
+        }
+    }
+
     public PlainHttpHandlerMatchResult getMatchResultByRouting(Routing routing) {
         return routingToResults.get(routing);
     }
@@ -99,7 +252,7 @@ public class PlainHttpRoutingMatchResult implements RoutingMatchResult {
     }
 
     private boolean canHandle(Routing routing, HttpStatusCode statusCode) {
-        OnError errorHandler = AnnotationMagic.getOneAnnotationOnMethodOrNull(routing.getHandlerMethod(), OnError.class);
+        OnError errorHandler = routing.getInvocationPlan().getOnError();
         if (errorHandler.start() == -1 || errorHandler.end() == -1) {
             return errorHandler.statusCode() == statusCode;
         } else {
@@ -136,7 +289,6 @@ public class PlainHttpRoutingMatchResult implements RoutingMatchResult {
 
     @SuppressWarnings("UnstableApiUsage")
     public static class PlainHttpHandlerMatchResult implements Comparable<PlainHttpHandlerMatchResult> {
-        private static final List<MediaType> ANY = Collections.singletonList(MediaType.ANY_TYPE);
         private static final Comparator<Routing> ROUTING_COMPARATOR =
             Comparator.comparing(Routing::getOrder)
                       .thenComparing(routing -> routing.getHandlerMethod().toString());
@@ -147,9 +299,13 @@ public class PlainHttpRoutingMatchResult implements RoutingMatchResult {
         private final Map<String, String> pathParams;
 
         public PlainHttpHandlerMatchResult(Routing routing, HttpServerRequest request, Map<String, String> pathParams) {
+            this(routing, request, pathParams, new PlainHttpRoutingMatchResult());
+        }
+
+        PlainHttpHandlerMatchResult(Routing routing, HttpServerRequest request, Map<String, String> pathParams, PlainHttpRoutingMatchResult owner) {
             this.routing = routing;
             this.pathParams = pathParams;
-            this.code = mediaTypeMatch(request, routing);
+            this.code = mediaTypeMatch(request, routing, owner);
         }
 
         public HttpStatusCode getCode() {
@@ -168,26 +324,18 @@ public class PlainHttpRoutingMatchResult implements RoutingMatchResult {
             return code == HttpStatusCode.OK;
         }
 
-        private HttpStatusCode mediaTypeMatch(HttpServerRequest request, Routing routing) {
+        private HttpStatusCode mediaTypeMatch(HttpServerRequest request, Routing routing, PlainHttpRoutingMatchResult owner) {
             if (httpMethodNotAllowed(routing, request.method())) {
                 return HttpStatusCode.METHOD_NOT_ALLOWED;
-            } else if (!producesMatch(request, HEADER_ACCEPT, routing.getProduces())) {
+            } else if (!mediaTypeMatch(owner.getAcceptMediaTypes(request), routing.getProducesMediaTypes())) {
                 return HttpStatusCode.NOT_ACCEPTABLE;
-            } else if (!consumesMatch(request, HEADER_CONTENT_TYPE, routing.getConsumes())) {
+            } else if (!mediaTypeMatch(routing.getConsumesMediaTypes(), owner.getContentTypeMediaTypes(request))) {
                 return HttpStatusCode.UNSUPPORTED_MEDIA_TYPE;
             } else {
                 return HttpStatusCode.OK;
             }
         }
 
-        private boolean producesMatch(HttpServerRequest request, CharSequence headerName, List<String> produces) {
-            return mediaTypeMatch(getMediaTypes(request, headerName), getServerMediaTypes(produces));
-        }
-
-        private boolean consumesMatch(HttpServerRequest request, CharSequence headerName, List<String> consumes) {
-            return mediaTypeMatch(getServerMediaTypes(consumes), getMediaTypes(request, headerName));
-        }
-
         private boolean mediaTypeMatch(List<MediaType> accepts, List<MediaType> comparedMediaTypes) {
             return comparedMediaTypes.stream().anyMatch(
                 comparedMediaType -> accepts.stream().anyMatch(accept -> compare(comparedMediaType, accept))
@@ -200,25 +348,6 @@ public class PlainHttpRoutingMatchResult implements RoutingMatchResult {
                 && matchParameters(accept, compared);
         }
 
-        private List<MediaType> getMediaTypes(HttpServerRequest request, CharSequence headerName) {
-            String header = request.getHeader(headerName);
-
-            try {
-                return header == null
-                       ? ANY
-                       : Stream.of(StringUtils.split(header, ','))
-                               .map(String::trim)
-                               .map(MediaType::parse)
-                               .collect(Collectors.toList());
-            } catch (Exception e) {
-                throw new HttpException(HttpStatusCode.BAD_REQUEST, "Can't parse media type from request " + request.path() + ": " + header);
-            }
-        }
-
-        private static List<MediaType> getServerMediaTypes(List<String> producesOrConsumes) {
-            return producesOrConsumes.stream().map(MediaType::parse).collect(Collectors.toList());
-        }
-
         private boolean matchParameters(MediaType accept, MediaType compared) {
             if (!accept.parameters().isEmpty() && !compared.parameters().isEmpty()) {
                 for (String name : compared.parameters().keySet()) {
@@ -0,0 +1,19 @@
+package io.forestframework.core.http.routing;
+
+import java.util.regex.Pattern;
+
+class RegexNode extends RouteSegmentNode {
+    private final Pattern pattern;
+
+    public RegexNode(String regex) {
+        super(regex);
+        this.pattern = Pattern.compile(regex);
+    }
+
+    /**
+     * Matched against the whole request path.
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+}
@@ -0,0 +1,45 @@
+package io.forestframework.core.http.routing;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.net.MediaType;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Parsed Accept/Content-Type request headers, keyed by the raw header value.
+ *
+ * Clients only send a handful of distinct values, so each of them is parsed once per process
+ * and the same immutable list is shared by all requests.
+ */
+@SuppressWarnings("UnstableApiUsage")
+final class RequestMediaTypeCache {
+    private static final int MAX_SIZE = 1024;
+    private static final Cache<String, List<MediaType>> CACHE = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+
+    private RequestMediaTypeCache() {
+    }
+
+    /**
+     * Parses a comma-separated media type list.
+     *
+     * @throws IllegalArgumentException if any of the media types is malformed, invalid values are not cached
+     */
+    static List<MediaType> parse(String header) {
+        List<MediaType> ret = CACHE.getIfPresent(header);
+        if (ret == null) {
+            ret = Collections.unmodifiableList(
+                Stream.of(StringUtils.split(header, ','))
+                      .map(String::trim)
+                      .map(MediaType::parse)
+                      .collect(Collectors.toList())
+            );
+            CACHE.put(header, ret);
+        }
+        return ret;
+    }
+}
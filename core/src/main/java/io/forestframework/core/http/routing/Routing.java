@@ -51,6 +51,20 @@ public interface Routing {
         return Collections.singletonList(MediaType.ANY_TYPE.toString());
     }
 
+    /**
+     * Parsed {@link #getConsumes()}. Implementations are encouraged to cache the result since it's queried on every request.
+     */
+    default List<MediaType> getConsumesMediaTypes() {
+        return getConsumes().stream().map(MediaType::parse).collect(Collectors.toList());
+    }
+
+    /**
+     * Parsed {@link #getProduces()}. Implementations are encouraged to cache the result since it's queried on every request.
+     */
+    default List<MediaType> getProducesMediaTypes() {
+        return getProduces().stream().map(MediaType::parse).collect(Collectors.toList());
+    }
+
     default List<HttpMethod> getMethods() {
         return Collections.singletonList(HttpMethod.ALL);
     }
@@ -75,6 +89,14 @@ public interface Routing {
         return injector.getInstance(resolver.resolver());
     }
 
+    /**
+     * The reflection and annotation information of {@link #getHandlerMethod()} used to process requests.
+     * It's queried on every request, so by default the plan is built once per handler method.
+     */
+    default RoutingInvocationPlan getInvocationPlan() {
+        return RoutingInvocationPlan.of(this);
+    }
+
     default List<RoutingResultProcessor> getResultProcessors(Injector injector, Object returnValue) {
         return AnnotationMagic.getAnnotationsOnMethod(getHandlerMethod(), ResultProcessor.class)
                 .stream()
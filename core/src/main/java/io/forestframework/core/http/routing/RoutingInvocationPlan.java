@@ -0,0 +1,293 @@
+package io.forestframework.core.http.routing;
+
+import com.github.blindpirate.annotationmagic.AnnotationMagic;
+import io.forestframework.core.http.ArgumentInjector;
+import io.forestframework.core.http.Blocking;
+import io.forestframework.core.http.Deadline;
+import io.forestframework.core.http.Timeout;
+import io.forestframework.core.http.param.ContentTypeAwareRoutingParameterResolver;
+import io.forestframework.core.http.param.Form;
+import io.forestframework.core.http.param.FormRequestBodyParser;
+import io.forestframework.core.http.param.ParameterResolver;
+import io.forestframework.core.http.param.RoutingParameterResolver;
+import io.forestframework.core.http.result.ResultProcessor;
+import io.forestframework.core.http.result.RoutingResultProcessor;
+import io.forestframework.utils.ReflectionUtils;
+import io.forestframework.utils.StartupUtils;
+import kotlin.coroutines.Continuation;
+import org.apiguardian.api.API;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Everything the request pipeline needs to know about a {@link Routing}'s handler method, computed
+ * from reflection and annotations once instead of on every request:
+ *
+ * <ol>
+ *     <li>The parameter types and how each parameter is resolved, see {@link ParameterKind} and {@link #getParameterSlots(int)}.</li>
+ *     <li>The parameter annotations, looked up via {@link AnnotationMagic} at most once per parameter and type.</li>
+ *     <li>Whether the handler is a Kotlin suspend function or blocking, and the reflectasm invoker.</li>
+ *     <li>The result processor types and the {@link OnError} annotation of error handlers.</li>
+ *     <li>The values the resolvers and codecs derive from a parameter, e.g. its Jackson readers, see {@link #getParameterValue(int, ParameterValueFactory)}.</li>
+ * </ol>
+ *
+ * {@link CachingRoutingDecorator} builds the plan once when routings are finalized, other routings share the plan
+ * of their handler method, see {@link #of(Routing)}.
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public final class RoutingInvocationPlan {
+    private static final Object NONE = new Object();
+    // The plans of the routings which don't keep their own
+    private static final Map<Method, RoutingInvocationPlan> PLANS = new ConcurrentHashMap<>();
+
+    public enum ParameterKind {
+        /**
+         * The trailing {@link Continuation} parameter of a Kotlin suspend function, supplied by the coroutine bridge.
+         */
+        CONTINUATION,
+        /**
+         * A parameter annotated with a {@link ParameterResolver}, or a {@link Form}.
+         */
+        RESOLVER,
+        /**
+         * Any other parameter, resolved by {@link ArgumentInjector} by its type.
+         */
+        INJECTED
+    }
+
+    /**
+     * Derives a value from a parameter of the handler method, e.g. the reader which binds the request body to it.
+     * The instance identifies the value, so it's usually kept in a field of its resolver or codec.
+     */
+    @FunctionalInterface
+    public interface ParameterValueFactory<T> {
+        T create(RoutingInvocationPlan plan, int index);
+    }
+
+    private final Method handlerMethod;
+    private final RoutingType type;
+    private final Class<?>[] parameterTypes;
+    private final Type[] genericParameterTypes;
+    private final ParameterKind[] parameterKinds;
+    private final Class<? extends RoutingParameterResolver<?>>[] parameterResolverClasses;
+    private final int[][] parameterSlots;
+    private final int bodyParameterCount;
+    private final Map<Class<?>, Object>[] parameterAnnotations;
+    private final Map<ParameterValueFactory<?>, Object>[] parameterValues;
+    private final boolean kotlinSuspendFunction;
+    private final boolean blocking;
+    private final Blocking blockingAnnotation;
+    // -1 if not annotated
+    private final long timeoutMillis;
+    private final List<Class<? extends RoutingResultProcessor>> resultProcessorClasses;
+    private final OnError onError;
+    private final ReflectionUtils.MethodInvoker invoker;
+
+    @SuppressWarnings("unchecked")
+    public RoutingInvocationPlan(Routing routing) {
+        this.handlerMethod = routing.getHandlerMethod();
+        this.type = routing.getType();
+        this.parameterTypes = handlerMethod.getParameterTypes();
+        this.genericParameterTypes = handlerMethod.getGenericParameterTypes();
+        this.parameterKinds = new ParameterKind[parameterTypes.length];
+        this.parameterResolverClasses = new Class[parameterTypes.length];
+        this.parameterSlots = new int[parameterTypes.length][];
+        this.parameterAnnotations = new Map[parameterTypes.length];
+        this.parameterValues = new Map[parameterTypes.length];
+        int bodyParameters = 0;
+        for (int i = 0; i < parameterTypes.length; ++i) {
+            parameterAnnotations[i] = new ConcurrentHashMap<>();
+            parameterValues[i] = new ConcurrentHashMap<>();
+            if (parameterTypes[i] == Continuation.class) {
+                parameterKinds[i] = ParameterKind.CONTINUATION;
+                continue;
+            }
+            Class<? extends RoutingParameterResolver<?>> resolverClass = getParameterResolverClass(i, parameterTypes[i]);
+            if (resolverClass == null) {
+                parameterKinds[i] = ParameterKind.INJECTED;
+                parameterSlots[i] = ArgumentInjector.getSlots(parameterTypes[i]);
+            } else {
+                parameterKinds[i] = ParameterKind.RESOLVER;
+                parameterResolverClasses[i] = resolverClass;
+                if (ContentTypeAwareRoutingParameterResolver.class.isAssignableFrom(resolverClass)) {
+                    ++bodyParameters;
+                }
+                // Pre-bind the concrete annotation, e.g. @PathParam, which the resolver is going to ask for
+                for (Annotation annotation : handlerMethod.getParameterAnnotations()[i]) {
+                    if (AnnotationMagic.instanceOf(annotation, ParameterResolver.class)) {
+                        getParameterAnnotation(i, annotation.annotationType());
+                    }
+                }
+            }
+        }
+        this.bodyParameterCount = bodyParameters;
+        this.kotlinSuspendFunction = parameterTypes.length != 0 && parameterKinds[parameterTypes.length - 1] == ParameterKind.CONTINUATION;
+        this.blocking = routing.isBlocking();
+        this.blockingAnnotation = StartupUtils.getBlockingAnnotation(handlerMethod);
+        Timeout timeout = StartupUtils.getTimeoutAnnotation(handlerMethod);
+        this.timeoutMillis = timeout == null ? -1 : Deadline.parseMillis(timeout.value());
+        this.resultProcessorClasses = Collections.unmodifiableList(
+            AnnotationMagic.getAnnotationsOnMethod(handlerMethod, ResultProcessor.class)
+                           .stream()
+                           .map(ResultProcessor::by)
+                           .collect(Collectors.toList()));
+        this.onError = type == RoutingType.ERROR_HANDLER
+            ? AnnotationMagic.getOneAnnotationOnMethodOrNull(handlerMethod, OnError.class)
+            : null;
+        this.invoker = ReflectionUtils.getInvoker(handlerMethod);
+    }
+
+    /**
+     * The plan of the routing's handler method, built once per method. A routing whose type or blocking differs
+     * from the ones the plan was built for, which is rare, gets a new plan.
+     */
+    static RoutingInvocationPlan of(Routing routing) {
+        Method method = routing.getHandlerMethod();
+        RoutingInvocationPlan plan = PLANS.get(method);
+        if (plan == null) {
+            plan = PLANS.computeIfAbsent(method, m -> new RoutingInvocationPlan(routing));
+        }
+        return plan.type == routing.getType() && plan.blocking == routing.isBlocking() ? plan : new RoutingInvocationPlan(routing);
+    }
+
+    // A Form parameter doesn't need to be annotated
+    private Class<? extends RoutingParameterResolver<?>> getParameterResolverClass(int index, Class<?> parameterType) {
+        ParameterResolver resolver = getParameterAnnotation(index, ParameterResolver.class);
+        if (resolver != null) {
+            return resolver.resolver();
+        }
+        return parameterType == Form.class ? FormRequestBodyParser.class : null;
+    }
+
+    public Method getHandlerMethod() {
+        return handlerMethod;
+    }
+
+    public int getParameterCount() {
+        return parameterTypes.length;
+    }
+
+    public Class<?> getParameterType(int index) {
+        return parameterTypes[index];
+    }
+
+    /**
+     * Same as {@link Method#getGenericParameterTypes()} on the handler method, e.g. {@code List<Pet>} for a
+     * request body parameter.
+     */
+    public Type getGenericParameterType(int index) {
+        return genericParameterTypes[index];
+    }
+
+    public ParameterKind getParameterKind(int index) {
+        return parameterKinds[index];
+    }
+
+    /**
+     * @return the resolver class declared by the parameter's {@link ParameterResolver} annotation,
+     * or null if the parameter is not a {@link ParameterKind#RESOLVER} parameter.
+     */
+    public Class<? extends RoutingParameterResolver<?>> getParameterResolverClass(int index) {
+        return parameterResolverClasses[index];
+    }
+
+    /**
+     * @return the {@link ArgumentInjector} slots of the parameter, see {@link ArgumentInjector#getSlots(Class)},
+     * or null if the parameter is not a {@link ParameterKind#INJECTED} parameter.
+     */
+    public int[] getParameterSlots(int index) {
+        return parameterSlots[index];
+    }
+
+    /**
+     * @return the number of parameters which read the request body, i.e. the ones resolved by a
+     * {@link ContentTypeAwareRoutingParameterResolver}.
+     */
+    public int getBodyParameterCount() {
+        return bodyParameterCount;
+    }
+
+    /**
+     * Same as {@link AnnotationMagic#getOneAnnotationOnMethodParameterOrNull(Method, int, Class)} on the handler method,
+     * but each lookup is done only once.
+     */
+    @SuppressWarnings("unchecked")
+    public <A extends Annotation> A getParameterAnnotation(int index, Class<A> annotationType) {
+        Map<Class<?>, Object> annotations = parameterAnnotations[index];
+        Object ret = annotations.get(annotationType);
+        if (ret == null) {
+            ret = AnnotationMagic.getOneAnnotationOnMethodParameterOrNull(handlerMethod, index, annotationType);
+            if (ret == null) {
+                ret = NONE;
+            }
+            annotations.put(annotationType, ret);
+        }
+        return ret == NONE ? null : (A) ret;
+    }
+
+    /**
+     * The value created by the factory for the parameter, each factory is invoked at most once per parameter.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getParameterValue(int index, ParameterValueFactory<T> factory) {
+        Map<ParameterValueFactory<?>, Object> values = parameterValues[index];
+        Object ret = values.get(factory);
+        if (ret == null) {
+            ret = values.computeIfAbsent(factory, f -> factory.create(this, index));
+        }
+        return (T) ret;
+    }
+
+    public boolean isKotlinSuspendFunction() {
+        return kotlinSuspendFunction;
+    }
+
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    /**
+     * The {@link Blocking} annotation on the handler method or its class, or null if neither is annotated.
+     */
+    public Blocking getBlockingAnnotation() {
+        return blockingAnnotation;
+    }
+
+    /**
+     * The milliseconds of the {@link Timeout} annotation on the handler method or its class, 0 for no timeout,
+     * or -1 if neither is annotated.
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public List<Class<? extends RoutingResultProcessor>> getResultProcessorClasses() {
+        return resultProcessorClasses;
+    }
+
+    /**
+     * @return the {@link OnError} annotation if this is an {@link RoutingType#ERROR_HANDLER} routing, null otherwise.
+     */
+    public OnError getOnError() {
+        return onError;
+    }
+
+    public ReflectionUtils.MethodInvoker getInvoker() {
+        return invoker;
+    }
+
+    /**
+     * Invokes the handler method without {@link java.lang.reflect.Method#invoke(Object, Object...)}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T invoke(Object instance, Object[] arguments) {
+        return (T) invoker.invoke(instance, arguments);
+    }
+}
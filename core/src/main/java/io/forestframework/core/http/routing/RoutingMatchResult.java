@@ -7,15 +7,13 @@ import io.forestframework.core.http.bridge.BridgeEventType;
 import io.forestframework.core.http.bridge.DefaultBridgeRequestHandler;
 import io.forestframework.core.http.websocket.DefaultWebSocketRequestHandler;
 import io.forestframework.core.http.websocket.WebSocketEventType;
-import io.vertx.core.http.HttpServerRequest;
-import io.vertx.core.http.impl.HttpServerRequestInternal;
 import org.apiguardian.api.API;
 
 import java.util.Map;
 
 @API(status = API.Status.INTERNAL, since = "0.1")
 public interface RoutingMatchResult {
-    void select(HttpServerRequest request,
+    void select(DefaultHttpRequest request,
                 DefaultBridgeRequestHandler bridgeRequestHandler,
                 DefaultWebSocketRequestHandler webSocketRequestHandler,
                 DefaultPlainHttpRequestHandler plainHttpRequestHandler);
@@ -28,11 +26,11 @@ public interface RoutingMatchResult {
         }
 
         @Override
-        public void select(HttpServerRequest request,
+        public void select(DefaultHttpRequest request,
                            DefaultBridgeRequestHandler bridgeRequestHandler,
                            DefaultWebSocketRequestHandler webSocketRequestHandler,
                            DefaultPlainHttpRequestHandler plainHttpRequestHandler) {
-            bridgeRequestHandler.handle(new DefaultHttpRequest((HttpServerRequestInternal) request, this));
+            bridgeRequestHandler.handle(request);
         }
 
         public Map<BridgeEventType, BridgeRouting> getRoutings() {
@@ -51,11 +49,11 @@ public interface RoutingMatchResult {
         }
 
         @Override
-        public void select(HttpServerRequest request,
+        public void select(DefaultHttpRequest request,
                            DefaultBridgeRequestHandler bridgeRequestHandler,
                            DefaultWebSocketRequestHandler webSocketRequestHandler,
                            DefaultPlainHttpRequestHandler plainHttpRequestHandler) {
-            webSocketRequestHandler.handle(new DefaultHttpRequest((HttpServerRequestInternal) request, this));
+            webSocketRequestHandler.handle(request);
         }
 
         public Map<String, String> getPathParams() {
@@ -83,7 +81,7 @@ public interface RoutingMatchResult {
         }
 
         @Override
-        public void select(HttpServerRequest request,
+        public void select(DefaultHttpRequest request,
                            DefaultBridgeRequestHandler bridgeRequestHandler,
                            DefaultWebSocketRequestHandler webSocketRequestHandler,
                            DefaultPlainHttpRequestHandler plainHttpRequestHandler) {
@@ -0,0 +1,88 @@
+package io.forestframework.core.http.routing;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.forestframework.core.http.HttpMethod;
+import org.apiguardian.api.API;
+
+import java.util.Objects;
+
+/**
+ * A bounded, concurrent cache of {@link PlainHttpRoutingMatchResult}s in front of {@link RoutingMatcher}, keyed by
+ * everything that affects the matching: HTTP method, path, Accept and Content-Type. A hit skips the route tree.
+ *
+ * Only the results of constant paths, i.e. without path variables, wildcards or regexes, are cached, since the
+ * results of templated paths like {@code /todos/:id} can't be shared between requests. Only the results with a
+ * matching main handler are cached, so that unknown paths can't evict them.
+ */
+@API(status = API.Status.INTERNAL, since = "0.3")
+public class RoutingMatchResultCache {
+    private final Cache<Key, PlainHttpRoutingMatchResult> cache;
+
+    RoutingMatchResultCache(long maxSize) {
+        this.cache = CacheBuilder.newBuilder()
+                                 .maximumSize(maxSize)
+                                 .recordStats()
+                                 .build();
+    }
+
+    PlainHttpRoutingMatchResult getIfPresent(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    void put(Key key, PlainHttpRoutingMatchResult result) {
+        cache.put(key, result);
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    static final class Key {
+        private final String accept;
+        private final String contentType;
+        private final HttpMethod httpMethod;
+        private final String path;
+        private final int hashCode;
+
+        Key(String accept, String contentType, HttpMethod httpMethod, String path) {
+            this.accept = accept;
+            this.contentType = contentType;
+            this.httpMethod = httpMethod;
+            this.path = path;
+            this.hashCode = Objects.hash(accept, contentType, httpMethod, path);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(accept, key.accept) &&
+                Objects.equals(contentType, key.contentType) &&
+                httpMethod == key.httpMethod &&
+                Objects.equals(path, key.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
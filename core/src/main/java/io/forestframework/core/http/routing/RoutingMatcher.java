@@ -1,8 +1,11 @@
 package io.forestframework.core.http.routing;
 
+import io.forestframework.core.config.ConfigProvider;
 import io.forestframework.core.http.HttpException;
 import io.forestframework.core.http.HttpMethod;
+import io.forestframework.core.http.HttpStatusCode;
 import io.forestframework.core.http.bridge.BridgeEventType;
+import io.forestframework.core.http.routing.CompiledRouteTree.PathMatch;
 import io.forestframework.core.http.routing.RoutingMatchResult.BridgeRoutingMatchResult;
 import io.forestframework.core.http.websocket.WebSocketEventType;
 import io.forestframework.utils.Assert;
@@ -14,13 +17,12 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
+import static io.forestframework.core.http.OptimizedHeaders.HEADER_ACCEPT;
+import static io.forestframework.core.http.OptimizedHeaders.HEADER_CONTENT_TYPE;
 import static io.forestframework.core.http.routing.RoutingMatchResult.WebSocketRoutingMatchResult;
 
 
@@ -34,16 +36,39 @@ public class RoutingMatcher {
     // Special handling for "/"
     private static final String[] ROOT_PATH = new String[]{""};
     private final RouteSegmentNode root = new StringConstantNode("");
+    private final CompiledRouteTree compiledRouteTree;
     private final Map<String, Map<BridgeEventType, BridgeRouting>> bridgeRoutings;
     private final Map<String, Map<WebSocketEventType, WebSocketRouting>> webSocketRoutings;
+    private final RoutingMatchResultCache cache;
 
-    @Inject
     public RoutingMatcher(RoutingManager routingManager) {
+        this(routingManager, 0);
+    }
+
+    @Inject
+    public RoutingMatcher(RoutingManager routingManager, ConfigProvider configProvider) {
+        this(routingManager, configProvider.getInstance("routing.cache.maxSize", Integer.class));
+    }
+
+    /**
+     * @param cacheMaxSize the max size of the routing match result cache, non-positive value disables the cache.
+     */
+    public RoutingMatcher(RoutingManager routingManager, Integer cacheMaxSize) {
         Stream.of(RoutingType.values())
               .filter(type -> type != RoutingType.BRIDGE)
               .forEach(type -> addRoutings(routingManager.getRouting(type)));
+        // RoutingMatcher is created after DefaultRoutingManager.finalizeRoutings(), the tree never changes from now on
+        compiledRouteTree = CompiledRouteTree.compile(root);
         bridgeRoutings = ((DefaultRoutingManager) routingManager).getBridgeRoutings();
         webSocketRoutings = ((DefaultRoutingManager) routingManager).getWebSocketRoutings();
+        cache = cacheMaxSize != null && cacheMaxSize > 0 ? new RoutingMatchResultCache(cacheMaxSize) : null;
+    }
+
+    /**
+     * Returns the routing match result cache, or null if it's disabled.
+     */
+    public RoutingMatchResultCache getCache() {
+        return cache;
     }
 
     public RoutingMatchResult match(HttpServerRequest request) {
@@ -53,17 +78,30 @@ public class RoutingMatcher {
                 return bridgeResult;
             }
 
-            String[] pathSegments = split(request.path());
-            AtomicReference<RoutingMatchResult> result = new AtomicReference<>(new PlainHttpRoutingMatchResult());
-            root.getChildren().forEach(child -> visit(result, request, child, pathSegments, 0, new HashMap<>(pathSegments.length)));
+            RoutingMatchResultCache.Key key = null;
+            if (cache != null) {
+                key = new RoutingMatchResultCache.Key(request.getHeader(HEADER_ACCEPT),
+                                                      request.getHeader(HEADER_CONTENT_TYPE),
+                                                      HttpMethod.fromVertHttpMethod(request.method()),
+                                                      request.path());
+                PlainHttpRoutingMatchResult cachedResult = cache.getIfPresent(key);
+                if (cachedResult != null) {
+                    return cachedResult;
+                }
+            }
 
-            if (alreadySeenMatchedWebSocket(result)) {
-                WebSocketRoutingMatchResult webSocketResult = (WebSocketRoutingMatchResult) result.get();
+            PathMatch pathMatch = compiledRouteTree.match(request);
+            WebSocketRoutingMatchResult webSocketResult = pathMatch.getWebSocketResult();
+            if (webSocketResult != null) {
                 webSocketResult.setRoutings(webSocketRoutings.get(webSocketResult.getPath()));
                 return webSocketResult;
-            } else {
-                return result.get();
             }
+            PlainHttpRoutingMatchResult result = pathMatch.toResult(request);
+            // Templated paths are not cached, nor 404, 405, 406 and 415, so that they can't evict the valid constant paths
+            if (key != null && !pathMatch.isEmpty() && pathMatch.isConstant() && result.getMainHandlerMatchResult().getStatusCode() == HttpStatusCode.OK) {
+                cache.put(key, result);
+            }
+            return result;
         } catch (HttpException e) {
             LOGGER.error("", e);
             return new RoutingMatchResult.ErrorRoutingMatchResult(e);
@@ -81,16 +119,6 @@ public class RoutingMatcher {
         return null;
     }
 
-    static void visit(AtomicReference<RoutingMatchResult> result, HttpServerRequest request, RouteSegmentNode current, String[] path, int index, Map<String, String> pathVariables) {
-        if (!alreadySeenMatchedWebSocket(result) && current.visit(result, request, path, index, pathVariables)) {
-            current.getChildren().forEach(child -> visit(result, request, child, path, index + 1, new HashMap<>(pathVariables)));
-        }
-    }
-
-    private static boolean alreadySeenMatchedWebSocket(AtomicReference<RoutingMatchResult> result) {
-        return result.get() instanceof WebSocketRoutingMatchResult;
-    }
-
     private void addRoutings(List<Routing> routings) {
         for (Routing routing : routings) {
             if (StringUtils.isNotBlank(routing.getRegexPath())) {
@@ -128,38 +156,3 @@ public class RoutingMatcher {
         return current;
     }
 }
-
-class CacheKey {
-    private final String accept;
-    private final String contentType;
-    private final HttpMethod httpMethod;
-    private final String path;
-
-    public CacheKey(String accept, String contentType, HttpMethod httpMethod, String path) {
-        this.accept = accept;
-        this.contentType = contentType;
-        this.httpMethod = httpMethod;
-        this.path = path;
-    }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (o == null || getClass() != o.getClass()) {
-            return false;
-        }
-        CacheKey cacheKey = (CacheKey) o;
-        return Objects.equals(accept, cacheKey.accept) &&
-            Objects.equals(contentType, cacheKey.contentType) &&
-            httpMethod == cacheKey.httpMethod &&
-            Objects.equals(path, cacheKey.path);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(accept, contentType, httpMethod, path);
-    }
-}
-
@@ -0,0 +1,26 @@
+package io.forestframework.core.http.routing;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.regex.Pattern;
+
+class SingleStarWildcardNode extends RouteSegmentNode {
+    private final Pattern pattern;
+
+    public SingleStarWildcardNode(String name) {
+        super(name);
+
+        int lastStarIndex = StringUtils.lastIndexOf(name, '*');
+        pattern = Pattern.compile(
+                name.substring(0, lastStarIndex).replace("*", "(.*)") +
+                        name.substring(lastStarIndex).replace("*", "(?<wildcard>.*)")
+        );
+    }
+
+    /**
+     * Matched against a single path segment, the last star is captured in group "wildcard".
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+}
@@ -0,0 +1,7 @@
+package io.forestframework.core.http.routing;
+
+class StringConstantNode extends RouteSegmentNode {
+    public StringConstantNode(String name) {
+        super(name);
+    }
+}
@@ -0,0 +1,220 @@
+package io.forestframework.core.http.staticresource;
+
+import io.vertx.core.buffer.Buffer;
+import org.apiguardian.api.API;
+
+/**
+ * A static resource loaded by {@link StaticAssetStore} at startup, with the response headers computed once and the
+ * content held as read-only buffers, optionally along with its gzip and brotli variants.
+ *
+ * The content is hashed when it's loaded. The hash is the strong ETag of the content, and the fingerprint in the
+ * fingerprinted URL of the resource, e.g. {@code /js/app.3f2a1c9e.js}, see {@link StaticAssetUrls}.
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public class StaticAsset {
+    public static final String GZIP = "gzip";
+    public static final String BROTLI = "br";
+
+    private final String path;
+    private final String contentTypeHeader;
+    private final long lastModified;
+    private final String lastModifiedHeader;
+    private final boolean mapped;
+    private final Buffer content;
+    private final Buffer gzipContent;
+    private final Buffer brotliContent;
+    private final String hash;
+    private final String cacheControlHeader;
+    private final boolean fingerprinted;
+    private final String etag;
+    private final String gzipETag;
+    private final String brotliETag;
+
+    StaticAsset(String path, String contentTypeHeader, long lastModified, String lastModifiedHeader, boolean mapped,
+                Buffer content, Buffer gzipContent, Buffer brotliContent, String hash, String cacheControlHeader, boolean fingerprinted) {
+        this.path = path;
+        this.contentTypeHeader = contentTypeHeader;
+        this.lastModified = lastModified;
+        this.lastModifiedHeader = lastModifiedHeader;
+        this.mapped = mapped;
+        this.content = content;
+        this.gzipContent = gzipContent;
+        this.brotliContent = brotliContent;
+        this.hash = hash;
+        this.cacheControlHeader = cacheControlHeader;
+        this.fingerprinted = fingerprinted;
+        // A variant is a different representation, it has its own strong ETag
+        this.etag = "\"" + hash + "\"";
+        this.gzipETag = "\"" + hash + "-" + GZIP + "\"";
+        this.brotliETag = "\"" + hash + "-" + BROTLI + "\"";
+    }
+
+    /**
+     * The same asset, served at its fingerprinted path.
+     */
+    StaticAsset fingerprinted(String fingerprintedPath, String fingerprintedCacheControlHeader) {
+        return new StaticAsset(fingerprintedPath, contentTypeHeader, lastModified, lastModifiedHeader, mapped,
+                               content, gzipContent, brotliContent, hash, fingerprintedCacheControlHeader, true);
+    }
+
+    /**
+     * Inserts the fingerprint before the extension of the last segment of the path, e.g. {@code js/app.js} to
+     * {@code js/app.3f2a1c9e.js}.
+     */
+    public static String fingerprint(String path, String fingerprint) {
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        if (dot <= slash + 1) {
+            // No extension, or a name like ".babelrc"
+            return path + "." + fingerprint;
+        }
+        return path.substring(0, dot) + "." + fingerprint + path.substring(dot);
+    }
+
+    /**
+     * The resource path, e.g. {@code static/js/app.js}.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * The value of the Content-Type header, or null if the type can't be guessed from the file name.
+     */
+    public String getContentTypeHeader() {
+        return contentTypeHeader;
+    }
+
+    /**
+     * The last modified time in milliseconds, truncated to seconds.
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public String getLastModifiedHeader() {
+        return lastModifiedHeader;
+    }
+
+    public String getCacheControlHeader() {
+        return cacheControlHeader;
+    }
+
+    /**
+     * The hex SHA-256 hash of the content.
+     */
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * The short hash in the fingerprinted URL.
+     */
+    public String getFingerprint() {
+        return hash.substring(0, 8);
+    }
+
+    /**
+     * Whether this asset is served at its fingerprinted path.
+     */
+    public boolean isFingerprinted() {
+        return fingerprinted;
+    }
+
+    /**
+     * The strong ETag of the content or its variant.
+     *
+     * @param encoding {@link #GZIP}, {@link #BROTLI}, or null for identity
+     */
+    public String getETag(String encoding) {
+        if (GZIP.equals(encoding)) {
+            return gzipETag;
+        } else if (BROTLI.equals(encoding)) {
+            return brotliETag;
+        }
+        return etag;
+    }
+
+    /**
+     * Whether the content is a memory-mapped region of the file instead of a copy in memory.
+     */
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    public Buffer getContent() {
+        return content;
+    }
+
+    /**
+     * Whether there is any compressed variant, i.e. the response varies by Accept-Encoding.
+     */
+    public boolean hasVariants() {
+        return gzipContent != null || brotliContent != null;
+    }
+
+    /**
+     * The compressed variant of the content, or null if there is none.
+     *
+     * @param encoding {@link #GZIP} or {@link #BROTLI}
+     */
+    public Buffer getVariant(String encoding) {
+        if (GZIP.equals(encoding)) {
+            return gzipContent;
+        } else if (BROTLI.equals(encoding)) {
+            return brotliContent;
+        }
+        return null;
+    }
+
+    /**
+     * Selects the best encoding accepted by the Accept-Encoding header, brotli over gzip over identity.
+     *
+     * @return {@link #BROTLI}, {@link #GZIP}, or null for identity
+     */
+    public String selectEncoding(String acceptEncoding) {
+        if (acceptEncoding == null || !hasVariants()) {
+            return null;
+        }
+        String ret = null;
+        int start = 0;
+        while (start < acceptEncoding.length()) {
+            int end = acceptEncoding.indexOf(',', start);
+            if (end == -1) {
+                end = acceptEncoding.length();
+            }
+            String encoding = getAcceptedEncoding(acceptEncoding, start, end);
+            if (BROTLI.equalsIgnoreCase(encoding) && brotliContent != null) {
+                return BROTLI;
+            } else if (GZIP.equalsIgnoreCase(encoding) && gzipContent != null) {
+                ret = GZIP;
+            }
+            start = end + 1;
+        }
+        return ret;
+    }
+
+    /**
+     * The encoding name of {@code gzip;q=0.8}, or null if its quality is 0.
+     */
+    private static String getAcceptedEncoding(String acceptEncoding, int start, int end) {
+        int semicolon = acceptEncoding.indexOf(';', start);
+        int nameEnd = semicolon == -1 || semicolon > end ? end : semicolon;
+        String name = acceptEncoding.substring(start, nameEnd).trim();
+        if (nameEnd != end) {
+            String parameter = acceptEncoding.substring(nameEnd + 1, end).trim();
+            if (parameter.startsWith("q=") && isZero(parameter.substring(2))) {
+                return null;
+            }
+        }
+        return name;
+    }
+
+    private static boolean isZero(String quality) {
+        try {
+            return Double.parseDouble(quality) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
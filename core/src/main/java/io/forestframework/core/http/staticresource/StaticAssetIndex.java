@@ -0,0 +1,130 @@
+package io.forestframework.core.http.staticresource;
+
+import io.forestframework.core.http.routing.Routing;
+import org.apiguardian.api.API;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes the request paths of the static resources in {@link StaticAssetStore}: an exact-path hash for files and a
+ * prefix trie for directories. {@link io.forestframework.core.http.DefaultHttpRequestDispatcher} looks up the index
+ * before matching routings, so a static resource is sent without going through the routing tree, the handler
+ * invocation and the parameter resolution.
+ *
+ * The index is populated at startup and read-only afterwards. It also remembers the routings registered for the
+ * indexed paths, so that the dispatcher can tell them from the application's own routings.
+ */
+@Singleton
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public class StaticAssetIndex {
+    private final StaticAssetStore assetStore;
+    // "/index.html" -> the asset of "static/index.html"
+    private final Map<String, StaticAsset> files = new HashMap<>();
+    private final DirectoryNode root = new DirectoryNode();
+    private final Set<Routing> routings = new HashSet<>();
+
+    @Inject
+    public StaticAssetIndex(StaticAssetStore assetStore) {
+        this.assetStore = assetStore;
+    }
+
+    /**
+     * Indexes a loaded resource file, the first one wins if the path is indexed twice.
+     *
+     * @param path the request path, e.g. {@code /index.html}
+     * @param resourcePath the resource path in {@link StaticAssetStore}, e.g. {@code static/index.html}
+     * @param routing the routing registered for the path
+     */
+    public void addFile(String path, String resourcePath, Routing routing) {
+        StaticAsset asset = assetStore.get(resourcePath);
+        if (asset != null) {
+            files.putIfAbsent(path, asset);
+        }
+        routings.add(routing);
+    }
+
+    /**
+     * Indexes a resource directory, whose loaded files are looked up by the rest of the request path.
+     *
+     * @param path the request path prefix, e.g. {@code /js}
+     * @param resourceDir the resource directory in {@link StaticAssetStore}, e.g. {@code static/js}
+     * @param routing the routing registered for the directory
+     */
+    public void addDirectory(String path, String resourceDir, Routing routing) {
+        DirectoryNode node = root;
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                node = node.children.computeIfAbsent(segment, s -> new DirectoryNode());
+            }
+        }
+        node.resourceDirs.add(resourceDir);
+        routings.add(routing);
+    }
+
+    /**
+     * Whether the routing is registered for an indexed path.
+     */
+    public boolean isIndexed(Routing routing) {
+        return routings.contains(routing);
+    }
+
+    /**
+     * Returns the asset of the request path, or null if the path is not indexed.
+     */
+    public StaticAsset find(String path) {
+        StaticAsset ret = files.get(path);
+        if (ret != null || root.children.isEmpty()) {
+            return ret;
+        }
+        // Walk down the trie, from the deepest directory back to the root
+        List<DirectoryNode> directories = null;
+        List<Integer> offsets = null;
+        DirectoryNode node = root;
+        int start = 1;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                // The last segment is a file name
+                break;
+            }
+            node = node.children.get(path.substring(start, end));
+            if (node == null) {
+                break;
+            }
+            if (!node.resourceDirs.isEmpty()) {
+                if (directories == null) {
+                    directories = new ArrayList<>(2);
+                    offsets = new ArrayList<>(2);
+                }
+                directories.add(node);
+                offsets.add(end);
+            }
+            start = end + 1;
+        }
+        if (directories == null) {
+            return null;
+        }
+        for (int i = directories.size() - 1; i >= 0; --i) {
+            String rest = path.substring(offsets.get(i));
+            for (String resourceDir : directories.get(i).resourceDirs) {
+                ret = assetStore.get(resourceDir + rest);
+                if (ret != null) {
+                    return ret;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static final class DirectoryNode {
+        private final Map<String, DirectoryNode> children = new HashMap<>();
+        private final List<String> resourceDirs = new ArrayList<>(1);
+    }
+}
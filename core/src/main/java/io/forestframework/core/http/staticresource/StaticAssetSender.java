@@ -0,0 +1,141 @@
+package io.forestframework.core.http.staticresource;
+
+import io.forestframework.core.http.HttpStatusCode;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.impl.Utils;
+import org.apiguardian.api.API;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends a {@link StaticAsset} with the same headers as {@link ForkedStaticHandlerImpl} plus a strong ETag, but
+ * everything is answered from memory: conditional requests, range requests, and the variant accepted by
+ * Accept-Encoding.
+ */
+@API(status = API.Status.INTERNAL, since = "0.3")
+public final class StaticAssetSender {
+    private static final Pattern RANGE = Pattern.compile("^bytes=(\\d+)-(\\d*)$");
+    private static final Pattern CACHE_CONTROL_NO_CACHE = Pattern.compile("(?:^|,)\\s*?no-cache\\s*?(?:,|$)");
+
+    private StaticAssetSender() {
+    }
+
+    public static Future<Void> send(HttpServerRequest request, HttpServerResponse response, StaticAsset asset) {
+        MultiMap headers = response.headers();
+        headers.set(HttpHeaders.CACHE_CONTROL, asset.getCacheControlHeader());
+        headers.set(HttpHeaders.LAST_MODIFIED, asset.getLastModifiedHeader());
+        headers.set(HttpHeaders.DATE, Utils.formatRFC1123DateTime(System.currentTimeMillis()));
+        if (asset.hasVariants()) {
+            headers.set(HttpHeaders.VARY, "accept-encoding");
+        }
+
+        // Ranges are always served from the identity content
+        String range = request.getHeader("Range");
+        Matcher rangeMatcher = range == null ? null : RANGE.matcher(range);
+        if (rangeMatcher != null && !rangeMatcher.matches()) {
+            rangeMatcher = null;
+        }
+        String encoding = rangeMatcher == null ? asset.selectEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING)) : null;
+        String etag = asset.getETag(encoding);
+        headers.set(HttpHeaders.ETAG, etag);
+
+        if (isFresh(request, asset, etag)) {
+            return response.setStatusCode(HttpStatusCode.NOT_MODIFIED.getCode()).end();
+        }
+
+        if (asset.getContentTypeHeader() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, asset.getContentTypeHeader());
+        }
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (rangeMatcher != null) {
+            return sendRange(request, response, asset.getContent(), rangeMatcher);
+        }
+
+        Buffer content = encoding == null ? asset.getContent() : asset.getVariant(encoding);
+        if (encoding != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        return end(request, response, content);
+    }
+
+    private static Future<Void> sendRange(HttpServerRequest request, HttpServerResponse response, Buffer content, Matcher matcher) {
+        int length = content.length();
+        int offset;
+        int end = length - 1;
+        try {
+            offset = Integer.parseInt(matcher.group(1));
+            if (offset < 0 || offset >= length) {
+                throw new IndexOutOfBoundsException();
+            }
+            String part = matcher.group(2);
+            if (part != null && part.length() > 0) {
+                end = (int) Math.min(end, Long.parseLong(part));
+                if (end < offset) {
+                    throw new IndexOutOfBoundsException();
+                }
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            response.headers().set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return response.setStatusCode(HttpStatusCode.REQUESTED_RANGE_NOT_SATISFIABLE.getCode()).end();
+        }
+        response.headers().set(HttpHeaders.CONTENT_RANGE, "bytes " + offset + "-" + end + "/" + length);
+        response.setStatusCode(HttpStatusCode.PARTIAL_CONTENT.getCode());
+        return end(request, response, content.slice(offset, end + 1));
+    }
+
+    private static Future<Void> end(HttpServerRequest request, HttpServerResponse response, Buffer content) {
+        if (request.method() == HttpMethod.HEAD) {
+            response.headers().set(HttpHeaders.CONTENT_LENGTH, Integer.toString(content.length()));
+            return response.end();
+        }
+        return response.end(content);
+    }
+
+    /**
+     * If-None-Match takes precedence over If-Modified-Since, see RFC 7232 section 6.
+     */
+    private static boolean isFresh(HttpServerRequest request, StaticAsset asset, String etag) {
+        String noneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        String modifiedSince = noneMatch == null ? request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) : null;
+        if (noneMatch == null && modifiedSince == null) {
+            return false;
+        }
+        // Always stale when Cache-Control: no-cache, to support end-to-end reload requests
+        String cacheControl = request.getHeader(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl != null && CACHE_CONTROL_NO_CACHE.matcher(cacheControl).find()) {
+            return false;
+        }
+        if (noneMatch != null) {
+            return matches(noneMatch, etag);
+        }
+        return modifiedSince.equals(asset.getLastModifiedHeader())
+            || asset.getLastModified() <= Utils.parseRFC1123DateTime(modifiedSince);
+    }
+
+    /**
+     * The weak comparison of If-None-Match, i.e. {@code W/"xxx"} matches {@code "xxx"}.
+     */
+    private static boolean matches(String noneMatch, String etag) {
+        if (noneMatch.equals(etag) || "*".equals(noneMatch.trim())) {
+            return true;
+        }
+        for (String candidate : noneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
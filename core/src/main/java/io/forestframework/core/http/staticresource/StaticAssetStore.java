@@ -0,0 +1,215 @@
+package io.forestframework.core.http.staticresource;
+
+import io.forestframework.core.config.ConfigProvider;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.impl.MimeMapping;
+import io.vertx.ext.web.handler.StaticHandler;
+import io.vertx.ext.web.impl.Utils;
+import org.apiguardian.api.API;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds the static resources loaded at startup, so that they can be served without touching the file system.
+ *
+ * Files no larger than {@code static.memoryThreshold} bytes are copied into read-only direct buffers, larger ones are
+ * memory-mapped. The gzip variant of a compressible in-memory file is computed once when it's loaded, unless there
+ * is a precompressed {@code .gz} file next to it. Memory-mapped files only get the precompressed gzip variant.
+ * The brotli variant is read from a precompressed {@code .br} file next to the file, if any.
+ *
+ * Every file is hashed when it's loaded, see {@link StaticAsset}. If {@code static.fingerprint} is enabled, each
+ * resource is also available at its fingerprinted path, e.g. {@code static/js/app.3f2a1c9e.js}, which is cached
+ * for a year as immutable, while the original path must be revalidated with the ETag.
+ */
+@Singleton
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public class StaticAssetStore {
+    private static final Set<String> COMPRESSIBLE_TYPES = new HashSet<>(Arrays.asList(
+        "application/javascript", "application/json", "application/xml", "application/xhtml+xml", "image/svg+xml", "image/x-icon"
+    ));
+    private static final String DEFAULT_CACHE_CONTROL = "public, immutable, max-age=" + StaticHandler.DEFAULT_MAX_AGE_SECONDS;
+    private static final String REVALIDATED_CACHE_CONTROL = "public, no-cache";
+    private static final String FINGERPRINTED_CACHE_CONTROL = "public, immutable, max-age=31536000";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private final Map<String, StaticAsset> assets = new ConcurrentHashMap<>();
+    // Fingerprinted resource path -> asset
+    private final Map<String, StaticAsset> fingerprintedAssets = new ConcurrentHashMap<>();
+    private final int memoryThreshold;
+    private final boolean fingerprint;
+
+    @Inject
+    public StaticAssetStore(ConfigProvider configProvider) {
+        this(configProvider.getInstance("static.memoryThreshold", Integer.class),
+             configProvider.getInstance("static.fingerprint", Boolean.class));
+    }
+
+    StaticAssetStore(int memoryThreshold) {
+        this(memoryThreshold, false);
+    }
+
+    StaticAssetStore(int memoryThreshold, boolean fingerprint) {
+        this.memoryThreshold = memoryThreshold;
+        this.fingerprint = fingerprint;
+    }
+
+    public boolean isFingerprintEnabled() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns the asset of the resource path or the fingerprinted resource path, or null if it's not loaded.
+     */
+    public StaticAsset get(String path) {
+        StaticAsset ret = assets.get(path);
+        return ret != null || fingerprintedAssets.isEmpty() ? ret : fingerprintedAssets.get(path);
+    }
+
+    /**
+     * Loads the file as the asset of the resource path, if the resource path is not loaded yet.
+     *
+     * @param path the resource path, e.g. {@code static/js/app.js}
+     * @param file the file
+     */
+    public StaticAsset load(String path, File file) {
+        loadAll(Collections.singletonMap(path, file));
+        return assets.get(path);
+    }
+
+    /**
+     * Loads the files whose resource paths are not loaded yet. Reading, hashing and compressing the files run in
+     * parallel on all cores.
+     *
+     * @param files resource path to file
+     */
+    public void loadAll(Map<String, File> files) {
+        List<StaticAsset> loaded = files.entrySet()
+                                        .parallelStream()
+                                        .filter(entry -> !assets.containsKey(entry.getKey()))
+                                        .map(entry -> doLoad(entry.getKey(), entry.getValue()))
+                                        .collect(Collectors.toList());
+        for (StaticAsset asset : loaded) {
+            if (assets.putIfAbsent(asset.getPath(), asset) == null && fingerprint) {
+                String fingerprintedPath = StaticAsset.fingerprint(asset.getPath(), asset.getFingerprint());
+                fingerprintedAssets.put(fingerprintedPath, asset.fingerprinted(fingerprintedPath, FINGERPRINTED_CACHE_CONTROL));
+            }
+        }
+    }
+
+    private StaticAsset doLoad(String path, File file) {
+        try {
+            long lastModified = file.lastModified() / 1000 * 1000;
+            String contentType = MimeMapping.getMimeTypeForFilename(file.getName());
+            boolean mapped = file.length() > memoryThreshold;
+            Buffer content;
+            Buffer gzipContent;
+            String hash;
+            if (mapped) {
+                ByteBuffer mappedBuffer = map(file);
+                hash = hash(mappedBuffer.duplicate());
+                content = Buffer.buffer(Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(mappedBuffer)));
+                gzipContent = readSibling(file, ".gz");
+            } else {
+                byte[] bytes = Files.readAllBytes(file.toPath());
+                hash = hash(ByteBuffer.wrap(bytes));
+                content = Buffer.buffer(toReadOnlyBuffer(bytes));
+                gzipContent = readSibling(file, ".gz");
+                if (gzipContent == null && isCompressible(contentType)) {
+                    gzipContent = gzip(bytes);
+                }
+            }
+            return new StaticAsset(path,
+                                   toContentTypeHeader(contentType),
+                                   lastModified,
+                                   Utils.formatRFC1123DateTime(lastModified),
+                                   mapped,
+                                   content,
+                                   gzipContent,
+                                   readSibling(file, ".br"),
+                                   hash,
+                                   fingerprint ? REVALIDATED_CACHE_CONTROL : DEFAULT_CACHE_CONTROL,
+                                   false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't load static resource " + file.getAbsolutePath(), e);
+        }
+    }
+
+    private static String toContentTypeHeader(String contentType) {
+        if (contentType != null && contentType.startsWith("text")) {
+            return contentType + ";charset=UTF-8";
+        }
+        return contentType;
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType != null && (contentType.startsWith("text") || COMPRESSIBLE_TYPES.contains(contentType));
+    }
+
+    private static ByteBuffer map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * The hex SHA-256 hash of the content.
+     */
+    private static String hash(ByteBuffer content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content);
+            byte[] bytes = digest.digest();
+            char[] ret = new char[bytes.length * 2];
+            for (int i = 0; i < bytes.length; ++i) {
+                ret[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+                ret[i * 2 + 1] = HEX[bytes[i] & 0xF];
+            }
+            return new String(ret);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ByteBuf toReadOnlyBuffer(byte[] bytes) {
+        ByteBuf buffer = Unpooled.directBuffer(bytes.length, bytes.length).writeBytes(bytes);
+        return Unpooled.unreleasableBuffer(buffer.asReadOnly());
+    }
+
+    private static Buffer readSibling(File file, String suffix) throws IOException {
+        File sibling = new File(file.getParentFile(), file.getName() + suffix);
+        return sibling.isFile() ? Buffer.buffer(toReadOnlyBuffer(Files.readAllBytes(sibling.toPath()))) : null;
+    }
+
+    /**
+     * The gzip variant of the content, or null if it's not smaller than the content.
+     */
+    private static Buffer gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size() < bytes.length ? Buffer.buffer(toReadOnlyBuffer(out.toByteArray())) : null;
+    }
+}
@@ -0,0 +1,47 @@
+package io.forestframework.core.http.staticresource;
+
+import org.apiguardian.api.API;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Resolves the URL to reference a static resource with, e.g. in templates. If {@code static.fingerprint} is enabled,
+ * it's the fingerprinted URL, which can be cached forever:
+ *
+ * <pre>
+ * &#64;Inject
+ * StaticAssetUrls urls;
+ *
+ * urls.url("/js/app.js"); // "/js/app.3f2a1c9e.js"
+ * </pre>
+ *
+ * Otherwise, or if the path is not a static resource, the path is returned as it is.
+ */
+@Singleton
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public class StaticAssetUrls {
+    private final StaticAssetStore assetStore;
+    private final StaticAssetIndex assetIndex;
+
+    @Inject
+    public StaticAssetUrls(StaticAssetStore assetStore, StaticAssetIndex assetIndex) {
+        this.assetStore = assetStore;
+        this.assetIndex = assetIndex;
+    }
+
+    /**
+     * @param path the request path of a static resource, e.g. {@code /js/app.js}
+     * @return the URL to reference the static resource with
+     */
+    public String url(String path) {
+        if (!assetStore.isFingerprintEnabled() || path.endsWith("/")) {
+            return path;
+        }
+        StaticAsset asset = assetIndex.find(path);
+        if (asset == null || asset.isFingerprinted()) {
+            return path;
+        }
+        return StaticAsset.fingerprint(path, asset.getFingerprint());
+    }
+}
@@ -41,16 +41,20 @@ import java.util.Set;
  * Given a resource name "relative/path/to/resource.txt", for directory classpath entry "file:///home/my/resources",
  * the resource file "file:///home/my/resources/relative/path/to/resource.txt" will be located and sent; for jar classpath entry
  * "file:///home/lib/my.jar", the "relative/path/to/resource.txt" inside that jar will be located and sent.
+ * <p>
+ * Resources loaded into {@link StaticAssetStore} at startup are sent from memory by {@link StaticAssetSender} instead.
  */
 @Singleton
 @SuppressFBWarnings("RV_RETURN_VALUE_IGNORED_NO_SIDE_EFFECT")
 public class StaticResourceProcessor implements RoutingResultProcessor {
     private final ForkedStaticHandlerImpl staticHandler = new ForkedStaticHandlerImpl();
     private final Vertx vertx;
+    private final StaticAssetStore assetStore;
 
     @Inject
-    public StaticResourceProcessor(Vertx vertx) {
+    public StaticResourceProcessor(Vertx vertx, StaticAssetStore assetStore) {
         this.vertx = vertx;
+        this.assetStore = assetStore;
     }
 
     @Override
@@ -62,6 +66,11 @@ public class StaticResourceProcessor implements RoutingResultProcessor {
             return returnValue;
         }
 
+        StaticAsset asset = assetStore.get(path);
+        if (asset != null) {
+            return StaticAssetSender.send(context.request(), context.response(), asset);
+        }
+
         EndAwareRoutingContextDecorator endAwareRoutingContext = new EndAwareRoutingContextDecorator(vertx, context);
         staticHandler.sendStatic(endAwareRoutingContext, vertx.fileSystem(), path);
         return endAwareRoutingContext.getFuture();
@@ -2,11 +2,17 @@ package io.forestframework.core.http.websocket;
 
 import com.google.inject.Injector;
 import io.forestframework.core.http.ArgumentInjector;
+import io.forestframework.core.http.CancellationToken;
+import io.forestframework.core.http.Deadline;
 import io.forestframework.core.http.WebContext;
 import io.forestframework.core.http.routing.Routing;
+import kotlinx.coroutines.CompletableJob;
+import kotlinx.coroutines.Job;
+import kotlinx.coroutines.JobKt;
 import org.apiguardian.api.API;
 
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -14,18 +20,80 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 @API(status = API.Status.INTERNAL, since = "0.1")
 public abstract class AbstractWebContext implements WebContext {
-    private final ArgumentInjector argumentInjector;
+    private ArgumentInjector argumentInjector;
     private final ConcurrentHashMap<String, Object> data = new ConcurrentHashMap<>();
     private Routing routing;
+    private CancellationToken cancellationToken = new CancellationToken();
+    private Job coroutineJob;
+    private Deadline deadline = Deadline.NONE;
 
     public AbstractWebContext(Injector injector) {
-        this.argumentInjector = new ArgumentInjector(injector);
+        this.argumentInjector = ArgumentInjector.acquire(injector);
+        this.argumentInjector.withParameter(CancellationToken.class, cancellationToken);
+        this.argumentInjector.withParameter(Deadline.class, deadline);
     }
 
     public ArgumentInjector getArgumentInjector() {
+        if (argumentInjector == null) {
+            throw new IllegalStateException("The argument injector has been released.");
+        }
         return argumentInjector;
     }
 
+    /**
+     * Returns the argument injector to the pool once no more handlers are going to be invoked in this context.
+     */
+    public void releaseArgumentInjector() {
+        if (argumentInjector != null) {
+            argumentInjector.release();
+            argumentInjector = null;
+        }
+    }
+
+    /**
+     * The token cancelled when the client goes away or the handlers time out, see {@link CancellationToken}.
+     */
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * Cancels the current token and replaces it with a new one, e.g. when the handlers time out, so that the handlers
+     * invoked afterwards, e.g. error handlers, can still run. The new token is cancelled when the client goes away too.
+     */
+    public void renewCancellationToken() {
+        CancellationToken cancelled = cancellationToken;
+        cancellationToken = new CancellationToken();
+        coroutineJob = null;
+        if (argumentInjector != null) {
+            argumentInjector.withParameter(CancellationToken.class, cancellationToken);
+        }
+        cancelled.cancel();
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        getArgumentInjector().withParameter(Deadline.class, deadline);
+    }
+
+    /**
+     * The job of the Kotlin suspend handlers invoked in this context, created when it's first requested. It's cancelled
+     * with the {@link #getCancellationToken() cancellation token}, so that the in-flight suspensions of the handlers
+     * are cancelled instead of occupying resources for an abandoned request.
+     */
+    public Job getCoroutineJob() {
+        if (coroutineJob == null) {
+            CompletableJob job = JobKt.Job(null);
+            cancellationToken.onCancel(() -> job.cancel(new CancellationException("The web context is closed")));
+            coroutineJob = job;
+        }
+        return coroutineJob;
+    }
+
     public ConcurrentHashMap<String, Object> getData() {
         return data;
     }
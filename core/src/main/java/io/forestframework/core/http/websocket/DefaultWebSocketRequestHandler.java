@@ -4,6 +4,7 @@ import com.google.inject.Injector;
 import com.google.inject.Singleton;
 import io.forestframework.core.http.AbstractWebRequestHandler;
 import io.forestframework.core.http.DefaultHttpRequest;
+import io.forestframework.core.http.EventLoopMonitor;
 import io.forestframework.core.http.HttpRequestHandler;
 import io.forestframework.core.http.routing.RoutingMatchResult;
 import io.forestframework.core.http.routing.WebSocketRouting;
@@ -33,8 +34,9 @@ public class DefaultWebSocketRequestHandler extends AbstractWebRequestHandler im
 
     @Inject
     public DefaultWebSocketRequestHandler(Vertx vertx,
-                                          Injector injector) {
-        super(vertx, injector);
+                                          Injector injector,
+                                          EventLoopMonitor eventLoopMonitor) {
+        super(vertx, injector, eventLoopMonitor);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package io.forestframework.core.modules;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.AbstractModule;
 import com.google.inject.Scopes;
 import io.forestframework.core.Component;
@@ -30,6 +31,7 @@ public class CoreModule extends AbstractModule {
         bind(SharedData.class).toInstance(applicationContext.getVertx().sharedData());
         bind(FileSystem.class).toInstance(applicationContext.getVertx().fileSystem());
         bind(Class.class).annotatedWith(ForestApplication.class).toInstance(applicationContext.getAppClass());
+        bind(ObjectMapper.class).toProvider(ObjectMapperProvider.class).in(Scopes.SINGLETON);
 
         bindScope(ForestApplication.class, Scopes.SINGLETON);
         bindScope(Router.class, Scopes.SINGLETON);
@@ -0,0 +1,59 @@
+package io.forestframework.core.modules;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.forestframework.core.config.ConfigProvider;
+import org.apiguardian.api.API;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+/**
+ * Provides the {@link ObjectMapper} shared by the JSON request body parser and result processor,
+ * and creates the ones of the binary codecs, see {@link io.forestframework.core.http.codec.CodecRegistry}.
+ *
+ * With {@code json.accelerate: true}, the (de)serializers are generated as bytecode by
+ * <a href="https://github.com/FasterXML/jackson-modules-base/tree/2.12/afterburner">Jackson Afterburner</a>,
+ * which needs {@code com.fasterxml.jackson.module:jackson-module-afterburner} on the classpath.
+ *
+ * To customize the {@link ObjectMapper} further, bind your own one in a module, which overrides this provider.
+ */
+@API(status = API.Status.EXPERIMENTAL, since = "0.3")
+public class ObjectMapperProvider implements Provider<ObjectMapper> {
+    private static final String AFTERBURNER_MODULE = "com.fasterxml.jackson.module.afterburner.AfterburnerModule";
+    private final boolean accelerate;
+
+    @Inject
+    public ObjectMapperProvider(ConfigProvider configProvider) {
+        this.accelerate = Boolean.TRUE.equals(configProvider.getInstance("json.accelerate", Boolean.class));
+    }
+
+    @Override
+    public ObjectMapper get() {
+        return create(null);
+    }
+
+    /**
+     * Creates an {@link ObjectMapper} of the format of the factory, configured like the JSON one.
+     *
+     * @param factory the factory of the format, null for JSON
+     */
+    public ObjectMapper create(JsonFactory factory) {
+        ObjectMapper ret = new ObjectMapper(factory);
+        if (accelerate) {
+            ret.registerModule(createAfterburnerModule());
+        }
+        return ret;
+    }
+
+    private static Module createAfterburnerModule() {
+        try {
+            return (Module) Class.forName(AFTERBURNER_MODULE).getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("json.accelerate requires com.fasterxml.jackson.module:jackson-module-afterburner on the classpath.", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -8,6 +8,9 @@ import io.forestframework.core.http.param.RoutingParameterResolver;
 import io.forestframework.core.http.routing.Routing;
 import io.forestframework.core.http.routing.RoutingManager;
 import io.forestframework.core.http.routing.RoutingType;
+import io.forestframework.core.http.staticresource.StaticAsset;
+import io.forestframework.core.http.staticresource.StaticAssetIndex;
+import io.forestframework.core.http.staticresource.StaticAssetStore;
 import io.forestframework.core.http.staticresource.StaticResource;
 import io.forestframework.ext.api.After;
 import io.forestframework.ext.api.ApplicationContext;
@@ -21,8 +24,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Scan classpath and register all classpath:/static/* resources
@@ -32,6 +37,10 @@ import java.util.List;
  *
  * Specially, classpath:/static/index.html will be registered as '/' routing.
  *
+ * All scanned resources are loaded into {@link StaticAssetStore} at startup, so they're served from memory, and indexed
+ * into {@link StaticAssetIndex}, so a request for them bypasses the routing tree unless an application routing matches
+ * the same path.
+ *
  * The "static" directory name can be configured via "static.webroot" and "static.webroots"
  *
  * Note that existing routings will not be overwritten. For example, if your application
@@ -99,67 +108,127 @@ public class AutoStaticResourceScanExtension implements Extension {
         webroots.add(webroot);
 
         RoutingManager routings = injector.getInstance(RoutingManager.class);
+        StaticAssetStore assetStore = injector.getInstance(StaticAssetStore.class);
+        StaticAssetIndex assetIndex = injector.getInstance(StaticAssetIndex.class);
 
         boolean rootPathRegistered = routings.getRouting(RoutingType.HANDLER).stream()
                                              .anyMatch(it -> "/".equals(it.getPath()));
 
+        // Load all resources at once, so that they're loaded in parallel
+        Map<String, File> assetFiles = new LinkedHashMap<>();
         for (String root : webroots) {
-            configureOne(root, routings, rootPathRegistered);
+            String webrootDir = normalize(root);
+            for (File staticResource : listStaticResources(webrootDir)) {
+                collectAssetFiles(webrootDir + "/" + staticResource.getName(), staticResource, assetFiles);
+            }
+        }
+        assetStore.loadAll(assetFiles);
+
+        for (String root : webroots) {
+            configureOne(normalize(root), routings, assetStore, assetIndex, rootPathRegistered);
         }
     }
 
-    private void configureOne(String webrootDir, RoutingManager routings, boolean rootPatRegistered) {
+    private static String normalize(String webrootDir) {
         if (webrootDir.startsWith("/")) {
             webrootDir = webrootDir.substring(1);
         }
         if (webrootDir.endsWith("/")) {
             webrootDir = webrootDir.substring(0, webrootDir.length() - 1);
         }
+        return webrootDir;
+    }
 
+    /**
+     * The files and directories in the webroot directory of all classpath entries.
+     */
+    private List<File> listStaticResources(String webrootDir) {
+        List<File> ret = new ArrayList<>();
         try {
             Enumeration<URL> resources = getClass().getClassLoader().getResources(webrootDir);
             while (resources.hasMoreElements()) {
                 File resourceFile = new File(resources.nextElement().getPath());
                 if (resourceFile.isDirectory()) {
                     File[] staticResources = resourceFile.listFiles();
-                    if (staticResources == null) {
-                        continue;
-                    }
-                    for (File staticResource : staticResources) {
-                        if (staticResource.isDirectory()) {
-                            registerDirectoryRouting(routings, webrootDir, staticResource);
-                        } else {
-                            registerResourceRouting(routings, webrootDir, staticResource);
-                            if ("index.html".equals(staticResource.getName()) && !rootPatRegistered) {
-                                registerRootPathRouting(routings, webrootDir);
-                            }
-                        }
+                    if (staticResources != null) {
+                        ret.addAll(Arrays.asList(staticResources));
                     }
                 }
             }
         } catch (Throwable e) {
             throw new RuntimeException(e);
         }
+        return ret;
+    }
+
+    private void configureOne(String webrootDir, RoutingManager routings, StaticAssetStore assetStore, StaticAssetIndex assetIndex, boolean rootPatRegistered) {
+        for (File staticResource : listStaticResources(webrootDir)) {
+            if (staticResource.isDirectory()) {
+                registerDirectoryRouting(routings, assetIndex, webrootDir, staticResource);
+            } else {
+                registerResourceRouting(routings, assetStore, assetIndex, webrootDir, staticResource);
+                if ("index.html".equals(staticResource.getName()) && !rootPatRegistered) {
+                    registerRootPathRouting(routings, assetIndex, webrootDir);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the file, or all files in the directory recursively, skipping hidden ones. The first one wins if
+     * a resource path is collected twice.
+     */
+    private void collectAssetFiles(String resourcePath, File file, Map<String, File> assetFiles) {
+        if (file.getName().startsWith(".")) {
+            return;
+        }
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                for (File child : children) {
+                    collectAssetFiles(resourcePath + "/" + child.getName(), child, assetFiles);
+                }
+            }
+        } else {
+            assetFiles.putIfAbsent(resourcePath, file);
+        }
     }
 
     /**
      * static/index.html -> @GetStaticResource("/index.html")
      */
-    private void registerResourceRouting(RoutingManager routings, String webrootDir, File resourceFile) {
-        routings.getRouting(RoutingType.HANDLER).add(
-            new StaticResourceRouting("/" + resourceFile.getName(), webrootDir + "/" + resourceFile.getName(), GET_RESOURCE_FILE_METHOD));
+    private void registerResourceRouting(RoutingManager routings, StaticAssetStore assetStore, StaticAssetIndex assetIndex, String webrootDir, File resourceFile) {
+        String path = "/" + resourceFile.getName();
+        String resourcePath = webrootDir + "/" + resourceFile.getName();
+        StaticResourceRouting routing = new StaticResourceRouting(path, resourcePath, GET_RESOURCE_FILE_METHOD);
+        routings.getRouting(RoutingType.HANDLER).add(routing);
+        assetIndex.addFile(path, resourcePath, routing);
+
+        StaticAsset asset = assetStore.get(resourcePath);
+        if (asset != null && assetStore.isFingerprintEnabled()) {
+            // static/app.js -> @GetStaticResource("/app.3f2a1c9e.js"), files in directories are found by "/js/**"
+            String fingerprintedPath = StaticAsset.fingerprint(path, asset.getFingerprint());
+            String fingerprintedResourcePath = StaticAsset.fingerprint(resourcePath, asset.getFingerprint());
+            StaticResourceRouting fingerprintedRouting = new StaticResourceRouting(fingerprintedPath, fingerprintedResourcePath, GET_RESOURCE_FILE_METHOD);
+            routings.getRouting(RoutingType.HANDLER).add(fingerprintedRouting);
+            assetIndex.addFile(fingerprintedPath, fingerprintedResourcePath, fingerprintedRouting);
+        }
     }
 
-    private void registerRootPathRouting(RoutingManager routings, String webrootDir) {
-        routings.getRouting(RoutingType.HANDLER).add(new RootPathRouting(webrootDir + "/index.html"));
+    private void registerRootPathRouting(RoutingManager routings, StaticAssetIndex assetIndex, String webrootDir) {
+        RootPathRouting routing = new RootPathRouting(webrootDir + "/index.html");
+        routings.getRouting(RoutingType.HANDLER).add(routing);
+        assetIndex.addFile("/", webrootDir + "/index.html", routing);
     }
 
     /**
      * static/js -> @GetStaticResource("/js/**")
      */
-    private void registerDirectoryRouting(RoutingManager routings, String webrootDir, File resourceDir) {
-        routings.getRouting(RoutingType.HANDLER).add(
-            new StaticResourceRouting("/" + resourceDir.getName() + "/**", webrootDir + "/" + resourceDir.getName() + "/", GET_RESOURCE_DIR_METHOD));
+    private void registerDirectoryRouting(RoutingManager routings, StaticAssetIndex assetIndex, String webrootDir, File resourceDir) {
+        StaticResourceRouting routing =
+            new StaticResourceRouting("/" + resourceDir.getName() + "/**", webrootDir + "/" + resourceDir.getName() + "/", GET_RESOURCE_DIR_METHOD);
+        routings.getRouting(RoutingType.HANDLER).add(routing);
+        assetIndex.addDirectory("/" + resourceDir.getName(), webrootDir + "/" + resourceDir.getName(), routing);
     }
 
     @StaticResource
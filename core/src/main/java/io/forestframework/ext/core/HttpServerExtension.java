@@ -1,6 +1,7 @@
 package io.forestframework.ext.core;
 
 import com.google.inject.Injector;
+import io.forestframework.core.PerformanceProfile;
 import io.forestframework.core.config.ConfigProvider;
 import io.forestframework.core.http.DefaultHttpVerticle;
 import io.forestframework.core.http.routing.DefaultRoutingManager;
@@ -42,7 +43,11 @@ public class HttpServerExtension implements Extension {
         CompletableFuture<String> future = VertxCompletableFuture.from(vertx.getOrCreateContext(), vertxFuture);
         try {
             deploymentId = future.get();
-            LOGGER.info("Http server successful started on {} with {} instances", configProvider.getInstance("http.port", String.class), deploymentOptions.getInstances());
+            PerformanceProfile.checkTransport(vertx, configProvider);
+            LOGGER.info("Http server successful started on {} with {} instances, {} transport",
+                        configProvider.getInstance("http.port", String.class),
+                        deploymentOptions.getInstances(),
+                        PerformanceProfile.getTransportName(vertx));
         } catch (Throwable e) {
             LOGGER.error("", e);
             throw new RuntimeException(e);
@@ -7,22 +7,30 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class ReflectionUtils {
-    private static Map<Method, InvocationContext> methodCache = new ConcurrentHashMap<>();
+    private static Map<Method, MethodInvoker> methodCache = new ConcurrentHashMap<>();
 
     public static <T> T invoke(Method method, Object instance, Object[] arguments) {
-        return (T) methodCache.computeIfAbsent(method, InvocationContext::new).invoke(instance, arguments);
+        return (T) getInvoker(method).invoke(instance, arguments);
     }
 
-    private static class InvocationContext {
-        private MethodAccess access;
-        private int index;
+    /**
+     * Returns the invoker of the method, which can be held by callers to skip the cache lookup on every invocation.
+     */
+    public static MethodInvoker getInvoker(Method method) {
+        MethodInvoker ret = methodCache.get(method);
+        return ret == null ? methodCache.computeIfAbsent(method, MethodInvoker::new) : ret;
+    }
+
+    public static final class MethodInvoker {
+        private final MethodAccess access;
+        private final int index;
 
-        private InvocationContext(Method method) {
+        private MethodInvoker(Method method) {
             access = MethodAccess.get(method.getDeclaringClass());
             index = access.getIndex(method.getName(), method.getParameterTypes());
         }
 
-        private Object invoke(Object instance, Object[] arguments) {
+        public Object invoke(Object instance, Object[] arguments) {
             return access.invoke(instance, index, arguments);
         }
     }
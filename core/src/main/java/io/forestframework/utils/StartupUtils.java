@@ -3,6 +3,7 @@ package io.forestframework.utils;
 import com.github.blindpirate.annotationmagic.AnnotationMagic;
 import io.forestframework.core.Component;
 import io.forestframework.core.http.Blocking;
+import io.forestframework.core.http.Timeout;
 
 import java.lang.reflect.Method;
 
@@ -28,4 +29,20 @@ public class StartupUtils {
         return AnnotationMagic.isAnnotationPresent(handlerMethod, Blocking.class)
                 || AnnotationMagic.isAnnotationPresent(handlerMethod.getDeclaringClass(), Blocking.class);
     }
+
+    /**
+     * The {@link Blocking} annotation on the method, or on its class, or null if neither is annotated.
+     */
+    public static Blocking getBlockingAnnotation(Method handlerMethod) {
+        Blocking blocking = AnnotationMagic.getOneAnnotationOnMethodOrNull(handlerMethod, Blocking.class);
+        return blocking == null ? AnnotationMagic.getOneAnnotationOnClassOrNull(handlerMethod.getDeclaringClass(), Blocking.class) : blocking;
+    }
+
+    /**
+     * The {@link Timeout} annotation on the method, or on its class, or null if neither is annotated.
+     */
+    public static Timeout getTimeoutAnnotation(Method handlerMethod) {
+        Timeout timeout = AnnotationMagic.getOneAnnotationOnMethodOrNull(handlerMethod, Timeout.class);
+        return timeout == null ? AnnotationMagic.getOneAnnotationOnClassOrNull(handlerMethod.getDeclaringClass(), Timeout.class) : timeout;
+    }
 }
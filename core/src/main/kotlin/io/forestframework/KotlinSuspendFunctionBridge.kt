@@ -1,14 +1,14 @@
 package io.forestframework
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings
 import io.forestframework.utils.ReflectionUtils
 import io.vertx.core.Vertx
 import io.vertx.kotlin.coroutines.dispatcher
-import kotlinx.coroutines.GlobalScope
-import kotlinx.coroutines.future.future
+import kotlinx.coroutines.Job
 import java.lang.reflect.Method
 import java.util.concurrent.CompletableFuture
-import kotlin.coroutines.intrinsics.suspendCoroutineUninterceptedOrReturn
+import kotlin.coroutines.Continuation
+import kotlin.coroutines.CoroutineContext
+import kotlin.coroutines.intrinsics.COROUTINE_SUSPENDED
 
 class KotlinSuspendFunctionBridge {
     companion object {
@@ -18,13 +18,50 @@ class KotlinSuspendFunctionBridge {
          * {@link Continuation} instance.
          */
         @Suppress("UNCHECKED_CAST")
-        @SuppressFBWarnings("SE_BAD_FIELD")
-        fun <T> invoke(vertx: Vertx, method: Method, instance: Any, vararg args: Any): CompletableFuture<T> =
-            GlobalScope.future(vertx.dispatcher()) {
-                suspendCoroutineUninterceptedOrReturn<T> {
-                    (args as Array<Any>)[args.size - 1] = it
-                    ReflectionUtils.invoke(method, instance, args)
+        fun <T> invoke(vertx: Vertx, method: Method, instance: Any, vararg args: Any?): CompletableFuture<T> =
+            invoke(vertx, ReflectionUtils.getInvoker(method), instance, args as Array<Any?>, null)
+
+        /**
+         * Invoke a Kotlin suspend function with its precomputed invoker in the context of the job, e.g. the job of the
+         * request which is cancelled when the client goes away. Cancellable suspensions like {@code Future.await()}
+         * in the function throw {@link kotlinx.coroutines.CancellationException} once the job is cancelled.
+         *
+         * The function starts undispatched if it's invoked on the event loop, i.e. it runs in the current thread until
+         * its first suspension, and is resumed on the event loop afterwards. No coroutine is launched: the returned
+         * future is the continuation of the function itself.
+         *
+         * @param args the arguments whose last element is reserved for the continuation
+         * @param job the parent job, or null if the function can't be cancelled
+         */
+        fun <T> invoke(vertx: Vertx, invoker: ReflectionUtils.MethodInvoker, instance: Any, args: Array<Any?>, job: Job?): CompletableFuture<T> {
+            val context = vertx.orCreateContext
+            val dispatcher = context.dispatcher()
+            val completion = FutureContinuation<T>(if (job == null) dispatcher else dispatcher + job)
+            if (Vertx.currentContext() === context) {
+                completion.start(invoker, instance, args)
+            } else {
+                context.runOnContext { completion.start(invoker, instance, args) }
+            }
+            return completion
+        }
+    }
+
+    private class FutureContinuation<T>(override val context: CoroutineContext) : CompletableFuture<T>(), Continuation<T> {
+        @Suppress("UNCHECKED_CAST")
+        fun start(invoker: ReflectionUtils.MethodInvoker, instance: Any, args: Array<Any?>) {
+            try {
+                args[args.size - 1] = this
+                val result = invoker.invoke(instance, args)
+                if (result !== COROUTINE_SUSPENDED) {
+                    complete(result as T)
                 }
+            } catch (e: Throwable) {
+                completeExceptionally(e)
             }
+        }
+
+        override fun resumeWith(result: Result<T>) {
+            result.fold(::complete, ::completeExceptionally)
+        }
     }
 }
@@ -0,0 +1,65 @@
+package io.forestframework.core
+
+import io.forestframework.core.config.ConfigProvider
+import io.forestframework.testfixtures.withSystemPropertyConfigFile
+import io.vertx.core.DeploymentOptions
+import io.vertx.core.VertxOptions
+import io.vertx.core.http.HttpServerOptions
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+
+class PerformanceProfileTest {
+    @Test
+    fun `profile fills in settings not configured explicitly`(@TempDir tempDir: File) {
+        val config = """
+performance:
+  profile: true
+vertx:
+  eventLoopPoolSize: 3
+http:
+  port: 8081
+  tcpFastOpen: false
+"""
+        withSystemPropertyConfigFile(tempDir, config) {
+            val provider = ConfigProvider.load()
+            assertTrue(PerformanceProfile.isEnabled(provider))
+            assertTrue(provider.isConfigured("http.tcpFastOpen"))
+            assertFalse(provider.isConfigured("http.reusePort"))
+            assertFalse(provider.isConfigured("deploy.instances"))
+
+            PerformanceProfile.apply(provider)
+
+            val httpServerOptions = provider.getInstance("http", HttpServerOptions::class.java)
+            assertEquals(8081, httpServerOptions.port)
+            assertTrue(httpServerOptions.isReusePort)
+            assertTrue(httpServerOptions.isTcpNoDelay)
+            assertFalse(httpServerOptions.isTcpFastOpen)
+            assertEquals(3, provider.getInstance("deploy", DeploymentOptions::class.java).instances)
+            assertTrue(provider.getInstance("vertx", VertxOptions::class.java).preferNativeTransport)
+        }
+    }
+
+    @Test
+    fun `profile applies to application without config`() {
+        // The forest.yml bundled in core
+        val provider = ConfigProvider.load()
+        assertFalse(provider.isConfigured("deploy.instances"))
+        assertFalse(provider.isConfigured("vertx.eventLoopPoolSize"))
+
+        PerformanceProfile.apply(provider)
+
+        val eventLoops = provider.getInstance("vertx", VertxOptions::class.java).eventLoopPoolSize
+        assertEquals(VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE, eventLoops)
+        assertEquals(eventLoops, provider.getInstance("deploy", DeploymentOptions::class.java).instances)
+        assertTrue(provider.getInstance("http", HttpServerOptions::class.java).isReusePort)
+    }
+
+    @Test
+    fun `profile is disabled by default`() {
+        assertFalse(PerformanceProfile.isEnabled(ConfigProvider.empty()))
+    }
+}
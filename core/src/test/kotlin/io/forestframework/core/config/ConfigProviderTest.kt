@@ -165,6 +165,15 @@ redis:
         assertEquals(10, provider.getInstance("redis.maxPoolSize", Integer::class.java))
     }
 
+    @Test
+    fun `can convert numbers to long and double`() {
+        val provider = ConfigProvider(yamlParser.readValue("a:\n  int: 42\n  double: 0.5", Map::class.java) as MutableMap<String, Any>, mapOf("b" to "0.25"))
+
+        assertEquals(42L, provider.getInstance("a.int", java.lang.Long::class.java))
+        assertEquals(0.5, provider.getInstance("a.double", java.lang.Double::class.java))
+        assertEquals(0.25, provider.getInstance("b", java.lang.Double::class.java))
+    }
+
     @Test
     fun `return default value if not defined`() {
         val provider = ConfigProvider(emptyMap(), emptyMap())
@@ -0,0 +1,115 @@
+package io.forestframework.core.http
+
+import com.google.inject.Injector
+import io.mockk.every
+import io.mockk.impl.annotations.MockK
+import io.mockk.impl.annotations.RelaxedMockK
+import io.mockk.junit5.MockKExtension
+import io.vertx.core.Vertx
+import io.vertx.core.http.HttpServerRequest
+import io.vertx.core.http.HttpServerResponse
+import io.vertx.core.http.ServerWebSocket
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.extension.ExtendWith
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+@ExtendWith(MockKExtension::class)
+class ArgumentInjectorTest {
+    @MockK
+    lateinit var injector: Injector
+
+    @RelaxedMockK
+    lateinit var context: HttpContext
+
+    @Test
+    fun `exact slot comes before super type slots`() {
+        val slots = ArgumentInjector.getSlots(HttpContext::class.java)
+
+        assertEquals(2, slots.size)
+        assertSame(slots, ArgumentInjector.getSlots(HttpContext::class.java))
+        assertEquals(0, ArgumentInjector.getSlots(Int::class.javaObjectType).size)
+    }
+
+    @Test
+    fun `resolve arguments of context`() {
+        val injector = ArgumentInjector(injector).with(context)
+
+        assertSame(context, injector.resolve(HttpContext::class.java) { "" })
+        assertSame(context, injector.resolve(WebContext::class.java) { "" })
+        assertSame(context.request(), injector.resolve(HttpServerRequest::class.java) { "" })
+        assertSame(context.response(), injector.resolve(HttpServerResponse::class.java) { "" })
+        assertThrows(IllegalArgumentException::class.java) {
+            injector.resolve(ServerWebSocket::class.java) { "unresolvable" }
+        }
+    }
+
+    @Test
+    fun `resolve throwables`() {
+        val exception = IllegalStateException()
+        val injector = ArgumentInjector(injector).with(exception).withParameter(HttpStatusCode::class.java, HttpStatusCode.NOT_FOUND)
+
+        assertSame(exception, injector.resolve(Throwable::class.java) { "" })
+        assertSame(exception, injector.resolve(RuntimeException::class.java) { "" })
+        assertSame(exception, injector.resolve(Exception::class.java) { "" })
+        assertEquals(HttpStatusCode.NOT_FOUND, injector.resolve(HttpStatusCode::class.java) { "" })
+    }
+
+    @Test
+    fun `resolve suppliers and arguments without slots`() {
+        val injector = ArgumentInjector(injector)
+            .withParameterSupplier(String::class.java) { "supplied" }
+            .withParameter(Int::class.javaObjectType, 42)
+
+        assertEquals("supplied", injector.resolve(String::class.java) { "" })
+        assertEquals(42, injector.resolve(Int::class.javaObjectType) { "" })
+
+        injector.withParameterSupplier(String::class.java, null)
+        assertNull(injector.resolve(String::class.java) { "" })
+
+        injector.withParameter(String::class.java, "plain")
+        assertEquals("plain", injector.resolve(String::class.java) { "" })
+    }
+
+    @Test
+    fun `global singletons are resolved by injector`() {
+        val vertx = Vertx.vertx()
+        try {
+            every { injector.getInstance(Vertx::class.java) } returns vertx
+
+            assertSame(vertx, ArgumentInjector(injector).resolve(Vertx::class.java) { "" })
+        } finally {
+            vertx.close()
+        }
+    }
+
+    @Test
+    fun `instances are pooled per event loop`() {
+        val vertx = Vertx.vertx()
+        try {
+            val future = CompletableFuture<List<Any?>>()
+            vertx.runOnContext {
+                val first = ArgumentInjector.acquire(injector).with(context)
+                first.release()
+                val second = ArgumentInjector.acquire(injector)
+                val unresolved = runCatching { second.resolve(HttpContext::class.java) { "" } }.exceptionOrNull()
+                future.complete(listOf(first, second, unresolved))
+            }
+            val (first, second, unresolved) = future.get(10, TimeUnit.SECONDS)
+
+            assertSame(first, second)
+            assertEquals(IllegalArgumentException::class.java, unresolved!!.javaClass)
+
+            val notOnEventLoop = ArgumentInjector.acquire(injector)
+            notOnEventLoop.release()
+            assertNotSame(notOnEventLoop, ArgumentInjector.acquire(injector))
+        } finally {
+            vertx.close()
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package io.forestframework.core.http
+
+import io.forestframework.core.ForestApplication
+import io.forestframework.core.http.result.GetPlainText
+import io.forestframework.core.http.routing.PostHandler
+import io.forestframework.ext.core.ExtraConfig
+import io.forestframework.testfixtures.AbstractForestIntegrationTest
+import io.forestframework.testfixtures.DisableAutoScan
+import io.forestframework.testsupport.ForestIntegrationTest
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.net.HttpURLConnection
+import java.net.URL
+import java.util.Collections
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import javax.inject.Inject
+
+@ForestApplication
+class BlockingExecutionIntegrationTestApp {
+    val postHandlerThreads: MutableList<String> = Collections.synchronizedList(ArrayList())
+
+    @Blocking
+    @GetPlainText("/default")
+    fun default(): String = Thread.currentThread().name
+
+    @Blocking(mode = Blocking.Mode.WORKER)
+    @GetPlainText("/worker")
+    fun worker(): String = Thread.currentThread().name
+
+    @Blocking(mode = Blocking.Mode.VIRTUAL)
+    @GetPlainText("/virtual")
+    fun virtual(): String = Thread.currentThread().name
+
+    @PostHandler("/virtual")
+    fun postHandler() {
+        postHandlerThreads.add(Thread.currentThread().name)
+    }
+
+    val release = CountDownLatch(1)
+
+    @Blocking(pool = "slow", ordered = false)
+    @GetPlainText("/slow")
+    fun slow(): String {
+        release.await()
+        return Thread.currentThread().name
+    }
+
+    @Blocking(pool = "other", ordered = false)
+    @GetPlainText("/other")
+    fun other(): String = Thread.currentThread().name
+}
+
+abstract class AbstractBlockingExecutionIntegrationTest : AbstractForestIntegrationTest() {
+    @Inject
+    lateinit var app: BlockingExecutionIntegrationTestApp
+
+    @Inject
+    lateinit var blockingExecutor: BlockingExecutor
+
+    fun assertRunsOnVirtualThread(path: String) {
+        val expectedPrefix = if (blockingExecutor.isVirtualThreadAvailable) "forest-virtual-" else "vert.x-worker-thread-"
+        get(path).assert200().bodyAsString().apply {
+            assertTrue(startsWith(expectedPrefix), this)
+        }
+    }
+
+    fun assertRunsOnWorkerThread(path: String) {
+        get(path).assert200().bodyAsString().apply {
+            assertTrue(startsWith("vert.x-worker-thread-"), this)
+        }
+    }
+}
+
+@ForestIntegrationTest(appClass = BlockingExecutionIntegrationTestApp::class)
+@DisableAutoScan
+class BlockingExecutionIntegrationTest : AbstractBlockingExecutionIntegrationTest() {
+    @Test
+    fun `blocking handlers run on worker pool by default`() {
+        assertRunsOnWorkerThread("/default")
+        assertRunsOnWorkerThread("/worker")
+    }
+
+    @Test
+    fun `virtual mode result is marshalled back to event loop`() {
+        assertRunsOnVirtualThread("/virtual")
+        assertEquals(1, app.postHandlerThreads.size)
+        assertTrue(app.postHandlerThreads[0].startsWith("vert.x-eventloop-thread-"), app.postHandlerThreads[0])
+    }
+}
+
+@ExtraConfig(value = ["blocking.executor=virtual"])
+@ForestIntegrationTest(appClass = BlockingExecutionIntegrationTestApp::class)
+@DisableAutoScan
+class VirtualBlockingExecutionIntegrationTest : AbstractBlockingExecutionIntegrationTest() {
+    @Test
+    fun `blocking handlers run on virtual threads when configured`() {
+        assertRunsOnVirtualThread("/default")
+        assertRunsOnWorkerThread("/worker")
+    }
+}
+
+@ExtraConfig(value = ["blocking.pools.slow.maxSize=1", "blocking.pools.slow.queueSize=1", "blocking.pools.slow.queueTimeout=60000"])
+@ForestIntegrationTest(appClass = BlockingExecutionIntegrationTestApp::class)
+@DisableAutoScan
+class BlockingPoolIntegrationTest : AbstractBlockingExecutionIntegrationTest() {
+    private val clientExecutor = Executors.newCachedThreadPool()
+
+    // The Apache client allows only 2 connections per route
+    private fun sendAsync(path: String) = CompletableFuture.supplyAsync({
+        val connection = URL("http://localhost:$port$path").openConnection() as HttpURLConnection
+        try {
+            connection.setRequestProperty("Accept", "*/*")
+            connection.responseCode
+        } finally {
+            connection.disconnect()
+        }
+    }, clientExecutor)
+
+    private fun waitUntil(condition: () -> Boolean) {
+        while (!condition()) {
+            Thread.sleep(10)
+        }
+    }
+
+    @Test
+    fun `pool rejects invocations with 503 when queue is full`() {
+        val pool = blockingExecutor.pools.getValue("slow")
+        assertEquals(1, pool.maxSize)
+        assertEquals(1, pool.queueSize)
+        assertEquals(60000, pool.queueTimeoutMillis)
+
+        val running = sendAsync("/slow")
+        waitUntil { pool.activeCount == 1 }
+        val queued = sendAsync("/slow")
+        waitUntil { pool.queuedCount == 1 }
+
+        assertEquals(503, sendAsync("/slow").get())
+        assertEquals(1, pool.rejectedCount)
+        // Other pools are not affected
+        assertTrue(get("/other").assert200().bodyAsString().startsWith("other-"))
+        assertFalse(running.isDone)
+
+        app.release.countDown()
+        assertEquals(200, running.get())
+        assertEquals(200, queued.get())
+        waitUntil { pool.activeCount == 0 }
+        assertEquals(0, pool.queuedCount)
+        assertTrue(get("/slow").assert200().bodyAsString().startsWith("slow-"))
+    }
+
+    @Test
+    fun `pool rejects invocations with 503 when queue timeout is exceeded`() {
+        val pool = BlockingPool(vertx, "timeout", 1, 1, 50)
+        val release = CountDownLatch(1)
+        val running = pool.execute(false) { release.await() }
+        val queued = pool.execute(false) { "unreachable" }
+        Thread.sleep(100)
+        release.countDown()
+
+        running.get()
+        val exception = runCatching { queued.get() }.exceptionOrNull()!!.cause as HttpException
+        assertEquals(HttpStatusCode.SERVICE_UNAVAILABLE, exception.code)
+        assertEquals(1, pool.rejectedCount)
+    }
+}
@@ -0,0 +1,124 @@
+package io.forestframework.core.http
+
+import io.forestframework.core.ForestApplication
+import io.forestframework.core.http.result.GetPlainText
+import io.forestframework.core.http.routing.PostHandler
+import io.forestframework.testfixtures.AbstractForestIntegrationTest
+import io.forestframework.testfixtures.DisableAutoScan
+import io.forestframework.testsupport.ForestIntegrationTest
+import io.vertx.core.Future
+import io.vertx.core.Promise
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.net.Socket
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import javax.inject.Inject
+
+@ForestApplication
+class CancellationTokenIntegrationTestApp {
+    val pendingStarted = CountDownLatch(1)
+    val boundStarted = CountDownLatch(1)
+    val closeHandlerStarted = CountDownLatch(1)
+    val closeHandlerInvoked = CountDownLatch(1)
+    val pending = CompletableFuture<String>()
+    val postHandlerInvocations = AtomicInteger()
+    lateinit var token: CancellationToken
+    lateinit var boundFuture: Future<String>
+    lateinit var closeHandlerToken: CancellationToken
+
+    @GetPlainText("/pending")
+    fun pending(token: CancellationToken): CompletableFuture<String> {
+        this.token = token
+        pendingStarted.countDown()
+        return pending
+    }
+
+    @PostHandler("/pending")
+    fun postHandler() {
+        postHandlerInvocations.incrementAndGet()
+    }
+
+    @GetPlainText("/bound")
+    fun bound(token: CancellationToken): Future<String> {
+        boundFuture = token.bind(Promise.promise<String>().future())
+        boundStarted.countDown()
+        return boundFuture
+    }
+
+    @GetPlainText("/closeHandler")
+    fun closeHandler(token: CancellationToken, response: HttpResponse): Future<String> {
+        closeHandlerToken = token
+        response.closeHandler { closeHandlerInvoked.countDown() }
+        closeHandlerStarted.countDown()
+        return Promise.promise<String>().future()
+    }
+}
+
+@ForestIntegrationTest(appClass = CancellationTokenIntegrationTestApp::class)
+@DisableAutoScan
+class CancellationTokenIntegrationTest : AbstractForestIntegrationTest() {
+    @Inject
+    lateinit var app: CancellationTokenIntegrationTestApp
+
+    private fun requestAndGoAway(path: String, started: CountDownLatch) {
+        Socket("localhost", port.toInt()).use {
+            it.getOutputStream().write("GET $path HTTP/1.1\r\nHost: localhost\r\nAccept: */*\r\n\r\n".toByteArray())
+            it.getOutputStream().flush()
+            assertTrue(started.await(5, TimeUnit.SECONDS))
+        }
+    }
+
+    private fun waitUntil(condition: () -> Boolean) {
+        val deadline = System.currentTimeMillis() + 5000
+        while (!condition()) {
+            assertTrue(System.currentTimeMillis() < deadline)
+            Thread.sleep(10)
+        }
+    }
+
+    @Test
+    fun `pending future is cancelled and post handlers are skipped when client goes away`() {
+        requestAndGoAway("/pending", app.pendingStarted)
+
+        waitUntil { app.pending.isCancelled }
+        assertTrue(app.token.isCancelled)
+        // Give the pipeline a chance to run the post handlers, if it wrongly does
+        Thread.sleep(200)
+        assertEquals(0, app.postHandlerInvocations.get())
+    }
+
+    @Test
+    fun `bound vertx future fails when client goes away`() {
+        requestAndGoAway("/bound", app.boundStarted)
+
+        waitUntil { app.boundFuture.isComplete }
+        assertTrue(app.boundFuture.cause() is CancellationException)
+    }
+
+    @Test
+    fun `token is cancelled if handler sets its own close handler`() {
+        requestAndGoAway("/closeHandler", app.closeHandlerStarted)
+
+        assertTrue(app.closeHandlerInvoked.await(5, TimeUnit.SECONDS))
+        waitUntil { app.closeHandlerToken.isCancelled }
+    }
+
+    @Test
+    fun `callback registered after cancellation is invoked immediately`() {
+        val token = CancellationToken()
+        assertFalse(token.isCancelled)
+        token.cancel()
+
+        val invoked = AtomicInteger()
+        token.onCancel { invoked.incrementAndGet() }
+        token.cancel()
+
+        assertEquals(1, invoked.get())
+    }
+}
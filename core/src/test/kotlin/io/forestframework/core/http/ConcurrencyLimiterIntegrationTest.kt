@@ -0,0 +1,112 @@
+package io.forestframework.core.http
+
+import io.forestframework.core.ForestApplication
+import io.forestframework.core.http.result.GetPlainText
+import io.forestframework.ext.core.ExtraConfig
+import io.forestframework.testfixtures.AbstractForestIntegrationTest
+import io.forestframework.testfixtures.DisableAutoScan
+import io.forestframework.testsupport.ForestIntegrationTest
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.net.HttpURLConnection
+import java.net.Socket
+import java.net.URL
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+
+@ForestApplication
+class ConcurrencyLimiterIntegrationTestApp {
+    val started = CountDownLatch(1)
+    val pending = CompletableFuture<String>()
+    val endHandlerInvoked = CountDownLatch(1)
+
+    @GetPlainText("/limited/hang")
+    fun hang(): CompletableFuture<String> {
+        started.countDown()
+        return pending
+    }
+
+    @GetPlainText("/limited/endHandler")
+    fun endHandler(response: HttpResponse): String {
+        response.endHandler { endHandlerInvoked.countDown() }
+        return "endHandler"
+    }
+
+    @GetPlainText("/limited/fast")
+    fun limitedFast() = "limited"
+
+    @GetPlainText("/other")
+    fun other() = "other"
+}
+
+// The limits are per event loop, a single verticle instance serves all connections on one event loop
+@ExtraConfig(value = [
+    "deploy.instances=1",
+    "concurrency.limiter.enabled=true",
+    "concurrency.limiter.initialLimit=1",
+    "concurrency.limiter.minLimit=1",
+    "concurrency.limiter.maxLimit=1",
+    "concurrency.limiter.retryAfter=3",
+    """concurrency.limiter.groups=["/limited/"]"""
+])
+@ForestIntegrationTest(appClass = ConcurrencyLimiterIntegrationTestApp::class)
+@DisableAutoScan
+class ConcurrencyLimiterIntegrationTest : AbstractForestIntegrationTest() {
+    @Inject
+    lateinit var app: ConcurrencyLimiterIntegrationTestApp
+
+    @Inject
+    lateinit var limiter: ConcurrencyLimiter
+
+    private fun send(path: String): Pair<Int, String?> {
+        val connection = URL("http://localhost:$port$path").openConnection() as HttpURLConnection
+        try {
+            connection.setRequestProperty("Accept", "*/*")
+            return connection.responseCode to connection.getHeaderField("Retry-After")
+        } finally {
+            connection.disconnect()
+        }
+    }
+
+    @Test
+    fun `requests over the limit of the group are rejected`() {
+        Socket("localhost", port.toInt()).use {
+            it.getOutputStream().write("GET /limited/hang HTTP/1.1\r\nHost: localhost\r\nAccept: */*\r\n\r\n".toByteArray())
+            it.getOutputStream().flush()
+            assertTrue(app.started.await(5, TimeUnit.SECONDS))
+
+            assertEquals(503 to "3", send("/limited/fast"))
+            assertEquals(200 to null, send("/other"))
+            assertEquals(1, limiter.getGroups().getValue("/limited/").inFlightCount)
+            assertEquals(1, limiter.getGroups().getValue("/limited/").rejectedCount)
+            assertEquals(0, limiter.getGroups().getValue(ConcurrencyLimiter.DEFAULT_GROUP).rejectedCount)
+
+            app.pending.complete("done")
+            assertTrue(it.getInputStream().bufferedReader().readLine().startsWith("HTTP/1.1 200"))
+        }
+
+        val deadline = System.currentTimeMillis() + 5000
+        while (limiter.getGroups().getValue("/limited/").inFlightCount != 0) {
+            assertTrue(System.currentTimeMillis() < deadline)
+            Thread.sleep(10)
+        }
+        assertEquals(200, send("/limited/fast").first)
+        assertEquals(1, limiter.rejectedCount)
+    }
+
+    @Test
+    fun `permit is released if handler sets its own end handler`() {
+        assertEquals(200, send("/limited/endHandler").first)
+        assertTrue(app.endHandlerInvoked.await(5, TimeUnit.SECONDS))
+
+        val deadline = System.currentTimeMillis() + 5000
+        while (limiter.getGroups().getValue("/limited/").inFlightCount != 0) {
+            assertTrue(System.currentTimeMillis() < deadline)
+            Thread.sleep(10)
+        }
+        assertEquals(200, send("/limited/fast").first)
+    }
+}
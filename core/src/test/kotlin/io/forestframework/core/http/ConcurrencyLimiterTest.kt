@@ -0,0 +1,73 @@
+package io.forestframework.core.http
+
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import io.vertx.core.Handler
+import io.vertx.core.http.HttpServerRequest
+import io.vertx.core.http.HttpServerResponse
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class ConcurrencyLimiterTest {
+    private val response = mockk<HttpServerResponse>(relaxed = true)
+    private val permits = mutableListOf<Handler<Void?>>()
+    private val request = mockk<HttpServerRequest>(relaxed = true).also {
+        every { it.getHeader(any<CharSequence>()) } returns null
+        every { it.path() } returns "/"
+        every { it.response() } returns response
+    }
+
+    private fun tryAcquire(limiter: ConcurrencyLimiter) = limiter.tryAcquire(request)?.also { permits.add(it) } != null
+
+    private fun acquire(limiter: ConcurrencyLimiter, count: Int) = (1..count).map { tryAcquire(limiter) }
+
+    private fun releaseAll() {
+        permits.forEach { it.handle(null) }
+        permits.clear()
+    }
+
+    @Test
+    fun `limit increases additively when responses are fast`() {
+        val limiter = ConcurrencyLimiter(true, 4, 2, 5, 10000, 0.5, 1, listOf())
+
+        assertEquals(listOf(true, true, true, true, false), acquire(limiter, 5))
+        verify(exactly = 1) { response.setStatusCode(503) }
+        releaseAll()
+
+        assertEquals(5, limiter.limit)
+        assertEquals(1, limiter.rejectedCount)
+        assertEquals(listOf(true, true, true, true, true, false), acquire(limiter, 6))
+    }
+
+    @Test
+    fun `limit decreases multiplicatively when responses are slow`() {
+        val limiter = ConcurrencyLimiter(true, 8, 2, 8, 1, 0.5, 1, listOf())
+
+        assertTrue(acquire(limiter, 2).all { it })
+        Thread.sleep(20)
+        releaseAll()
+
+        assertEquals(2, limiter.limit)
+        assertEquals(listOf(true, true, false), acquire(limiter, 3))
+    }
+
+    @Test
+    fun `route groups are limited independently`() {
+        val limiter = ConcurrencyLimiter(true, 1, 1, 1, 10000, 0.5, 1, listOf("/api/", "/api/admin/"))
+
+        every { request.path() } returns "/api/admin/users"
+        assertTrue(tryAcquire(limiter))
+        assertFalse(tryAcquire(limiter))
+        every { request.path() } returns "/api/users"
+        assertTrue(tryAcquire(limiter))
+        every { request.path() } returns "/index.html"
+        assertTrue(tryAcquire(limiter))
+
+        assertEquals(1, limiter.getGroups().getValue("/api/admin/").rejectedCount)
+        assertEquals(1, limiter.getGroups().getValue("/api/").inFlightCount)
+        assertEquals(1, limiter.getGroups().getValue(ConcurrencyLimiter.DEFAULT_GROUP).inFlightCount)
+    }
+}
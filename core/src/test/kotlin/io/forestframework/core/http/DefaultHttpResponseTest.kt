@@ -0,0 +1,57 @@
+package io.forestframework.core.http
+
+import io.mockk.every
+import io.mockk.impl.annotations.MockK
+import io.mockk.junit5.MockKExtension
+import io.mockk.slot
+import io.mockk.verify
+import io.vertx.core.Future
+import io.vertx.core.buffer.Buffer
+import io.vertx.core.http.HttpServerResponse
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.extension.ExtendWith
+
+@ExtendWith(MockKExtension::class)
+class DefaultHttpResponseTest {
+    @MockK
+    lateinit var delegate: HttpServerResponse
+
+    @Test
+    fun `deferred writes are gathered without copy`() {
+        val written = slot<Buffer>()
+        every { delegate.end(capture(written)) } returns Future.succeededFuture()
+        val payload = Buffer.buffer("{\"a\":1}")
+
+        DefaultHttpResponse(delegate).writeLater("[").writeLater(payload).end("]")
+
+        assertEquals("[{\"a\":1}]", written.captured.toString())
+        assertEquals(9, written.captured.length())
+        payload.setString(0, "[")
+        assertEquals("[[\"a\":1}]", written.captured.toString())
+    }
+
+    @Test
+    fun `flush writes deferred buffers at once`() {
+        val written = slot<Buffer>()
+        every { delegate.write(capture(written)) } returns Future.succeededFuture()
+
+        val response = DefaultHttpResponse(delegate)
+        response.writeLater("a").writeLater("b")
+        response.flush()
+
+        verify(exactly = 1) { delegate.write(any<Buffer>()) }
+        assertEquals("ab", written.captured.toString())
+    }
+
+    @Test
+    fun `single chunk is written as is`() {
+        val written = slot<Buffer>()
+        every { delegate.end(capture(written)) } returns Future.succeededFuture()
+        val payload = Buffer.buffer("a")
+
+        DefaultHttpResponse(delegate).end(payload)
+
+        assertEquals(payload, written.captured)
+    }
+}
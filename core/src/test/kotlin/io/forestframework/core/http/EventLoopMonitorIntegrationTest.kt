@@ -0,0 +1,84 @@
+package io.forestframework.core.http
+
+import io.forestframework.core.ForestApplication
+import io.forestframework.core.http.result.GetPlainText
+import io.forestframework.ext.core.ExtraConfig
+import io.forestframework.testfixtures.AbstractForestIntegrationTest
+import io.forestframework.testfixtures.DisableAutoScan
+import io.forestframework.testsupport.ForestIntegrationTest
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import javax.inject.Inject
+
+@ForestApplication
+class EventLoopMonitorIntegrationTestApp {
+    @GetPlainText("/sleep")
+    fun sleep(): String {
+        Thread.sleep(200)
+        return "slept"
+    }
+
+    @Blocking
+    @GetPlainText("/blockingSleep")
+    fun blockingSleep(): String {
+        Thread.sleep(200)
+        return "slept"
+    }
+
+    @GetPlainText("/fast")
+    fun fast() = "fast"
+}
+
+@ExtraConfig(value = [
+    "eventLoop.monitor.enabled=true",
+    "eventLoop.monitor.threshold=50",
+    "eventLoop.monitor.sampleInterval=5",
+    "eventLoop.monitor.threadStateSampling=true"
+])
+@ForestIntegrationTest(appClass = EventLoopMonitorIntegrationTestApp::class)
+@DisableAutoScan
+class EventLoopMonitorIntegrationTest : AbstractForestIntegrationTest() {
+    @Inject
+    lateinit var monitor: EventLoopMonitor
+
+    private fun stats(handlerMethod: String) = monitor.routes.values.single { it.name.endsWith(".$handlerMethod)") }
+
+    @Test
+    fun `slow handler is attributed with sampled stack trace`() {
+        get("/sleep").assert200().assertBody("slept")
+
+        val stats = stats("sleep")
+        assertTrue(stats.count >= 1)
+        assertTrue(stats.maxNanos >= 200_000_000)
+        assertEquals(1, stats.slowCount)
+        assertEquals(stats.count, stats.bucketCounts.sum())
+        assertTrue(stats.lastSlowStackTrace!!.any { it.methodName == "sleep" && it.className == EventLoopMonitorIntegrationTestApp::class.java.name })
+        assertTrue(stats.blockingSampleCount > 0)
+        assertTrue(stats.lastBlockingStackTrace!!.any { it.methodName == "sleep" })
+    }
+
+    @Test
+    fun `fast and blocking handlers are not flagged`() {
+        get("/fast").assert200().assertBody("fast")
+        get("/blockingSleep").assert200().assertBody("slept")
+
+        assertEquals(0, stats("fast").slowCount)
+        assertEquals(0, stats("fast").blockingSampleCount)
+        assertFalse(monitor.routes.values.any { it.name.endsWith(".blockingSleep)") && (it.slowCount != 0L || it.blockingSampleCount != 0L) })
+        assertNull(stats("fast").lastSlowStackTrace)
+    }
+
+    @Test
+    fun `thread states blocking the event loop are detected`() {
+        val socketRead = arrayOf(StackTraceElement("sun.nio.ch.SocketDispatcher", "read0", null, -2))
+        val computing = arrayOf(StackTraceElement("com.example.Service", "compute", "Service.java", 10))
+
+        assertTrue(EventLoopMonitor.isBlocking(Thread.State.TIMED_WAITING, computing))
+        assertTrue(EventLoopMonitor.isBlocking(Thread.State.BLOCKED, computing))
+        assertTrue(EventLoopMonitor.isBlocking(Thread.State.RUNNABLE, socketRead))
+        assertFalse(EventLoopMonitor.isBlocking(Thread.State.RUNNABLE, computing))
+    }
+}
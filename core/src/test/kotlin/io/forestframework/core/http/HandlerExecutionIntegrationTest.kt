@@ -1,6 +1,7 @@
 package io.forestframework.core.http
 
 import io.forestframework.core.ForestApplication
+import io.forestframework.core.http.result.GetPlainText
 import io.forestframework.core.http.routing.Get
 import io.forestframework.core.http.routing.OnError
 import io.forestframework.core.http.routing.PreHandler
@@ -10,6 +11,7 @@ import io.forestframework.testfixtures.AbstractForestIntegrationTest
 import io.forestframework.testfixtures.DisableAutoScan
 import io.forestframework.testfixtures.runBlockingUnit
 import io.forestframework.testsupport.ForestIntegrationTest
+import io.vertx.core.Future
 import org.hamcrest.CoreMatchers.containsString
 import org.hamcrest.MatcherAssert.assertThat
 import org.junit.jupiter.api.Assertions
@@ -18,6 +20,7 @@ import org.junit.jupiter.api.Test
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.ValueSource
 import java.util.Collections
+import java.util.concurrent.CompletableFuture
 import javax.inject.Inject
 
 @ForestApplication
@@ -58,6 +61,11 @@ abstract class AbstractTracingRouter {
 @Router("/custom500")
 class Custom500HandlerRouter : AbstractTracingRouter() {
 
+    @Get("/errorInSynchronousHandler")
+    fun errorInSynchronousHandler() = runUnderTrace("errorInSynchronousHandler") {
+        throw RuntimeException("errorInSynchronousHandler")
+    }
+
     @Get("/errorInHandler")
     suspend fun errorInHandler() = runUnderTraceSuspend("errorInHandler") {
         throw RuntimeException("errorInHandler")
@@ -79,6 +87,18 @@ class Custom500HandlerRouter : AbstractTracingRouter() {
     }
 }
 
+@Router("/synchronous")
+class SynchronousRouter {
+    @GetPlainText("/value")
+    fun value() = "value"
+
+    @GetPlainText("/future")
+    fun future(): Future<String> = Future.succeededFuture("future")
+
+    @GetPlainText("/completableFuture")
+    fun completableFuture(): CompletableFuture<String> = CompletableFuture.supplyAsync { "completableFuture" }
+}
+
 @Router("/errorInCustomErrorHandler")
 class ErrorInCustomErrorHandler {
     @OnError("/**")
@@ -87,7 +107,7 @@ class ErrorInCustomErrorHandler {
 
 @ForestIntegrationTest(appClass = CustomErrorHandlerApp::class)
 @DisableAutoScan
-@IncludeComponents(classes = [Custom500HandlerRouter::class, ErrorInCustomErrorHandler::class])
+@IncludeComponents(classes = [Custom500HandlerRouter::class, ErrorInCustomErrorHandler::class, SynchronousRouter::class])
 class HandlerExecutionIntegrationTest : AbstractForestIntegrationTest() {
     @Inject
     lateinit var custom500HandlerRouter: Custom500HandlerRouter
@@ -98,7 +118,7 @@ class HandlerExecutionIntegrationTest : AbstractForestIntegrationTest() {
     }
 
     @ParameterizedTest
-    @ValueSource(strings = ["errorInHandler", "errorInPreHandler"])
+    @ValueSource(strings = ["errorInHandler", "errorInSynchronousHandler", "errorInPreHandler"])
     fun `exceptions in pre handlers and handlers are captured by custom 500 handler`(handler: String) = runBlockingUnit {
         get("/custom500/$handler").bodyAsString().apply {
             Assertions.assertEquals(listOf(handler, "custom500Handler"), custom500HandlerRouter.traces)
@@ -107,6 +127,12 @@ class HandlerExecutionIntegrationTest : AbstractForestIntegrationTest() {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = ["value", "future", "completableFuture"])
+    fun `synchronous handlers fall back to asynchronous pipeline when returning futures`(handler: String) = runBlockingUnit {
+        Assertions.assertEquals(handler, get("/synchronous/$handler").bodyAsString())
+    }
+
     @Test
     fun `exceptions in custom error handlers are handled by fallback error handler`() = runBlockingUnit {
         get("/errorInCustomErrorHandler/inexistent").bodyAsString().apply {
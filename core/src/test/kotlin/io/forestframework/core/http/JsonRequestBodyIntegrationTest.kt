@@ -7,11 +7,21 @@ import io.forestframework.core.http.param.JsonRequestBody
 import io.forestframework.core.http.result.PlainText
 import io.forestframework.core.http.routing.Post
 import io.forestframework.core.http.routing.PreHandler
+import io.forestframework.ext.api.ApplicationContext
+import io.forestframework.ext.api.Extension
+import io.forestframework.ext.api.WithExtensions
 import io.forestframework.testfixtures.AbstractForestIntegrationTest
 import io.forestframework.testfixtures.DisableAutoScan
 import io.forestframework.testsupport.ForestIntegrationTest
+import io.vertx.core.http.HttpServerRequest
+import io.vertx.kotlin.coroutines.await
 import kotlinx.coroutines.delay
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
 
 @ForestApplication
 class ReadBodyMultipleTimesIntegrationTestApp {
@@ -62,3 +72,124 @@ class ReadBodyMultipleTimesIntegrationTest : AbstractForestIntegrationTest() {
             .assertBody("{}")
     }
 }
+
+class Pet {
+    var name: String = ""
+    var age: Int = 0
+
+    override fun toString() = "$name:$age"
+}
+
+class MaxBodySizeExtension : Extension {
+    override fun start(applicationContext: ApplicationContext) {
+        applicationContext.configProvider.addConfig("request.maxBodySize", "64")
+    }
+}
+
+@ForestApplication
+@WithExtensions(extensions = [MaxBodySizeExtension::class])
+class StreamingJsonRequestBodyIntegrationTestApp {
+    @Post("/pet")
+    @PlainText
+    fun pet(@JsonRequestBody pet: Pet) = pet.toString()
+
+    @Post("/petList")
+    @PlainText
+    fun petList(@JsonRequestBody pets: List<Pet>) = pets.joinToString(",")
+
+    @Post("/petArray")
+    @PlainText
+    fun petArray(@JsonRequestBody pets: Array<Pet>) = pets.joinToString(",")
+
+    @Post("/petMap")
+    @PlainText
+    suspend fun petMap(@JsonRequestBody pets: Map<String, Pet>): String {
+        delay(100)
+        return pets.entries.joinToString(",")
+    }
+
+    @Post("/ignoreBody")
+    @PlainText
+    fun ignoreBody() = "ignored"
+
+    @Post("/readBodyManually")
+    @PlainText
+    suspend fun readBodyManually(request: HttpServerRequest): String {
+        delay(100)
+        return request.body().await().toString()
+    }
+
+    var discardedRequest: HttpServerRequest? = null
+
+    @Post("/discardBody")
+    @PlainText
+    fun discardBody(request: HttpServerRequest): String {
+        discardedRequest = request
+        return "discarded"
+    }
+}
+
+@ForestIntegrationTest(appClass = StreamingJsonRequestBodyIntegrationTestApp::class)
+@DisableAutoScan
+class StreamingJsonRequestBodyIntegrationTest : AbstractForestIntegrationTest() {
+    @Inject
+    lateinit var app: StreamingJsonRequestBodyIntegrationTestApp
+
+    private val json = mapOf("Content-Type" to "application/json")
+
+    @Test
+    fun canReadObject() {
+        post("/pet", json, """{"name":"Tom","age":3}""").assert200().assertBody("Tom:3")
+    }
+
+    @Test
+    fun canReadListElementByElement() {
+        post("/petList", json, """[{"name":"Tom","age":3},{"name":"Jerry"}]""").assert200().assertBody("Tom:3,Jerry:0")
+        post("/petList", json, "[]").assert200().assertBody("")
+    }
+
+    @Test
+    fun canReadArrayElementByElement() {
+        post("/petArray", json, """[{"name":"Tom","age":3},{"name":"Jerry"}]""").assert200().assertBody("Tom:3,Jerry:0")
+    }
+
+    @Test
+    fun canReadBodyAfterSuspending() {
+        post("/petMap", json, """{"a":{"name":"Tom"}}""").assert200().assertBody("a=Tom:0")
+    }
+
+    @Test
+    fun emptyOrMalformedBodyFails() {
+        post("/pet", json, "").assert500()
+        post("/pet", json, """{"name":""").assert500()
+    }
+
+    @Test
+    fun rejectBodyExceedingMaxSize() {
+        val pets = (1..10).joinToString(",", "[", "]") { """{"name":"Tom$it"}""" }
+        post("/petList", json, pets).assertStatusCode(HttpStatusCode.REQUEST_TOO_LONG)
+        post("/ignoreBody", json, pets).assertStatusCode(HttpStatusCode.REQUEST_TOO_LONG)
+    }
+
+    @Test
+    fun canReadBodyManuallyAfterSuspending() {
+        post("/readBodyManually", json, """{"name":"Tom"}""").assert200().assertBody("""{"name":"Tom"}""")
+    }
+
+    @Test
+    fun readingDiscardedBodyFails() {
+        post("/discardBody", json, """{"name":"Tom"}""").assert200().assertBody("discarded")
+
+        val body = app.discardedRequest!!.body().toCompletionStage().toCompletableFuture()
+        val exception = assertThrows<ExecutionException> { body.get(5, TimeUnit.SECONDS) }
+        assertTrue(exception.cause is IllegalStateException)
+    }
+
+    @Test
+    fun unreadBodyIsDiscarded() {
+        repeat(3) {
+            post("/ignoreBody", json, """{"name":"Tom"}""").assert200().assertBody("ignored")
+            post("/pet", json, """{"name":"Tom"}""").assert200().assertBody("Tom:0")
+        }
+    }
+}
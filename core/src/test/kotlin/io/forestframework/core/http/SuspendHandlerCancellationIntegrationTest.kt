@@ -0,0 +1,79 @@
+package io.forestframework.core.http
+
+import io.forestframework.KotlinSuspendFunctionBridge
+import io.forestframework.core.ForestApplication
+import io.forestframework.core.http.result.GetPlainText
+import io.forestframework.testfixtures.AbstractForestIntegrationTest
+import io.forestframework.testfixtures.DisableAutoScan
+import io.forestframework.testsupport.ForestIntegrationTest
+import io.forestframework.utils.ReflectionUtils
+import io.vertx.core.Promise
+import io.vertx.kotlin.coroutines.await
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.delay
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.net.Socket
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+
+@ForestApplication
+class SuspendHandlerCancellationIntegrationTestApp {
+    val started = CountDownLatch(1)
+    val cancelled = CountDownLatch(1)
+
+    @GetPlainText("/hang")
+    suspend fun hang(): String {
+        started.countDown()
+        try {
+            return Promise.promise<String>().future().await()
+        } catch (e: CancellationException) {
+            cancelled.countDown()
+            throw e
+        }
+    }
+
+    @GetPlainText("/resume")
+    suspend fun resume(): String {
+        delay(10)
+        return Thread.currentThread().name
+    }
+
+    suspend fun immediate(value: String) = value
+}
+
+@ForestIntegrationTest(appClass = SuspendHandlerCancellationIntegrationTestApp::class)
+@DisableAutoScan
+class SuspendHandlerCancellationIntegrationTest : AbstractForestIntegrationTest() {
+    @Inject
+    lateinit var app: SuspendHandlerCancellationIntegrationTestApp
+
+    @Test
+    fun `suspend handler is cancelled when client goes away`() {
+        Socket("localhost", port.toInt()).use {
+            it.getOutputStream().write("GET /hang HTTP/1.1\r\nHost: localhost\r\nAccept: */*\r\n\r\n".toByteArray())
+            it.getOutputStream().flush()
+            assertTrue(app.started.await(5, TimeUnit.SECONDS))
+        }
+        assertTrue(app.cancelled.await(5, TimeUnit.SECONDS))
+    }
+
+    @Test
+    fun `suspend handler is resumed on event loop`() {
+        assertTrue(get("/resume").assert200().bodyAsString().startsWith("vert.x-eventloop-thread-"))
+    }
+
+    @Test
+    fun `suspend function starts undispatched on event loop`() {
+        val method = SuspendHandlerCancellationIntegrationTestApp::class.java.methods.first { it.name == "immediate" }
+        val result = CompletableFuture<Boolean>()
+        vertx.runOnContext {
+            val future = KotlinSuspendFunctionBridge.invoke<String>(vertx, ReflectionUtils.getInvoker(method), SuspendHandlerCancellationIntegrationTestApp(), arrayOf("value", null), null)
+            result.complete(future.isDone && future.get() == "value")
+        }
+        assertEquals(true, result.get(5, TimeUnit.SECONDS))
+    }
+}
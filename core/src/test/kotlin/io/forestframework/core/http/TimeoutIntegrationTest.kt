@@ -0,0 +1,114 @@
+package io.forestframework.core.http
+
+import io.forestframework.core.ForestApplication
+import io.forestframework.core.http.result.GetPlainText
+import io.forestframework.core.http.routing.OnError
+import io.forestframework.core.http.routing.PostHandler
+import io.forestframework.ext.core.ExtraConfig
+import io.forestframework.testfixtures.AbstractForestIntegrationTest
+import io.forestframework.testfixtures.DisableAutoScan
+import io.forestframework.testsupport.ForestIntegrationTest
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.delay
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import javax.inject.Inject
+
+@ForestApplication
+class TimeoutIntegrationTestApp {
+    val pending = CompletableFuture<String>()
+    val postHandlerInvocations = AtomicInteger()
+    val suspendCancelled = CountDownLatch(1)
+    lateinit var token: CancellationToken
+
+    @Timeout("100ms")
+    @GetPlainText("/hang")
+    fun hang(token: CancellationToken): CompletableFuture<String> {
+        this.token = token
+        return pending
+    }
+
+    @PostHandler("/hang")
+    fun postHandler() {
+        postHandlerInvocations.incrementAndGet()
+    }
+
+    @Timeout("100ms")
+    @GetPlainText("/suspend")
+    suspend fun suspend(): String {
+        try {
+            delay(60000)
+            return "not reachable"
+        } catch (e: CancellationException) {
+            suspendCancelled.countDown()
+            throw e
+        }
+    }
+
+    @GetPlainText("/deadline")
+    fun deadline(deadline: Deadline) = deadline.remainingMillis().toString()
+
+    @Timeout("0")
+    @GetPlainText("/unlimited")
+    fun unlimited(deadline: Deadline) = deadline.isNone.toString()
+
+    @Timeout("5s")
+    @GetPlainText("/fast")
+    fun fast(): CompletableFuture<String> = CompletableFuture.supplyAsync { "fast" }
+
+    @OnError("/**", statusCode = HttpStatusCode.GATEWAY_TIMEOUT)
+    fun onTimeout(response: HttpResponse) {
+        response.writeLater("timed out")
+    }
+}
+
+@ExtraConfig(value = ["request.timeout=30s"])
+@ForestIntegrationTest(appClass = TimeoutIntegrationTestApp::class)
+@DisableAutoScan
+class TimeoutIntegrationTest : AbstractForestIntegrationTest() {
+    @Inject
+    lateinit var app: TimeoutIntegrationTestApp
+
+    @Test
+    fun `timed out handler is cancelled and handled by error handler`() {
+        get("/hang").assertStatusCode(HttpStatusCode.GATEWAY_TIMEOUT).assertBody("timed out")
+
+        assertTrue(app.pending.isCancelled)
+        assertTrue(app.token.isCancelled)
+        assertEquals(1, app.postHandlerInvocations.get())
+    }
+
+    @Test
+    fun `timed out suspend handler is cancelled`() {
+        get("/suspend").assertStatusCode(HttpStatusCode.GATEWAY_TIMEOUT).assertBody("timed out")
+
+        assertTrue(app.suspendCancelled.await(5, TimeUnit.SECONDS))
+    }
+
+    @Test
+    fun `deadline is injected`() {
+        val remaining = get("/deadline").assert200().bodyAsString().toLong()
+        assertTrue(remaining in 1..30000)
+        assertEquals("true", get("/unlimited").assert200().bodyAsString())
+    }
+
+    @Test
+    fun `handler finished in time is not affected`() {
+        get("/fast").assert200().assertBody("fast")
+    }
+
+    @Test
+    fun `durations are parsed`() {
+        assertEquals(250, Deadline.parseMillis("250ms"))
+        assertEquals(250, Deadline.parseMillis("250"))
+        assertEquals(5000, Deadline.parseMillis("5s"))
+        assertEquals(60000, Deadline.parseMillis("1m"))
+        assertThrows(IllegalArgumentException::class.java) { Deadline.parseMillis("1d") }
+    }
+}
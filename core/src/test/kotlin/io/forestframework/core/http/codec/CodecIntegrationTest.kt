@@ -0,0 +1,121 @@
+package io.forestframework.core.http.codec
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory
+import com.fasterxml.jackson.dataformat.smile.SmileFactory
+import io.forestframework.core.ForestApplication
+import io.forestframework.core.http.HttpMethod
+import io.forestframework.core.http.param.RequestBody
+import io.forestframework.core.http.result.ResponseBody
+import io.forestframework.core.http.routing.Get
+import io.forestframework.core.http.routing.Post
+import io.forestframework.core.http.routing.Route
+import io.forestframework.testfixtures.AbstractForestIntegrationTest
+import io.forestframework.testfixtures.DisableAutoScan
+import io.forestframework.testsupport.ForestIntegrationTest
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import java.net.HttpURLConnection
+import java.net.URL
+
+data class CodecIntegrationTestPet(val name: String = "", val tags: List<String> = emptyList())
+
+@ForestApplication
+class CodecIntegrationTestApp {
+    @Post("/pets")
+    @ResponseBody
+    fun echo(@RequestBody pet: CodecIntegrationTestPet) = pet.copy(tags = pet.tags + "echoed")
+
+    @Post("/petsCount")
+    @ResponseBody
+    fun count(@RequestBody pets: List<CodecIntegrationTestPet>) = mapOf("count" to pets.size)
+
+    @Route(path = "/pet", methods = [HttpMethod.GET], produces = ["application/cbor"])
+    @ResponseBody
+    fun cborOnly() = CodecIntegrationTestPet("cat")
+
+    @Get("/null")
+    @ResponseBody
+    fun nullResult(): Any? = null
+}
+
+@ForestIntegrationTest(appClass = CodecIntegrationTestApp::class)
+@DisableAutoScan
+class CodecIntegrationTest : AbstractForestIntegrationTest() {
+    private val json = ObjectMapper()
+    private val cbor = ObjectMapper(CBORFactory())
+    private val smile = ObjectMapper(SmileFactory())
+
+    private class Response(val statusCode: Int, val contentType: String?, val body: ByteArray)
+
+    private fun send(method: String, path: String, headers: Map<String, String>, body: ByteArray? = null): Response {
+        val connection = URL("http://localhost:$port$path").openConnection() as HttpURLConnection
+        try {
+            connection.requestMethod = method
+            // Instead of HttpURLConnection's default, which has an invalid "*"
+            connection.setRequestProperty("Accept", "*/*")
+            headers.forEach(connection::setRequestProperty)
+            if (body != null) {
+                connection.doOutput = true
+                connection.outputStream.use { it.write(body) }
+            }
+            val stream = if (connection.responseCode < 400) connection.inputStream else connection.errorStream
+            return Response(connection.responseCode, connection.contentType, stream?.use { it.readBytes() } ?: ByteArray(0))
+        } finally {
+            connection.disconnect()
+        }
+    }
+
+    @Test
+    fun `body is decoded and result is encoded by negotiated codecs`() {
+        val pet = CodecIntegrationTestPet("dog", listOf("a"))
+        for ((contentType, mapper) in listOf("application/cbor" to cbor, "application/x-jackson-smile" to smile, "application/json" to json)) {
+            for ((accept, responseMapper) in listOf("application/cbor" to cbor, "application/x-jackson-smile" to smile, "application/json" to json)) {
+                val response = send("POST", "/pets", mapOf("Content-Type" to contentType, "Accept" to accept), mapper.writeValueAsBytes(pet))
+                assertEquals(200, response.statusCode)
+                assertEquals(accept, response.contentType!!.substringBefore(';'))
+                assertEquals(CodecIntegrationTestPet("dog", listOf("a", "echoed")), responseMapper.readValue(response.body, CodecIntegrationTestPet::class.java))
+            }
+        }
+    }
+
+    @Test
+    fun `list body is decoded`() {
+        val pets = (1..100).map { CodecIntegrationTestPet("pet$it") }
+        for ((contentType, mapper) in listOf("application/cbor" to cbor, "application/x-jackson-smile" to smile)) {
+            val response = send("POST", "/petsCount", mapOf("Content-Type" to contentType), mapper.writeValueAsBytes(pets))
+            assertEquals(200, response.statusCode)
+            assertEquals("""{"count":100}""", String(response.body))
+        }
+    }
+
+    @Test
+    fun `json is the default codec`() {
+        val response = send("POST", "/pets", mapOf("Content-Type" to "application/json", "Accept" to "text/html, */*;q=0.2"), """{"name":"dog"}""".toByteArray())
+        assertEquals(200, response.statusCode)
+        assertEquals("application/json; charset=utf-8", response.contentType)
+        assertEquals("""{"name":"dog","tags":["echoed"]}""", String(response.body))
+    }
+
+    @Test
+    fun `accept is negotiated by quality and produces`() {
+        val response = send("POST", "/pets", mapOf("Content-Type" to "application/json", "Accept" to "application/json;q=0.5, application/cbor"), """{"name":"dog"}""".toByteArray())
+        assertEquals("application/cbor", response.contentType)
+        assertEquals(CodecIntegrationTestPet("dog", listOf("echoed")), cbor.readValue(response.body, CodecIntegrationTestPet::class.java))
+
+        val cborOnlyResponse = send("GET", "/pet", mapOf("Accept" to "*/*"))
+        assertEquals("application/cbor", cborOnlyResponse.contentType)
+        assertEquals(CodecIntegrationTestPet("cat"), cbor.readValue(cborOnlyResponse.body, CodecIntegrationTestPet::class.java))
+    }
+
+    @Test
+    fun `unknown media types are rejected`() {
+        assertEquals(415, send("POST", "/pets", mapOf("Content-Type" to "application/x-unknown"), "x".toByteArray()).statusCode)
+        assertEquals(406, send("POST", "/pets", mapOf("Content-Type" to "application/json", "Accept" to "text/html"), """{"name":"dog"}""".toByteArray()).statusCode)
+    }
+
+    @Test
+    fun `null result is 404`() {
+        assertEquals(404, send("GET", "/null", emptyMap()).statusCode)
+    }
+}
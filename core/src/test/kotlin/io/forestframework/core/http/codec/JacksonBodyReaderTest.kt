@@ -0,0 +1,52 @@
+package io.forestframework.core.http.codec
+
+import com.fasterxml.jackson.core.type.TypeReference
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.vertx.core.buffer.Buffer
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.io.IOException
+
+class JacksonBodyReaderTest {
+    private val objectMapper = ObjectMapper()
+
+    private fun <T> read(typeReference: TypeReference<T>, json: String, chunkSize: Int): Any? {
+        val reader = JacksonBodyReader(JacksonBodyReader.Readers(objectMapper, typeReference.type))
+        json.toByteArray().asIterable().chunked(chunkSize).forEach {
+            reader.handleChunk(Buffer.buffer(it.toByteArray()))
+        }
+        return reader.end()
+    }
+
+    @Test
+    fun `read object from chunks`() {
+        val json = """{"a":[1,2,{"b":"中文"}],"c":null}"""
+        for (chunkSize in listOf(1, 3, json.length)) {
+            assertEquals(
+                mapOf("a" to listOf(1, 2, mapOf("b" to "中文")), "c" to null),
+                read(object : TypeReference<Map<String, Any?>>() {}, json, chunkSize)
+            )
+        }
+    }
+
+    @Test
+    fun `read list and array element by element`() {
+        val json = """[{"x":1},{"x":2},null,{"x":3}]"""
+        for (chunkSize in listOf(1, 5, json.length)) {
+            assertEquals(
+                listOf(mapOf("x" to 1), mapOf("x" to 2), null, mapOf("x" to 3)),
+                read(object : TypeReference<List<Map<String, Int>>>() {}, json, chunkSize)
+            )
+            assertArrayEquals(intArrayOf(1, 2, 3), read(object : TypeReference<IntArray>() {}, "[1, 2, 3]", chunkSize) as IntArray)
+        }
+        assertEquals(emptyList<Any>(), read(object : TypeReference<List<String>>() {}, "[]", 1))
+    }
+
+    @Test
+    fun `empty or incomplete body fails`() {
+        assertThrows<IOException> { read(object : TypeReference<Map<String, Any>>() {}, "", 1) }
+        assertThrows<IOException> { read(object : TypeReference<Map<String, Any>>() {}, """{"a":""", 1) }
+    }
+}
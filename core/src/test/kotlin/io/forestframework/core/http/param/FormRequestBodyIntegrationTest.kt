@@ -0,0 +1,131 @@
+package io.forestframework.core.http.param
+
+import io.forestframework.core.ForestApplication
+import io.forestframework.core.http.result.PlainText
+import io.forestframework.core.http.routing.Post
+import io.forestframework.ext.api.ApplicationContext
+import io.forestframework.ext.api.Extension
+import io.forestframework.ext.api.WithExtensions
+import io.forestframework.testfixtures.AbstractForestIntegrationTest
+import io.forestframework.testfixtures.DisableAutoScan
+import io.forestframework.testsupport.ForestIntegrationTest
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.apache.http.client.methods.RequestBuilder
+import org.apache.http.entity.InputStreamEntity
+import org.apache.http.impl.client.HttpClients
+import org.junit.jupiter.api.Test
+import java.io.ByteArrayInputStream
+import java.io.File
+import java.nio.file.Files
+
+class FormRequestBodyIntegrationTestOwner {
+    var firstName: String = ""
+    var age: Int = 0
+    var pets: List<String> = emptyList()
+
+    override fun toString() = "$firstName:$age:$pets"
+}
+
+val formRequestBodyIntegrationTestUploadDirectory: File = Files.createTempDirectory("forest-uploads").toFile()
+
+class FormLimitsExtension : Extension {
+    override fun start(applicationContext: ApplicationContext) {
+        applicationContext.configProvider.addConfig("request.form.memoryThreshold", "1024")
+        applicationContext.configProvider.addConfig("request.form.maxFileSize", "65536")
+        applicationContext.configProvider.addConfig("request.form.maxFiles", "2")
+        applicationContext.configProvider.addConfig("request.form.uploadDirectory", formRequestBodyIntegrationTestUploadDirectory.absolutePath)
+        applicationContext.configProvider.addConfig("request.maxBodySize", "98304")
+    }
+}
+
+@ForestApplication
+@WithExtensions(extensions = [FormLimitsExtension::class])
+class FormRequestBodyIntegrationTestApp {
+    @Post("/owner")
+    @PlainText
+    fun owner(@FormRequestBody owner: FormRequestBodyIntegrationTestOwner) = owner.toString()
+
+    @Post("/ownerByContentType")
+    @PlainText
+    fun ownerByContentType(@RequestBody owner: FormRequestBodyIntegrationTestOwner) = owner.toString()
+
+    @Post("/form")
+    @PlainText
+    fun form(form: Form<FormRequestBodyIntegrationTestOwner>): String {
+        if (form.hasErrors()) {
+            return "errors:${form.errors.size}"
+        }
+        return form.data.toString() + form.files.joinToString("") { file ->
+            val content = if (file.isInMemory) file.buffer.toString() else File(file.path).readText()
+            ",${file.name}:${file.fileName}:${file.size}:${file.isInMemory}:${content.length}"
+        }
+    }
+}
+
+@ForestIntegrationTest(appClass = FormRequestBodyIntegrationTestApp::class)
+@DisableAutoScan
+class FormRequestBodyIntegrationTest : AbstractForestIntegrationTest() {
+    private val urlEncoded = mapOf("Content-Type" to "application/x-www-form-urlencoded")
+    private val boundary = "forestboundary"
+    private val multipart = mapOf("Content-Type" to "multipart/form-data; boundary=$boundary")
+
+    private fun multipartBody(attributes: Map<String, String>, files: Map<String, String>) = buildString {
+        attributes.forEach { (name, value) ->
+            append("--$boundary\r\nContent-Disposition: form-data; name=\"$name\"\r\n\r\n$value\r\n")
+        }
+        files.forEach { (name, content) ->
+            append("--$boundary\r\nContent-Disposition: form-data; name=\"$name\"; filename=\"$name.txt\"\r\nContent-Type: text/plain\r\n\r\n$content\r\n")
+        }
+        append("--$boundary--\r\n")
+    }
+
+    @Test
+    fun `url-encoded attributes are bound to pojo`() {
+        post("/owner", urlEncoded, "firstName=Tom&age=3&pets=cat&pets=dog&unknown=1").assert200().assertBody("Tom:3:[cat, dog]")
+        post("/ownerByContentType", urlEncoded, "firstName=Tom&pets=cat").assert200().assertBody("Tom:0:[cat]")
+    }
+
+    @Test
+    fun `small files are kept in memory and large files are spilled to disk`() {
+        val body = multipartBody(mapOf("firstName" to "Tom", "age" to "3"), mapOf("small" to "a".repeat(100), "large" to "b".repeat(5000)))
+
+        post("/form", multipart, body).assert200().assertBody("Tom:3:[],small:small.txt:100:true:100,large:large.txt:5000:false:5000")
+
+        // Spilled files are deleted once the request has been handled
+        Thread.sleep(200)
+        assertEquals(0, formRequestBodyIntegrationTestUploadDirectory.list()!!.size)
+    }
+
+    @Test
+    fun `limits are enforced`() {
+        post("/form", multipart, multipartBody(emptyMap(), mapOf("a" to "a", "b" to "b", "c" to "c"))).assertStatusCode(413)
+        post("/form", multipart, multipartBody(emptyMap(), mapOf("a" to "a".repeat(70000)))).assertStatusCode(413)
+
+        Thread.sleep(200)
+        assertEquals(0, formRequestBodyIntegrationTestUploadDirectory.list()!!.size)
+    }
+
+    @Test
+    fun `spilled files are deleted if body limit is exceeded mid-upload`() {
+        val body = multipartBody(emptyMap(), mapOf("a" to "a".repeat(60000), "b" to "b".repeat(60000))).toByteArray()
+        // Chunked, so that the limit is exceeded while the file is being spilled, not by the declared Content-Length
+        val request = RequestBuilder.post("http://localhost:$port/form")
+            .addHeader("Content-Type", multipart.getValue("Content-Type"))
+            .setEntity(InputStreamEntity(ByteArrayInputStream(body), -1))
+            .build()
+        HttpClients.createDefault().use { client ->
+            client.execute(request).use { response ->
+                assertEquals(413, response.statusLine.statusCode)
+            }
+        }
+
+        Thread.sleep(200)
+        assertEquals(0, formRequestBodyIntegrationTestUploadDirectory.list()!!.size)
+    }
+
+    @Test
+    fun `binding errors are reported by form`() {
+        post("/form", urlEncoded, "age=notanumber").assert200().assertBody("errors:1")
+        post("/owner", urlEncoded, "age=notanumber").assertStatusCode(400)
+    }
+}
@@ -0,0 +1,64 @@
+package io.forestframework.core.http.result
+
+import io.forestframework.core.ForestApplication
+import io.forestframework.core.http.param.QueryParam
+import io.forestframework.core.http.routing.Get
+import io.forestframework.testfixtures.AbstractForestIntegrationTest
+import io.forestframework.testfixtures.DisableAutoScan
+import io.forestframework.testsupport.ForestIntegrationTest
+import io.vertx.core.Future
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+
+class JsonResultProcessorIntegrationTestWorld(val id: Int, val randomNumber: Int)
+
+@ForestApplication
+class JsonResultProcessorIntegrationTestApp {
+    @GetJson("/worlds")
+    fun worlds(@QueryParam("count") count: Int) = (1..count).map { JsonResultProcessorIntegrationTestWorld(it, it * 2) }
+
+    @GetJson("/pretty", pretty = true)
+    fun pretty() = mapOf("message" to "中文")
+
+    @GetJson("/worldsByName")
+    fun worldsByName(): Map<String, List<Any>> = mapOf("a" to listOf(JsonResultProcessorIntegrationTestWorld(1, 2), "b"))
+
+    @GetJson("/future")
+    fun future(): Future<JsonResultProcessorIntegrationTestWorld> = Future.succeededFuture(JsonResultProcessorIntegrationTestWorld(1, 2))
+
+    @Get("/null")
+    @JsonResponseBody
+    fun nullResult(): Any? = null
+}
+
+@ForestIntegrationTest(appClass = JsonResultProcessorIntegrationTestApp::class)
+@DisableAutoScan
+class JsonResultProcessorIntegrationTest : AbstractForestIntegrationTest() {
+    @Test
+    fun `results of varying sizes are serialized`() {
+        for (count in listOf(1, 500, 0, 2000, 3)) {
+            val worlds = get("/worlds?count=$count")
+                .assert200()
+                .assertContentType("application/json; charset=utf-8")
+                .toObject(List::class.java)
+            assertEquals(count, worlds.size)
+            assertEquals(if (count == 0) null else mapOf("id" to count, "randomNumber" to count * 2), worlds.lastOrNull())
+        }
+    }
+
+    @Test
+    fun `pretty result is serialized as utf8`() {
+        get("/pretty").assert200().assertBody("{\n  \"message\" : \"中文\"\n}")
+    }
+
+    @Test
+    fun `results are serialized by their runtime types`() {
+        get("/worldsByName").assert200().assertBody("""{"a":[{"id":1,"randomNumber":2},"b"]}""")
+        get("/future").assert200().assertBody("""{"id":1,"randomNumber":2}""")
+    }
+
+    @Test
+    fun `null result is 404`() {
+        get("/null").assert404()
+    }
+}
@@ -0,0 +1,110 @@
+package io.forestframework.core.http.routing
+
+import io.forestframework.core.http.HttpStatusCode
+import io.forestframework.core.http.param.PathParam
+import io.forestframework.core.http.param.PathParamResolver
+import io.forestframework.core.http.param.QueryParam
+import io.forestframework.core.http.routing.RoutingInvocationPlan.ParameterKind.CONTINUATION
+import io.forestframework.core.http.routing.RoutingInvocationPlan.ParameterKind.INJECTED
+import io.forestframework.core.http.routing.RoutingInvocationPlan.ParameterKind.RESOLVER
+import io.vertx.core.http.HttpServerResponse
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.util.concurrent.atomic.AtomicInteger
+
+class InvocationPlanTestHandlers {
+    @Get("/users/:id")
+    fun get(@PathParam("id") id: Int, response: HttpServerResponse?) = "$id"
+
+    @Get("/users")
+    suspend fun suspendGet(@QueryParam("name") name: String) = name
+
+    @OnError("/**", statusCode = HttpStatusCode.NOT_FOUND)
+    fun notFound() {
+    }
+}
+
+class RoutingInvocationPlanTest {
+    private fun routing(name: String, type: RoutingType = RoutingType.HANDLER): Routing {
+        val method = InvocationPlanTestHandlers::class.java.methods.first { it.name == name }
+        return object : Routing {
+            override fun getHandlerMethod() = method
+
+            override fun getType() = type
+        }
+    }
+
+    @Test
+    fun `parameters are classified once`() {
+        val plan = RoutingInvocationPlan(routing("get"))
+
+        assertEquals(2, plan.parameterCount)
+        assertEquals(RESOLVER, plan.getParameterKind(0))
+        assertEquals(PathParamResolver::class.java, plan.getParameterResolverClass(0))
+        assertEquals(Int::class.java, plan.getParameterType(0))
+        assertEquals(INJECTED, plan.getParameterKind(1))
+        assertNull(plan.getParameterResolverClass(1))
+        assertFalse(plan.isKotlinSuspendFunction)
+        assertNull(plan.onError)
+    }
+
+    @Test
+    fun `parameter annotations are looked up once`() {
+        val plan = RoutingInvocationPlan(routing("get"))
+
+        assertEquals("id", plan.getParameterAnnotation(0, PathParam::class.java).value)
+        assertSame(plan.getParameterAnnotation(0, PathParam::class.java), plan.getParameterAnnotation(0, PathParam::class.java))
+        assertNull(plan.getParameterAnnotation(0, QueryParam::class.java))
+        assertNull(plan.getParameterAnnotation(1, PathParam::class.java))
+    }
+
+    @Test
+    fun `parameter values are created once per factory`() {
+        val plan = RoutingInvocationPlan(routing("get"))
+        val created = AtomicInteger()
+        val typeName = RoutingInvocationPlan.ParameterValueFactory { p, index -> "${created.incrementAndGet()}:${p.getParameterType(index).name}" }
+
+        assertEquals("1:int", plan.getParameterValue(0, typeName))
+        assertEquals("1:int", plan.getParameterValue(0, typeName))
+        assertEquals("2:io.vertx.core.http.HttpServerResponse", plan.getParameterValue(1, typeName))
+        assertEquals("3:int", plan.getParameterValue(0, RoutingInvocationPlan.ParameterValueFactory { _, _ -> "${created.incrementAndGet()}:int" }))
+    }
+
+    @Test
+    fun `kotlin suspend functions are detected`() {
+        val plan = RoutingInvocationPlan(routing("suspendGet"))
+
+        assertTrue(plan.isKotlinSuspendFunction)
+        assertEquals(RESOLVER, plan.getParameterKind(0))
+        assertEquals(CONTINUATION, plan.getParameterKind(1))
+    }
+
+    @Test
+    fun `error handlers carry OnError`() {
+        val plan = RoutingInvocationPlan(routing("notFound", RoutingType.ERROR_HANDLER))
+
+        assertEquals(HttpStatusCode.NOT_FOUND, plan.onError.statusCode)
+    }
+
+    @Test
+    fun `routings share the plan of their handler method`() {
+        assertSame(routing("get").invocationPlan, routing("get").invocationPlan)
+
+        val errorHandler = routing("notFound", RoutingType.ERROR_HANDLER).invocationPlan
+        assertEquals(HttpStatusCode.NOT_FOUND, errorHandler.onError.statusCode)
+        assertNotSame(errorHandler, routing("notFound").invocationPlan)
+    }
+
+    @Test
+    fun `decorated routing builds the plan once`() {
+        val decorator = CachingRoutingDecorator(routing("get"))
+
+        assertSame(decorator.invocationPlan, decorator.invocationPlan)
+        assertEquals("1", decorator.invocationPlan.invoke(InvocationPlanTestHandlers(), arrayOf(1, null)))
+    }
+}
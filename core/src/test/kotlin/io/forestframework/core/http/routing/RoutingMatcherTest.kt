@@ -16,9 +16,12 @@ import io.forestframework.core.http.routing.RoutingType.PRE_HANDLER
 import io.mockk.every
 import io.mockk.impl.annotations.MockK
 import io.mockk.junit5.MockKExtension
+import io.mockk.verify
 import io.vertx.core.http.HttpServerRequest
 import org.apache.commons.lang3.StringUtils
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertSame
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
@@ -148,6 +151,40 @@ class RoutingMatcherTest {
         }
     }
 
+    @ParameterizedTest(name = "{0} -> {1}")
+    @CsvSource(value = [
+        """/a/:b/c;   //a//b///c/;  {"b": "b"}""",
+        """/**;       //x//y/;      {"**": "x/y"}""",
+        """/**/c;     /a//b/c;      {"**": "a/b"}""",
+        """/;         ///;          {}"""
+    ], delimiter = ';')
+    fun `repeated slashes are ignored`(route: String, requestPath: String, expectedPathVariableJson: String) {
+        every { routingManager.getRouting(HANDLER) } returns listOf(mockRouting(route))
+        every { request.path() } returns requestPath
+
+        val result = RoutingMatcher(routingManager).matchPlain(request).getMatchResultsByType(HANDLER).first()
+        assertEquals(route, result.routing.path)
+        assertEquals(objectMapper.readValue(expectedPathVariableJson, Map::class.java), result.pathParams)
+    }
+
+    @Test
+    fun `path variables do not leak between matches`() {
+        every { routingManager.getRouting(HANDLER) } returns listOf(
+            mockRouting("/user/:userId"),
+            mockRouting("/user/:userId/order/:orderId"),
+            mockRouting("/user/admin/order/:id")
+        )
+        val routingMatcher = RoutingMatcher(routingManager)
+
+        every { request.path() } returns "/user/admin/order/1"
+        assertEquals(setOf(mapOf("userId" to "admin", "orderId" to "1"), mapOf("id" to "1")),
+            routingMatcher.matchPlain(request).getMatchResultsByType(HANDLER).map { it.pathParams }.toSet())
+
+        every { request.path() } returns "/user/2"
+        assertEquals(listOf(mapOf("userId" to "2")),
+            routingMatcher.matchPlain(request).getMatchResultsByType(HANDLER).map { it.pathParams })
+    }
+
     @ParameterizedTest
     @ValueSource(strings = [
         "/",
@@ -336,4 +373,54 @@ class RoutingMatcherTest {
         assertEquals(1, results.mainHandlerMatchResult.exactlyMatchedHandlers.size)
         assertEquals("/**/*/:userId", results.mainHandlerMatchResult.exactlyMatchedHandlers.first().path)
     }
+
+    @Test
+    fun `request media types are parsed once per request`() {
+        every { routingManager.getRouting(HANDLER) } returns listOf(
+            mockRouting("/user/:userId", produces = "application/json", consumes = "application/json"),
+            mockRouting("/user/:userId", produces = "application/xml", consumes = "application/json"),
+            mockRouting("/user/**", produces = "text/*", consumes = "text/*")
+        )
+        every { request.path() } returns "/user/12345"
+        every { request.getHeader(OptimizedHeaders.HEADER_ACCEPT) } returns "text/html, application/json;q=0.9"
+        every { request.getHeader(OptimizedHeaders.HEADER_CONTENT_TYPE) } returns "application/json"
+
+        val results = RoutingMatcher(routingManager).matchPlain(request)
+
+        assertEquals(listOf("/user/:userId"), results.mainHandlerMatchResult.exactlyMatchedHandlers.map { it.path })
+        verify(exactly = 1) { request.getHeader(OptimizedHeaders.HEADER_ACCEPT) }
+        verify(exactly = 1) { request.getHeader(OptimizedHeaders.HEADER_CONTENT_TYPE) }
+    }
+
+    @Test
+    fun `results of constant paths are cached by method, path, Accept and Content-Type`() {
+        every { routingManager.getRouting(HANDLER) } returns listOf(mockRouting("/users"), mockRouting("/orders"), mockRouting("/user/:userId"))
+        every { request.path() } returns "/users"
+        val routingMatcher = RoutingMatcher(routingManager, 2)
+
+        val first = routingMatcher.matchPlain(request)
+        assertSame(first, routingMatcher.matchPlain(request))
+
+        every { request.getHeader(OptimizedHeaders.HEADER_ACCEPT) } returns "application/json"
+        assertNotSame(first, routingMatcher.matchPlain(request))
+
+        // Templated paths are not cached
+        every { request.path() } returns "/user/1"
+        val templated = routingMatcher.matchPlain(request)
+        assertEquals(mapOf("userId" to "1"), templated.getMatchResultsByType(HANDLER).first().pathParams)
+        assertNotSame(templated, routingMatcher.matchPlain(request))
+
+        // Unknown paths are not cached
+        every { request.path() } returns "/unknown"
+        assertEquals(HttpStatusCode.NOT_FOUND, routingMatcher.matchPlain(request).mainHandlerMatchResult.statusCode)
+
+        every { request.path() } returns "/orders"
+        routingMatcher.matchPlain(request)
+
+        val cache = routingMatcher.cache!!
+        assertEquals(1, cache.hitCount)
+        assertEquals(6, cache.missCount)
+        assertEquals(1, cache.evictionCount)
+        assertEquals(2, cache.size())
+    }
 }
@@ -0,0 +1,58 @@
+package io.forestframework.core.http.staticresource
+
+import io.forestframework.core.ForestApplication
+import io.forestframework.core.http.param.QueryParam
+import io.forestframework.core.http.result.GetPlainText
+import io.forestframework.ext.core.AutoStaticResourceScan
+import io.forestframework.ext.core.ExtraConfig
+import io.forestframework.testfixtures.AbstractForestIntegrationTest
+import io.forestframework.testfixtures.DisableAutoScan
+import io.forestframework.testsupport.ForestIntegrationTest
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.io.File
+import javax.inject.Inject
+
+@AutoStaticResourceScan(webroot = "StaticAssetTestData")
+@ForestApplication
+class StaticAssetFingerprintIntegrationTestApp @Inject constructor(private val urls: StaticAssetUrls) {
+    @GetPlainText("/url")
+    fun url(@QueryParam("path") path: String) = urls.url(path)
+}
+
+@ExtraConfig(value = ["static.memoryThreshold=4096", "static.fingerprint=true"])
+@ForestIntegrationTest(appClass = StaticAssetFingerprintIntegrationTestApp::class)
+@DisableAutoScan
+class StaticAssetFingerprintIntegrationTest : AbstractForestIntegrationTest() {
+    @Test
+    fun `fingerprinted resources are cached forever`() {
+        val appJs = get("/url?path=/js/app.js").assert200().bodyAsString()
+        val largeTxt = get("/url?path=/large.txt").assert200().bodyAsString()
+        assertTrue(appJs.matches(Regex("/js/app\\.[0-9a-f]{8}\\.js")), appJs)
+        assertTrue(largeTxt.matches(Regex("/large\\.[0-9a-f]{8}\\.txt")), largeTxt)
+        assertEquals("/inexistent.js", get("/url?path=/inexistent.js").assert200().bodyAsString())
+
+        val body = get("/js/app.js").assert200().assertHeader("Cache-Control", "public, no-cache").bodyAsString()
+        get(appJs).assert200().assertHeader("Cache-Control", "public, immutable, max-age=31536000").assertBody(body)
+        get("/large.txt").assert200().assertHeader("Cache-Control", "public, no-cache").bodyAsString()
+        get(largeTxt).assert200().assertHeader("Cache-Control", "public, immutable, max-age=31536000").bodyAsString()
+    }
+
+    @Test
+    fun `store registers fingerprinted aliases`() {
+        val root = File(javaClass.classLoader.getResource("StaticAssetTestData")!!.toURI())
+        val store = StaticAssetStore(4096, true)
+        val asset = store.load("webroot/js/app.js", File(root, "js/app.js"))
+        val fingerprinted = store.get("webroot/js/app.${asset.fingerprint}.js")
+
+        assertEquals(64, asset.hash.length)
+        assertEquals(asset.hash.substring(0, 8), asset.fingerprint)
+        assertTrue(fingerprinted.isFingerprinted)
+        assertSame(asset.content, fingerprinted.content)
+        assertNotEquals(asset.cacheControlHeader, fingerprinted.cacheControlHeader)
+        assertEquals("webroot/LICENSE.${asset.fingerprint}", StaticAsset.fingerprint("webroot/LICENSE", asset.fingerprint))
+    }
+}
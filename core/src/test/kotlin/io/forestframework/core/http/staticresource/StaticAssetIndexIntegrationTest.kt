@@ -0,0 +1,68 @@
+package io.forestframework.core.http.staticresource
+
+import io.forestframework.core.ForestApplication
+import io.forestframework.core.http.HttpResponse
+import io.forestframework.core.http.result.GetPlainText
+import io.forestframework.core.http.routing.PreHandler
+import io.forestframework.ext.core.AutoStaticResourceScan
+import io.forestframework.testfixtures.AbstractForestIntegrationTest
+import io.forestframework.testfixtures.DisableAutoScan
+import io.forestframework.testsupport.ForestIntegrationTest
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Test
+import java.io.File
+
+@AutoStaticResourceScan(webroot = "StaticAssetTestData")
+@ForestApplication
+class StaticAssetIndexIntegrationTestApp {
+    @GetPlainText("/js/app.js")
+    fun app() = "app.js of application"
+
+    @PreHandler("/large.txt")
+    fun preHandler(response: HttpResponse) {
+        response.putHeader("X-Pre-Handler", "invoked")
+    }
+}
+
+@ForestIntegrationTest(appClass = StaticAssetIndexIntegrationTestApp::class)
+@DisableAutoScan
+class StaticAssetIndexIntegrationTest : AbstractForestIntegrationTest() {
+    @Test
+    fun `application routings take precedence`() {
+        get("/js/app.js").assert200().assertBody("app.js of application")
+        get("/large.txt").assert200().assertHeader("X-Pre-Handler", "invoked").apply {
+            assertEquals(File(javaClass.classLoader.getResource("StaticAssetTestData/large.txt")!!.toURI()).readText(), bodyAsString())
+        }
+    }
+
+    @Test
+    fun `indexed resources are found`() {
+        // Read the bodies to release the pooled connections
+        get("/js/app.js.br").assert200().bodyAsString()
+        get("/js/inexistent.js").assert404().bodyAsString()
+        get("/inexistent/app.js").assert404().bodyAsString()
+    }
+
+    @Test
+    fun `files and directories are indexed`() {
+        val root = File(javaClass.classLoader.getResource("StaticAssetTestData")!!.toURI())
+        val store = StaticAssetStore(4096)
+        val index = StaticAssetIndex(store)
+        val appJs = store.load("webroot/js/app.js", File(root, "js/app.js"))
+        val largeTxt = store.load("webroot/large.txt", File(root, "large.txt"))
+
+        index.addFile("/large.txt", "webroot/large.txt", null)
+        index.addDirectory("/js", "webroot/js", null)
+        index.addDirectory("/assets/js", "webroot/js", null)
+
+        assertSame(largeTxt, index.find("/large.txt"))
+        assertSame(appJs, index.find("/js/app.js"))
+        assertSame(appJs, index.find("/assets/js/app.js"))
+        assertNull(index.find("/js/"))
+        assertNull(index.find("/js"))
+        assertNull(index.find("/assets/app.js"))
+        assertNull(index.find("/js/../large.txt"))
+    }
+}
@@ -0,0 +1,134 @@
+package io.forestframework.core.http.staticresource
+
+import io.forestframework.core.ForestApplication
+import io.forestframework.ext.core.AutoStaticResourceScan
+import io.forestframework.ext.core.ExtraConfig
+import io.forestframework.testfixtures.AbstractForestIntegrationTest
+import io.forestframework.testfixtures.DisableAutoScan
+import io.forestframework.testsupport.ForestIntegrationTest
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotNull
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.io.File
+import java.net.HttpURLConnection
+import java.net.URL
+import java.security.MessageDigest
+import java.util.zip.GZIPInputStream
+
+@AutoStaticResourceScan(webroot = "StaticAssetTestData")
+@ForestApplication
+class StaticAssetIntegrationTestApp
+
+@ExtraConfig(value = ["static.memoryThreshold=4096"])
+@ForestIntegrationTest(appClass = StaticAssetIntegrationTestApp::class)
+@DisableAutoScan
+class StaticAssetIntegrationTest : AbstractForestIntegrationTest() {
+    private val appJs = resource("StaticAssetTestData/js/app.js")
+    private val appJsBrotli = resource("StaticAssetTestData/js/app.js.br")
+    private val largeTxt = resource("StaticAssetTestData/large.txt")
+
+    private class Response(val statusCode: Int, val headers: Map<String, String>, val body: ByteArray)
+
+    private fun sha256(bytes: ByteArray) = MessageDigest.getInstance("SHA-256").digest(bytes).joinToString("") { "%02x".format(it) }
+
+    private fun resource(path: String) = File(javaClass.classLoader.getResource(path)!!.toURI()).readBytes()
+
+    // HttpURLConnection doesn't decode the response, unlike the Apache client
+    private fun send(path: String, headers: Map<String, String> = emptyMap(), method: String = "GET"): Response {
+        val connection = URL("http://localhost:$port$path").openConnection() as HttpURLConnection
+        try {
+            connection.requestMethod = method
+            connection.setRequestProperty("Accept", "*/*")
+            headers.forEach(connection::setRequestProperty)
+            val stream = if (connection.responseCode < 400) connection.inputStream else connection.errorStream
+            val responseHeaders = connection.headerFields.filterKeys { it != null }.mapKeys { it.key.toLowerCase() }.mapValues { it.value.first() }
+            return Response(connection.responseCode, responseHeaders, stream?.use { it.readBytes() } ?: ByteArray(0))
+        } finally {
+            connection.disconnect()
+        }
+    }
+
+    @Test
+    fun `variant is selected by accept-encoding`() {
+        send("/js/app.js").apply {
+            assertEquals(200, statusCode)
+            assertNull(headers["content-encoding"])
+            assertEquals("accept-encoding", headers["vary"])
+            assertEquals("text/javascript;charset=UTF-8", headers["content-type"])
+            assertArrayEquals(appJs, body)
+        }
+        send("/js/app.js", mapOf("Accept-Encoding" to "gzip, deflate")).apply {
+            assertEquals("gzip", headers["content-encoding"])
+            assertTrue(body.size < appJs.size)
+            assertArrayEquals(appJs, GZIPInputStream(body.inputStream()).readBytes())
+        }
+        send("/js/app.js", mapOf("Accept-Encoding" to "gzip, br")).apply {
+            assertEquals("br", headers["content-encoding"])
+            assertArrayEquals(appJsBrotli, body)
+        }
+        send("/js/app.js", mapOf("Accept-Encoding" to "br;q=0, gzip;q=0.5")).apply {
+            assertEquals("gzip", headers["content-encoding"])
+        }
+    }
+
+    @Test
+    fun `large file is memory-mapped`() {
+        send("/large.txt").apply {
+            assertEquals(200, statusCode)
+            assertNull(headers["vary"])
+            assertArrayEquals(largeTxt, body)
+        }
+        send("/large.txt", mapOf("Range" to "bytes=100-199")).apply {
+            assertEquals(206, statusCode)
+            assertEquals("bytes 100-199/${largeTxt.size}", headers["content-range"])
+            assertArrayEquals(largeTxt.copyOfRange(100, 200), body)
+        }
+        assertEquals(416, send("/large.txt", mapOf("Range" to "bytes=100000-")).statusCode)
+    }
+
+    @Test
+    fun `conditional and head requests are answered from memory`() {
+        val lastModified = send("/js/app.js").headers["last-modified"]!!
+        assertEquals(304, send("/js/app.js", mapOf("If-Modified-Since" to lastModified)).statusCode)
+        assertEquals(200, send("/js/app.js", mapOf("If-Modified-Since" to lastModified, "Cache-Control" to "no-cache")).statusCode)
+
+        val etag = send("/js/app.js").headers["etag"]!!
+        val gzipETag = send("/js/app.js", mapOf("Accept-Encoding" to "gzip")).headers["etag"]!!
+        assertEquals("\"${sha256(appJs)}\"", etag)
+        assertEquals("\"${sha256(appJs)}-gzip\"", gzipETag)
+        send("/js/app.js", mapOf("If-None-Match" to "\"other\", W/$etag")).apply {
+            assertEquals(304, statusCode)
+            assertEquals(etag, headers["etag"])
+            assertEquals(0, body.size)
+        }
+        assertEquals(304, send("/js/app.js", mapOf("If-None-Match" to gzipETag, "Accept-Encoding" to "gzip")).statusCode)
+        assertEquals(200, send("/js/app.js", mapOf("If-None-Match" to gzipETag)).statusCode)
+        // If-None-Match takes precedence over If-Modified-Since
+        assertEquals(200, send("/js/app.js", mapOf("If-None-Match" to "\"other\"", "If-Modified-Since" to lastModified)).statusCode)
+
+        send("/large.txt", method = "HEAD").apply {
+            assertEquals(200, statusCode)
+            assertEquals(largeTxt.size.toString(), headers["content-length"])
+            assertEquals(0, body.size)
+        }
+    }
+
+    @Test
+    fun `store loads small files into memory and maps large files`() {
+        val root = File(javaClass.classLoader.getResource("StaticAssetTestData")!!.toURI())
+        val store = StaticAssetStore(4096)
+
+        val small = store.load("StaticAssetTestData/js/app.js", File(root, "js/app.js"))
+        val large = store.load("StaticAssetTestData/large.txt", File(root, "large.txt"))
+
+        assertFalse(small.isMapped)
+        assertNotNull(small.getVariant(StaticAsset.GZIP))
+        assertTrue(large.isMapped)
+        assertFalse(large.hasVariants())
+        assertEquals(small, store.get("StaticAssetTestData/js/app.js"))
+    }
+}
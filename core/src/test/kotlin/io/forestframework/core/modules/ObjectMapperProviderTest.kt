@@ -0,0 +1,27 @@
+package io.forestframework.core.modules
+
+import io.forestframework.core.config.ConfigProvider
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+
+class ObjectMapperProviderTest {
+    @Test
+    fun `not accelerated by default`() {
+        val objectMapper = ObjectMapperProvider(ConfigProvider.empty()).get()
+
+        assertEquals(emptySet<Any>(), objectMapper.registeredModuleIds)
+    }
+
+    @Test
+    fun `can be accelerated by config`() {
+        val configProvider = ConfigProvider.empty()
+        configProvider.addConfig("json.accelerate", "true")
+
+        val objectMapper = ObjectMapperProvider(configProvider).get()
+
+        assertEquals(setOf("com.fasterxml.jackson.module.afterburner.AfterburnerModule"), objectMapper.registeredModuleIds)
+        assertEquals("""{"id":1,"randomNumber":2}""", objectMapper.writeValueAsString(ObjectMapperProviderTestWorld(1, 2)))
+    }
+}
+
+class ObjectMapperProviderTestWorld(val id: Int, val randomNumber: Int)
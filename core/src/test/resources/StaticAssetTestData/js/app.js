@@ -0,0 +1,61 @@
+// this is app.js
+function pet0() { return 'this is pet 0'; }
+function pet1() { return 'this is pet 1'; }
+function pet2() { return 'this is pet 2'; }
+function pet3() { return 'this is pet 3'; }
+function pet4() { return 'this is pet 4'; }
+function pet5() { return 'this is pet 5'; }
+function pet6() { return 'this is pet 6'; }
+function pet7() { return 'this is pet 7'; }
+function pet8() { return 'this is pet 8'; }
+function pet9() { return 'this is pet 9'; }
+function pet10() { return 'this is pet 10'; }
+function pet11() { return 'this is pet 11'; }
+function pet12() { return 'this is pet 12'; }
+function pet13() { return 'this is pet 13'; }
+function pet14() { return 'this is pet 14'; }
+function pet15() { return 'this is pet 15'; }
+function pet16() { return 'this is pet 16'; }
+function pet17() { return 'this is pet 17'; }
+function pet18() { return 'this is pet 18'; }
+function pet19() { return 'this is pet 19'; }
+function pet20() { return 'this is pet 20'; }
+function pet21() { return 'this is pet 21'; }
+function pet22() { return 'this is pet 22'; }
+function pet23() { return 'this is pet 23'; }
+function pet24() { return 'this is pet 24'; }
+function pet25() { return 'this is pet 25'; }
+function pet26() { return 'this is pet 26'; }
+function pet27() { return 'this is pet 27'; }
+function pet28() { return 'this is pet 28'; }
+function pet29() { return 'this is pet 29'; }
+function pet30() { return 'this is pet 30'; }
+function pet31() { return 'this is pet 31'; }
+function pet32() { return 'this is pet 32'; }
+function pet33() { return 'this is pet 33'; }
+function pet34() { return 'this is pet 34'; }
+function pet35() { return 'this is pet 35'; }
+function pet36() { return 'this is pet 36'; }
+function pet37() { return 'this is pet 37'; }
+function pet38() { return 'this is pet 38'; }
+function pet39() { return 'this is pet 39'; }
+function pet40() { return 'this is pet 40'; }
+function pet41() { return 'this is pet 41'; }
+function pet42() { return 'this is pet 42'; }
+function pet43() { return 'this is pet 43'; }
+function pet44() { return 'this is pet 44'; }
+function pet45() { return 'this is pet 45'; }
+function pet46() { return 'this is pet 46'; }
+function pet47() { return 'this is pet 47'; }
+function pet48() { return 'this is pet 48'; }
+function pet49() { return 'this is pet 49'; }
+function pet50() { return 'this is pet 50'; }
+function pet51() { return 'this is pet 51'; }
+function pet52() { return 'this is pet 52'; }
+function pet53() { return 'this is pet 53'; }
+function pet54() { return 'this is pet 54'; }
+function pet55() { return 'this is pet 55'; }
+function pet56() { return 'this is pet 56'; }
+function pet57() { return 'this is pet 57'; }
+function pet58() { return 'this is pet 58'; }
+function pet59() { return 'this is pet 59'; }
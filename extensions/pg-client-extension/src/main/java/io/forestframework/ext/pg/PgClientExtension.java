@@ -10,30 +10,20 @@ import io.vertx.pgclient.PgConnectOptions;
 import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.PoolOptions;
 
-import javax.inject.Inject;
+import javax.inject.Singleton;
 
 public class PgClientExtension implements Extension {
     @Override
     public void start(ApplicationContext applicationContext) {
-        applicationContext.getComponents().add(PgClientModule.class);
+        applicationContext.getModules().add(new PgClientModule());
         applicationContext.getConfigProvider().addDefaultOptions("pg.connect", PgConnectOptions::new);
         applicationContext.getConfigProvider().addDefaultOptions("pg.pool", PoolOptions::new);
     }
 
     public static class PgClientModule extends AbstractModule {
-        @Inject
-        private Vertx vertx;
-
-        @Inject
-        @Config("pg.connect")
-        private PgConnectOptions pgConnectOptions;
-
-        @Inject
-        @Config("pg.pool")
-        private PoolOptions poolOptions;
-
         @Provides
-        public PgPool createClient() {
+        @Singleton
+        public PgPool createClient(@Config("pg.connect") PgConnectOptions pgConnectOptions, @Config("pg.pool") PoolOptions poolOptions, Vertx vertx) {
             return PgPool.pool(vertx, pgConnectOptions, poolOptions);
         }
     }
@@ -23,6 +23,8 @@ val findBugsAnnotationVersion = "3.0.1"
 val httpclient = "4.5.12"
 val mockitoVersion = "3.5.10"
 val testContainersVersion = "1.15.1"
+val hdrHistogramVersion = "2.1.12"
+val embeddedPostgresVersion = "1.3.1"
 
 val dependencies = listOf(
     "io.vertx:vertx-core:$vertxVersion",
@@ -54,6 +56,9 @@ val dependencies = listOf(
     "com.fasterxml.jackson.core:jackson-databind:$jacksonVersion",
     "com.fasterxml.jackson.core:jackson-annotations:$jacksonVersion",
     "com.fasterxml.jackson.dataformat:jackson-dataformat-yaml:$jacksonVersion",
+    "com.fasterxml.jackson.dataformat:jackson-dataformat-cbor:$jacksonVersion",
+    "com.fasterxml.jackson.dataformat:jackson-dataformat-smile:$jacksonVersion",
+    "com.fasterxml.jackson.module:jackson-module-afterburner:$jacksonVersion",
 
     "com.esotericsoftware:reflectasm:$reflectasmVersion",
     "org.apache.commons:commons-lang3:${commonsLangVersion}",
@@ -88,7 +93,10 @@ val dependencies = listOf(
 
     "org.apache.httpcomponents:httpclient:$httpclient",
     "org.mockito:mockito-core:$mockitoVersion",
-    "org.mockito:mockito-junit-jupiter:$mockitoVersion"
+    "org.mockito:mockito-junit-jupiter:$mockitoVersion",
+
+    "org.hdrhistogram:HdrHistogram:$hdrHistogramVersion",
+    "io.zonky.test:embedded-postgres:$embeddedPostgresVersion"
 )
 
 val libs = mutableMapOf<String,String>()
@@ -0,0 +1,27 @@
+val libs: (String) -> String by rootProject.ext
+
+dependencies {
+    implementation(project(":examples:benchmark-kotlin"))
+    implementation(project(":examples:todo"))
+    implementation(project(":extensions:pg-client-extension"))
+    implementation(project(":junit5-extension"))
+    implementation(libs("kotlin-stdlib-jdk8"))
+    implementation(libs("HdrHistogram"))
+    implementation(libs("embedded-postgres"))
+    implementation(libs("log4j-slf4j-impl"))
+    implementation(libs("log4j-core"))
+}
+
+tasks.register<JavaExec>("loadtest") {
+    group = "verification"
+    description = "Boots the example applications and reports their throughput and latency under load"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("io.forestframework.loadtest.LoadTestKt")
+    maxHeapSize = "2g"
+    // e.g. -Ploadtest.connections=128 -Ploadtest.pipelining=16 -Ploadtest.duration=30s -Ploadtest.scenarios=plaintext,json
+    // Forest config of the example applications can be overridden the same way, e.g. -Pforest.deploy.instances=8
+    project.properties
+        .filterKeys { it.startsWith("loadtest.") || it.startsWith("forest.") }
+        .forEach { (key, value) -> systemProperty(key, value.toString()) }
+    systemProperty("loadtest.reportFile", "$buildDir/reports/loadtest/results-${rootProject.version}.json")
+}
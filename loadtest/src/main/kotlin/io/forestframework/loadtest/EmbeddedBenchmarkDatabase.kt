@@ -0,0 +1,38 @@
+package io.forestframework.loadtest
+
+import io.forestframework.benchmark.App
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres
+
+/**
+ * An in-process Postgres serving the database endpoints of `examples/benchmark-kotlin`, with the
+ * user, database and tables of `create-postgres.sql`. The benchmark uses the reactive Postgres
+ * client, which H2 can't stand in for.
+ *
+ * Only started when a scenario [requires][Scenario.requiresDatabase] it.
+ */
+class EmbeddedBenchmarkDatabase : AutoCloseable {
+    private val postgres = EmbeddedPostgres.builder().start()
+
+    init {
+        postgres.postgresDatabase.connection.use { connection ->
+            connection.createStatement().use {
+                it.execute("CREATE ROLE benchmarkdbuser WITH LOGIN PASSWORD 'benchmarkdbpass'")
+                it.execute("CREATE DATABASE hello_world OWNER benchmarkdbuser")
+            }
+        }
+        val script = App::class.java.getResource("/create-postgres.sql")!!.readText()
+        postgres.getDatabase("postgres", "hello_world").connection.use { connection ->
+            connection.createStatement().use { it.execute(script) }
+        }
+    }
+
+    /**
+     * The config pointing the benchmark application to this database.
+     */
+    val config: Map<String, String>
+        get() = mapOf("forest.pg.connect.port" to postgres.port.toString())
+
+    override fun close() {
+        postgres.close()
+    }
+}
@@ -0,0 +1,88 @@
+package io.forestframework.loadtest
+
+import io.forestframework.benchmark.App
+import io.forestframework.core.Forest
+import io.forestframework.core.ForestApplication
+import io.forestframework.example.todo.kotlin.jdbc.TodoApplicationKotlinCoroutinesJDBC
+import io.forestframework.ext.api.ApplicationContext
+import io.forestframework.ext.api.WithExtensions
+import io.forestframework.ext.core.IncludeComponents
+import io.forestframework.ext.pg.PgClientExtension
+import io.vertx.core.Vertx
+import io.vertx.core.buffer.Buffer
+import io.vertx.core.http.HttpClientOptions
+import io.vertx.core.http.HttpHeaders
+import io.vertx.core.http.HttpMethod
+import io.vertx.core.json.JsonObject
+import java.io.File
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.util.concurrent.TimeUnit
+
+/**
+ * `examples/benchmark-kotlin` has no application class, assemble it the same way its commented-out
+ * `@ForestApplication` does.
+ */
+@ForestApplication
+@IncludeComponents(classes = [App::class])
+@WithExtensions(extensions = [PgClientExtension::class])
+class BenchmarkKotlinApplication
+
+/**
+ * The example applications under load test, each of them is started with its own config file
+ * instead of the `forest.yml` it ships with, since all of them are on the same classpath.
+ */
+enum class ExampleApplication(private val appClass: Class<*>, private val configResource: String) {
+    BENCHMARK_KOTLIN(BenchmarkKotlinApplication::class.java, "/loadtest/benchmark-kotlin.yml"),
+
+    /**
+     * Backed by an in-memory H2 database, seeded with a single todo item.
+     */
+    TODO(TodoApplicationKotlinCoroutinesJDBC::class.java, "/loadtest/todo.yml") {
+        override fun prepare(vertx: Vertx, port: Int) {
+            val client = vertx.createHttpClient(HttpClientOptions().setDefaultPort(port))
+            try {
+                val todo = JsonObject().put("id", 0).put("title", "Load test").put("completed", false).put("order", 1)
+                client.request(HttpMethod.POST, "/todos")
+                    .compose { it.putHeader(HttpHeaders.CONTENT_TYPE, "application/json").send(Buffer.buffer(todo.encode())) }
+                    .compose { response ->
+                        if (response.statusCode() == 200) response.body() else throw IllegalStateException("Can't seed todo: ${response.statusCode()}")
+                    }
+                    .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS)
+            } finally {
+                client.close()
+            }
+        }
+    };
+
+    val displayName: String
+        get() = name.toLowerCase().replace('_', '-')
+
+    /**
+     * Starts the application on the given port.
+     *
+     * @param config additional config, e.g. `forest.pg.connect.port` of [EmbeddedBenchmarkDatabase]
+     */
+    fun start(port: Int, config: Map<String, String>): ApplicationContext {
+        val configFile = File.createTempFile("forest-loadtest-$displayName", ".yml").apply { deleteOnExit() }
+        javaClass.getResourceAsStream(configResource).use {
+            Files.copy(it, configFile.toPath(), StandardCopyOption.REPLACE_EXISTING)
+        }
+        val properties = config + mapOf(
+            "forest.config.file" to configFile.absolutePath,
+            "forest.http.port" to port.toString()
+        )
+        properties.forEach { (key, value) -> System.setProperty(key, value) }
+        try {
+            return Forest.run(appClass)
+        } finally {
+            properties.keys.forEach { System.clearProperty(it) }
+        }
+    }
+
+    /**
+     * Prepares the data the scenarios of this application depend on.
+     */
+    open fun prepare(vertx: Vertx, port: Int) {
+    }
+}
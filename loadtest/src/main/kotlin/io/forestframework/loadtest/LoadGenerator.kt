@@ -0,0 +1,87 @@
+package io.forestframework.loadtest
+
+import io.vertx.core.Vertx
+import io.vertx.core.http.HttpClientOptions
+import io.vertx.core.http.HttpMethod
+import org.HdrHistogram.Histogram
+import org.HdrHistogram.Recorder
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
+
+private val HIGHEST_TRACKABLE_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1)
+
+/**
+ * A closed-loop load generator: `connections * pipelining` virtual users each send the next request
+ * as soon as the previous response is received, until the duration elapses.
+ *
+ * Since a user waits for the previous response, a stalled server also stalls the load, so the
+ * percentiles are optimistic when the server pauses (coordinated omission). Compare them between
+ * Forest versions rather than reading them as absolute numbers.
+ */
+class LoadGenerator(private val vertx: Vertx, private val options: LoadTestOptions) {
+    fun run(scenario: Scenario, port: Int, duration: Duration): LoadTestResult {
+        val client = vertx.createHttpClient(
+            HttpClientOptions()
+                .setDefaultHost("localhost")
+                .setDefaultPort(port)
+                .setKeepAlive(true)
+                .setMaxPoolSize(options.connections)
+                .setPipelining(options.pipelining > 1)
+                .setPipeliningLimit(options.pipelining)
+        )
+        try {
+            val recorder = Recorder(HIGHEST_TRACKABLE_LATENCY_NANOS, 3)
+            val succeeded = LongAdder()
+            val failed = LongAdder()
+            val users = options.connections * options.pipelining
+            val finished = CountDownLatch(users)
+            val start = System.nanoTime()
+            val deadline = start + duration.toNanos()
+
+            fun send() {
+                if (System.nanoTime() - deadline >= 0) {
+                    finished.countDown()
+                    return
+                }
+                val sentAt = System.nanoTime()
+                client.request(HttpMethod.GET, scenario.uri)
+                    .compose { it.send() }
+                    .compose { response -> response.body().map { response.statusCode() } }
+                    .onComplete {
+                        recorder.recordValue(minOf(System.nanoTime() - sentAt, HIGHEST_TRACKABLE_LATENCY_NANOS))
+                        if (it.succeeded() && it.result() == 200) succeeded.increment() else failed.increment()
+                        send()
+                    }
+            }
+
+            repeat(users) { send() }
+            check(finished.await(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS)) {
+                "Requests of ${scenario.displayName} didn't finish in time"
+            }
+            return LoadTestResult(scenario, succeeded.sum(), failed.sum(), System.nanoTime() - start, recorder.intervalHistogram)
+        } finally {
+            client.close()
+        }
+    }
+}
+
+/**
+ * @property succeeded the number of 200 responses
+ * @property failed the number of other responses and failed requests
+ * @property elapsedNanos the wall-clock time of the run
+ * @property latency the response latencies in nanoseconds
+ */
+class LoadTestResult(
+    val scenario: Scenario,
+    val succeeded: Long,
+    val failed: Long,
+    val elapsedNanos: Long,
+    val latency: Histogram
+) {
+    val throughput: Double
+        get() = (succeeded + failed) * 1e9 / elapsedNanos
+
+    fun percentileMillis(percentile: Double) = latency.getValueAtPercentile(percentile) / 1e6
+}
@@ -0,0 +1,90 @@
+package io.forestframework.loadtest
+
+import io.forestframework.testsupport.utils.FreePortFinder
+import io.vertx.core.Vertx
+import io.vertx.core.json.JsonArray
+import io.vertx.core.json.JsonObject
+import java.io.PrintStream
+import kotlin.system.exitProcess
+
+/**
+ * Boots the example applications one by one and runs their [Scenario]s with [LoadGenerator],
+ * see the `loadtest` task for the options.
+ */
+fun main() {
+    val options = LoadTestOptions.fromSystemProperties()
+    val results = mutableListOf<LoadTestResult>()
+    val database = if (options.scenarios.any { it.requiresDatabase }) EmbeddedBenchmarkDatabase() else null
+    val vertx = Vertx.vertx()
+    try {
+        val generator = LoadGenerator(vertx, options)
+        options.scenarios.groupBy { it.app }.forEach { (app, scenarios) ->
+            val port = FreePortFinder.findFreeLocalPort()
+            app.start(port, database?.config ?: emptyMap()).use {
+                app.prepare(vertx, port)
+                scenarios.forEach { scenario ->
+                    println("Running ${scenario.displayName} against ${app.displayName} on port $port")
+                    generator.run(scenario, port, options.warmup)
+                    results.add(generator.run(scenario, port, options.duration))
+                }
+            }
+        }
+    } finally {
+        vertx.close()
+        database?.close()
+    }
+
+    printReport(options, results, System.out)
+    options.reportFile?.let { file ->
+        file.parentFile.mkdirs()
+        file.writeText(toJson(options, results).encodePrettily())
+        println("Report written to $file")
+    }
+    // Don't wait for the non-daemon threads of the closed applications
+    exitProcess(if (results.any { it.failed > 0 }) 1 else 0)
+}
+
+private fun printReport(options: LoadTestOptions, results: List<LoadTestResult>, out: PrintStream) {
+    out.println()
+    out.println("connections=${options.connections}, pipelining=${options.pipelining}, duration=${options.duration}, warmup=${options.warmup}")
+    out.println(String.format("%-12s %12s %8s %12s %10s %10s %10s %10s", "scenario", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"))
+    results.forEach {
+        out.println(
+            String.format(
+                "%-12s %12d %8d %12.1f %10.3f %10.3f %10.3f %10.3f",
+                it.scenario.displayName,
+                it.succeeded + it.failed,
+                it.failed,
+                it.throughput,
+                it.percentileMillis(50.0),
+                it.percentileMillis(99.0),
+                it.percentileMillis(99.9),
+                it.latency.maxValue / 1e6
+            )
+        )
+    }
+}
+
+private fun toJson(options: LoadTestOptions, results: List<LoadTestResult>) = JsonObject()
+    .put("connections", options.connections)
+    .put("pipelining", options.pipelining)
+    .put("durationMillis", options.duration.toMillis())
+    .put("warmupMillis", options.warmup.toMillis())
+    .put(
+        "results",
+        JsonArray(
+            results.map {
+                JsonObject()
+                    .put("scenario", it.scenario.displayName)
+                    .put("application", it.scenario.app.displayName)
+                    .put("uri", it.scenario.uri)
+                    .put("requests", it.succeeded + it.failed)
+                    .put("errors", it.failed)
+                    .put("throughput", it.throughput)
+                    .put("p50Millis", it.percentileMillis(50.0))
+                    .put("p99Millis", it.percentileMillis(99.0))
+                    .put("p999Millis", it.percentileMillis(99.9))
+                    .put("maxMillis", it.latency.maxValue / 1e6)
+            }
+        )
+    )
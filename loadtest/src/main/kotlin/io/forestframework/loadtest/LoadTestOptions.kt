@@ -0,0 +1,68 @@
+package io.forestframework.loadtest
+
+import java.io.File
+import java.time.Duration
+
+/**
+ * Options of a load test run, read from `loadtest.*` system properties.
+ *
+ * @property connections the number of HTTP connections to each application
+ * @property pipelining the number of in-flight requests per connection, 1 disables pipelining
+ * @property duration how long each scenario is measured
+ * @property warmup how long each scenario runs before it's measured
+ * @property scenarios the scenarios to run
+ * @property reportFile where to write the JSON report, or null to only print it
+ */
+data class LoadTestOptions(
+    val connections: Int,
+    val pipelining: Int,
+    val duration: Duration,
+    val warmup: Duration,
+    val scenarios: List<Scenario>,
+    val reportFile: File?
+) {
+    init {
+        require(connections > 0) { "loadtest.connections must be positive: $connections" }
+        require(pipelining > 0) { "loadtest.pipelining must be positive: $pipelining" }
+    }
+
+    companion object {
+        fun fromSystemProperties() = LoadTestOptions(
+            Integer.getInteger("loadtest.connections", 64),
+            Integer.getInteger("loadtest.pipelining", 1),
+            parseDuration(System.getProperty("loadtest.duration", "10s")),
+            parseDuration(System.getProperty("loadtest.warmup", "5s")),
+            parseScenarios(System.getProperty("loadtest.scenarios", "plaintext,json,todos,todo")),
+            System.getProperty("loadtest.reportFile")?.let(::File)
+        )
+
+        /**
+         * Parses "500ms", "30s", "2m", or a plain number of seconds.
+         */
+        fun parseDuration(value: String): Duration {
+            val text = value.trim().toLowerCase()
+            return when {
+                text.endsWith("ms") -> Duration.ofMillis(text.removeSuffix("ms").toLong())
+                text.endsWith("s") -> Duration.ofSeconds(text.removeSuffix("s").toLong())
+                text.endsWith("m") -> Duration.ofMinutes(text.removeSuffix("m").toLong())
+                else -> Duration.ofSeconds(text.toLong())
+            }
+        }
+
+        /**
+         * Parses a comma-separated list of scenario names, or "all".
+         */
+        fun parseScenarios(value: String): List<Scenario> {
+            if (value.trim().equals("all", ignoreCase = true)) {
+                return Scenario.values().toList()
+            }
+            return value.split(',')
+                .map { it.trim() }
+                .filter { it.isNotEmpty() }
+                .map { name ->
+                    Scenario.values().firstOrNull { it.name.equals(name, ignoreCase = true) }
+                        ?: throw IllegalArgumentException("Unknown scenario $name, available: ${Scenario.values().joinToString { it.name.toLowerCase() }}")
+                }
+        }
+    }
+}
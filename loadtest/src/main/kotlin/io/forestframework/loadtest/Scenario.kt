@@ -0,0 +1,22 @@
+package io.forestframework.loadtest
+
+/**
+ * A request which is sent repeatedly to one of the example applications.
+ *
+ * @property app the application serving the request
+ * @property uri the request URI
+ * @property requiresDatabase whether the scenario needs [EmbeddedBenchmarkDatabase]
+ */
+enum class Scenario(val app: ExampleApplication, val uri: String, val requiresDatabase: Boolean = false) {
+    PLAINTEXT(ExampleApplication.BENCHMARK_KOTLIN, "/plaintext"),
+    JSON(ExampleApplication.BENCHMARK_KOTLIN, "/json"),
+    DB(ExampleApplication.BENCHMARK_KOTLIN, "/db", true),
+    QUERIES(ExampleApplication.BENCHMARK_KOTLIN, "/queries?queries=20", true),
+    UPDATES(ExampleApplication.BENCHMARK_KOTLIN, "/updates?queries=20", true),
+    FORTUNES(ExampleApplication.BENCHMARK_KOTLIN, "/fortunes", true),
+    TODOS(ExampleApplication.TODO, "/todos"),
+    TODO(ExampleApplication.TODO, "/todos/1");
+
+    val displayName: String
+        get() = name.toLowerCase()
+}
@@ -3,6 +3,8 @@ include("core-api")
 include("core-kotlin")
 include("junit5-extension")
 include("test-fixtures")
+include("benchmarks")
+include("loadtest")
 
 include(":extensions:jdbc-client-extension")
 include(":extensions:redis-client-extension")